@@ -0,0 +1,138 @@
+// BatchClosestPair.java - Many small independent closest-pair problems in one call
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves many independent 2D closest-pair problems (for example, one per tile)
+ * from a packed coordinate buffer.
+ *
+ * <p>All points are interleaved in one buffer: xy[2i] is the x of point i and
+ * xy[2i + 1] is its y. Problem p owns the points offsets[p] .. offsets[p + 1] - 1,
+ * so offsets has one more entry than there are problems. For each problem, the
+ * closest pair's global point indices go to pairs[2p] and pairs[2p + 1], and its
+ * distance goes to distances[p]. A problem with fewer than 2 points reports
+ * indices -1 and an infinite distance.
+ *
+ * <p>Problems are split across a fork/join pool. Each worker thread reuses one
+ * {@link ClosestPairND.Workspace}, so steady-state solving allocates no Point
+ * objects, clones or comparators.
+ */
+public class BatchClosestPair {
+    static final int BLOCK_PROBLEMS = 256;
+    
+    private static final ThreadLocal<ClosestPairND.Workspace> WORKSPACE =
+            ThreadLocal.withInitial(ClosestPairND.Workspace::new);
+    
+    public static void findClosestPairs(double[] xy, int[] offsets, int[] pairs, double[] distances) {
+        findClosestPairs(xy, offsets, pairs, distances, NoOpMetrics.INSTANCE);
+    }
+    
+    public static void findClosestPairs(double[] xy, int[] offsets, int[] pairs, double[] distances,
+                                        MetricsSink metrics) {
+        findClosestPairs(xy, offsets, pairs, distances, metrics, ForkJoinPool.commonPool());
+    }
+    
+    public static void findClosestPairs(double[] xy, int[] offsets, int[] pairs, double[] distances,
+                                        MetricsSink metrics, ForkJoinPool pool) {
+        int problems = validate(xy, offsets, pairs, distances);
+        
+        metrics.startTiming();
+        BatchTask root = new BatchTask(xy, offsets, pairs, distances, 0, problems, metrics.isRecording());
+        pool.invoke(root);
+        if (root.metrics != null) {
+            metrics.merge(root.metrics, metrics.getCurrentDepth());
+        }
+        metrics.endTiming();
+    }
+    
+    private static int validate(double[] xy, int[] offsets, int[] pairs, double[] distances) {
+        if (xy == null || offsets == null || pairs == null || distances == null) {
+            throw new IllegalArgumentException("Buffers must not be null");
+        }
+        if (xy.length % 2 != 0) {
+            throw new IllegalArgumentException("Coordinate buffer must hold interleaved (x, y) pairs");
+        }
+        if (offsets.length == 0) {
+            throw new IllegalArgumentException("Offsets must hold at least one entry");
+        }
+        int problems = offsets.length - 1;
+        if (pairs.length < 2 * problems || distances.length < problems) {
+            throw new IllegalArgumentException("Output buffers too small for " + problems + " problems");
+        }
+        if (offsets[0] < 0 || offsets[problems] > xy.length / 2) {
+            throw new IllegalArgumentException("Offsets out of range of the coordinate buffer");
+        }
+        for (int p = 0; p < problems; p++) {
+            if (offsets[p] > offsets[p + 1]) {
+                throw new IllegalArgumentException("Offsets must be non-decreasing at problem " + p);
+            }
+        }
+        return problems;
+    }
+    
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final double[] xy;
+        private final int[] offsets;
+        private final int[] pairs;
+        private final double[] distances;
+        private final int from, to;
+        // Null when the caller's sink records nothing
+        final AlgorithmMetrics metrics;
+        
+        BatchTask(double[] xy, int[] offsets, int[] pairs, double[] distances, int from, int to,
+                  boolean recording) {
+            this.xy = xy;
+            this.offsets = offsets;
+            this.pairs = pairs;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+            this.metrics = recording ? new AlgorithmMetrics("BatchTask") : null;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK_PROBLEMS) {
+                solveBlock();
+                return;
+            }
+            
+            int mid = from + (to - from) / 2;
+            BatchTask left = new BatchTask(xy, offsets, pairs, distances, from, mid, metrics != null);
+            BatchTask right = new BatchTask(xy, offsets, pairs, distances, mid, to, metrics != null);
+            invokeAll(left, right);
+            
+            // Problems are independent, so child depths do not stack
+            if (metrics != null) {
+                metrics.merge(left.metrics, 0);
+                metrics.merge(right.metrics, 0);
+            }
+        }
+        
+        private void solveBlock() {
+            ClosestPairND.Workspace workspace = WORKSPACE.get();
+            MetricsSink sink = metrics != null ? metrics : NoOpMetrics.INSTANCE;
+            for (int p = from; p < to; p++) {
+                int base = offsets[p];
+                int n = offsets[p + 1] - base;
+                if (n < 2) {
+                    pairs[2 * p] = -1;
+                    pairs[2 * p + 1] = -1;
+                    distances[p] = Double.POSITIVE_INFINITY;
+                    continue;
+                }
+                workspace.solve(xy, base, n, 2, sink);
+                pairs[2 * p] = base + workspace.first;
+                pairs[2 * p + 1] = base + workspace.second;
+                distances[p] = Math.sqrt(workspace.bestSq);
+            }
+        }
+    }
+}
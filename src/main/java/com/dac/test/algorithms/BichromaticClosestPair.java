@@ -0,0 +1,58 @@
+// BichromaticClosestPair.java - Closest pair between two point sets
+package com.dac.algorithms;
+
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+
+/**
+ * Closest pair (a, b) with a taken from one set and b from the other. The smaller
+ * set is indexed in a {@link KdTree}, and every point of the larger set queries it
+ * for a neighbour closer than the best pair found so far.
+ *
+ * <p>Only cross-set distances are ever measured, so tight same-coloured clusters
+ * cost nothing extra. That is why the strip scheme of {@link ClosestPair} is not
+ * used here: its packing bound relies on every point in the strip being at least
+ * the current best distance from the others, which does not hold within one set.
+ * Two well-separated clusters then put almost every cross pair into the top-level
+ * strip. The tree makes the whole search O(N log N) for N = |A| + |B| on typical
+ * inputs, and a query whose nearest neighbour cannot beat the running best is cut
+ * off after about one root-to-leaf path.
+ */
+public class BichromaticClosestPair {
+    
+    /** Returns the closest pair; p1 is from a, p2 is from b. */
+    public static PointPair findClosestPair(Point[] a, Point[] b) {
+        return findClosestPair(a, b, NoOpMetrics.INSTANCE);
+    }
+    
+    public static PointPair findClosestPair(Point[] a, Point[] b, MetricsSink metrics) {
+        if (a == null || b == null || a.length == 0 || b.length == 0) {
+            throw new IllegalArgumentException("Need at least 1 point in each set");
+        }
+        
+        metrics.startTiming();
+        boolean indexA = a.length < b.length;
+        Point[] indexed = indexA ? a : b;
+        Point[] queries = indexA ? b : a;
+        KdTree tree = new KdTree(indexed);
+        metrics.addAllocations(3L * indexed.length);
+        
+        int bestIndexed = -1, bestQuery = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int q = 0; q < queries.length; q++) {
+            Point p = queries[q];
+            int hit = tree.nearestWithin(p.x, p.y, bestSq, metrics);
+            if (hit >= 0) {
+                bestIndexed = hit;
+                bestQuery = q;
+                bestSq = indexed[hit].distanceSquaredTo(p);
+            }
+        }
+        
+        Point fromA = indexA ? indexed[bestIndexed] : queries[bestQuery];
+        Point fromB = indexA ? queries[bestQuery] : indexed[bestIndexed];
+        PointPair result = new PointPair(fromA, fromB, Math.sqrt(bestSq));
+        metrics.endTiming();
+        return result;
+    }
+}
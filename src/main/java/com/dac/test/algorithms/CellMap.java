@@ -0,0 +1,108 @@
+// CellMap.java - Primitive open-addressing map from grid cells to int values
+package com.dac.algorithms;
+
+/**
+ * Maps a grid cell (cx, cy) to an int, typically the head of a linked list of
+ * point indices stored in a parallel {@code next[]} array. Keys are kept in flat
+ * long arrays with linear probing, so lookups never box. {@link #clear()} is O(1):
+ * a slot is only live when its stamp matches the current generation.
+ */
+final class CellMap {
+    static final int MISSING = -1;
+    
+    private long[] keysX;
+    private long[] keysY;
+    private int[] values;
+    private int[] stamps;
+    private int generation = 1;
+    private int size;
+    private int mask;
+    
+    CellMap(int expectedCells) {
+        int capacity = 16;
+        while (capacity < expectedCells * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+    
+    private void allocate(int capacity) {
+        keysX = new long[capacity];
+        keysY = new long[capacity];
+        values = new int[capacity];
+        stamps = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    int capacity() {
+        return values.length;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    void clear() {
+        size = 0;
+        generation++;
+        if (generation == 0) {
+            // Stamp counter wrapped; wipe once so stale slots cannot look live
+            java.util.Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+    
+    int get(long cx, long cy) {
+        int slot = find(cx, cy);
+        return stamps[slot] == generation ? values[slot] : MISSING;
+    }
+    
+    void put(long cx, long cy, int value) {
+        int slot = find(cx, cy);
+        if (stamps[slot] != generation) {
+            if ((size + 1) * 2 > values.length) {
+                grow();
+                slot = find(cx, cy);
+            }
+            stamps[slot] = generation;
+            keysX[slot] = cx;
+            keysY[slot] = cy;
+            size++;
+        }
+        values[slot] = value;
+    }
+    
+    // Returns the slot holding (cx, cy), or the empty slot where it would go
+    private int find(long cx, long cy) {
+        int slot = hash(cx, cy) & mask;
+        while (stamps[slot] == generation && (keysX[slot] != cx || keysY[slot] != cy)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void grow() {
+        long[] oldX = keysX, oldY = keysY;
+        int[] oldValues = values, oldStamps = stamps;
+        int live = generation;
+        
+        allocate(oldValues.length * 2);
+        generation = 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldStamps[i] == live) {
+                int slot = find(oldX[i], oldY[i]);
+                stamps[slot] = generation;
+                keysX[slot] = oldX[i];
+                keysY[slot] = oldY[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private static int hash(long cx, long cy) {
+        long h = cx * 0x9E3779B97F4A7C15L ^ cy * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,48 +1,54 @@
 // ClosestPair.java - Divide and conquer closest pair algorithm
 package com.dac.algorithms;
 
-import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.AlgorithmEvents;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import com.dac.util.ArrayUtils;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Random;
 
-class PointPair {
-    final Point p1, p2;
-    final double distance;
+public class ClosestPair {
+    static final Comparator<Point> BY_X = Comparator.comparingDouble(p -> p.x);
+    private static final Comparator<Point> BY_Y = Comparator.comparingDouble(p -> p.y);
     
-    PointPair(Point p1, Point p2) {
-        this.p1 = p1;
-        this.p2 = p2;
-        this.distance = p1.distanceTo(p2);
+    public static PointPair findClosestPair(Point[] points) {
+        return findClosestPair(points, NoOpMetrics.INSTANCE);
     }
-}
-
-public class ClosestPair {
-    public static PointPair findClosestPair(Point[] points, AlgorithmMetrics metrics) {
+    
+    public static PointPair findClosestPair(Point[] points, MetricsSink metrics) {
         if (points == null || points.length < 2) {
             throw new IllegalArgumentException("Need at least 2 points");
         }
         
+        AlgorithmEvents.Invocation event = new AlgorithmEvents.Invocation("ClosestPair");
+        event.start(metrics, points.length);
         metrics.startTiming();
         
+        AlgorithmEvents.Presort presortEvent = new AlgorithmEvents.Presort();
+        presortEvent.start(metrics, points.length);
+        
         // Sort by x-coordinate
         Point[] pointsByX = points.clone();
-        metrics.incrementAllocations(points.length);
-        Arrays.sort(pointsByX, Comparator.comparingDouble(p -> p.x));
+        metrics.addAllocations(points.length);
+        Arrays.sort(pointsByX, BY_X);
         
         // Create array sorted by y-coordinate
         Point[] pointsByY = points.clone();
-        metrics.incrementAllocations(points.length);
-        Arrays.sort(pointsByY, Comparator.comparingDouble(p -> p.y));
+        metrics.addAllocations(points.length);
+        Arrays.sort(pointsByY, BY_Y);
+        presortEvent.finish(metrics);
         
         PointPair result = closestPairRec(pointsByX, pointsByY, 0, points.length - 1, metrics);
         metrics.endTiming();
+        event.finish(metrics);
         return result;
     }
     
     private static PointPair closestPairRec(Point[] px, Point[] py, int lo, int hi, 
-                                          AlgorithmMetrics metrics) {
-        metrics.enterRecursion();
+                                          MetricsSink metrics) {
+        metrics.enterRecursion(lo, hi);
         
         int n = hi - lo + 1;
         
@@ -60,7 +66,7 @@ public class ClosestPair {
         // Create left and right y-sorted arrays
         Point[] pyl = new Point[mid - lo + 1];
         Point[] pyr = new Point[hi - mid];
-        metrics.incrementAllocations(pyl.length + pyr.length);
+        metrics.addAllocations(pyl.length + pyr.length);
         
         int li = 0, ri = 0;
         for (Point p : py) {
@@ -81,8 +87,9 @@ public class ClosestPair {
         double minDist = minPair.distance;
         
         // Check strip around the dividing line
+        AlgorithmEvents.StripScan stripEvent = AlgorithmEvents.startStripScan(metrics, n);
         Point[] strip = new Point[n];
-        metrics.incrementAllocations(n);
+        metrics.addAllocations(n);
         int stripSize = 0;
         
         for (Point p : py) {
@@ -93,6 +100,7 @@ public class ClosestPair {
         
         // Find closest points in strip
         PointPair stripClosest = closestInStrip(strip, stripSize, minDist, metrics);
+        AlgorithmEvents.finish(stripEvent, metrics);
         
         PointPair result = (stripClosest != null && stripClosest.distance < minDist) ? 
                           stripClosest : minPair;
@@ -101,27 +109,201 @@ public class ClosestPair {
         return result;
     }
     
-    private static PointPair bruteForce(Point[] points, int lo, int hi, AlgorithmMetrics metrics) {
-        double minDist = Double.POSITIVE_INFINITY;
-        PointPair closest = null;
+    public static PointPair findClosestPairInPlace(Point[] points) {
+        return findClosestPairInPlace(points, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Allocation-free variant of {@link #findClosestPair}. Allocates one x-sorted copy
+     * and one scratch buffer of size n up front; each recursive call leaves its range
+     * sorted by y (merge-sort style) instead of splitting pre-sorted y arrays, and the
+     * best pair is tracked in a single mutable holder. Total allocations are O(n).
+     */
+    public static PointPair findClosestPairInPlace(Point[] points, MetricsSink metrics) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        
+        AlgorithmEvents.Invocation event = new AlgorithmEvents.Invocation("ClosestPairInPlace");
+        event.start(metrics, points.length);
+        metrics.startTiming();
+        
+        AlgorithmEvents.Presort presortEvent = new AlgorithmEvents.Presort();
+        presortEvent.start(metrics, points.length);
+        Point[] a = points.clone();
+        metrics.addAllocations(points.length);
+        Arrays.sort(a, BY_X);
+        presortEvent.finish(metrics);
+        
+        Point[] aux = new Point[points.length];
+        metrics.addAllocations(points.length);
+        
+        Best best = new Best();
+        closestPairInPlace(a, aux, 0, a.length - 1, best, metrics);
+        
+        PointPair result = best.toPointPair();
+        metrics.endTiming();
+        event.finish(metrics);
+        return result;
+    }
+    
+    /**
+     * Mutable best-so-far pair, shared by all levels of one in-place run.
+     * Tracks the squared distance; the square root is taken only for pruning
+     * and for the final result.
+     */
+    static final class Best {
+        Point p1, p2;
+        double distanceSq = Double.POSITIVE_INFINITY;
+        
+        boolean offer(Point a, Point b, double distSq) {
+            if (distSq < distanceSq) {
+                distanceSq = distSq;
+                p1 = a;
+                p2 = b;
+                return true;
+            }
+            return false;
+        }
+        
+        void offer(Best other) {
+            offer(other.p1, other.p2, other.distanceSq);
+        }
+        
+        double distance() {
+            return Math.sqrt(distanceSq);
+        }
+        
+        PointPair toPointPair() {
+            return new PointPair(p1, p2, distance());
+        }
+    }
+    
+    /**
+     * Solves a[lo..hi] (sorted by x on entry) and leaves it sorted by y on exit.
+     * aux[lo..hi] is used as merge and strip scratch, so disjoint ranges can be
+     * solved independently.
+     */
+    static void closestPairInPlace(Point[] a, Point[] aux, int lo, int hi, Best best,
+                                   MetricsSink metrics) {
+        metrics.enterRecursion(lo, hi);
+        
+        if (hi - lo + 1 <= 3) {
+            bruteForceInto(a, lo, hi, best, metrics);
+            insertionSortByY(a, lo, hi);
+            metrics.exitRecursion();
+            return;
+        }
+        
+        int mid = lo + (hi - lo) / 2;
+        double midX = a[mid].x;
+        
+        closestPairInPlace(a, aux, lo, mid, best, metrics);
+        closestPairInPlace(a, aux, mid + 1, hi, best, metrics);
+        
+        AlgorithmEvents.Merge mergeEvent = AlgorithmEvents.startMerge(metrics, hi - lo + 1);
+        mergeByY(a, aux, lo, mid, hi);
+        AlgorithmEvents.finish(mergeEvent, metrics);
+        stripInPlace(a, aux, lo, hi, midX, best, metrics);
+        
+        metrics.exitRecursion();
+    }
+    
+    // Merges the y-sorted halves a[lo..mid] and a[mid+1..hi] through aux
+    static void mergeByY(Point[] a, Point[] aux, int lo, int mid, int hi) {
+        System.arraycopy(a, lo, aux, lo, hi - lo + 1);
+        
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) {
+                a[k] = aux[j++];
+            } else if (j > hi) {
+                a[k] = aux[i++];
+            } else if (aux[j].y < aux[i].y) {
+                a[k] = aux[j++];
+            } else {
+                a[k] = aux[i++];
+            }
+        }
+    }
+    
+    // Collects the strip around midX into aux[lo..] and scans it
+    static void stripInPlace(Point[] a, Point[] aux, int lo, int hi, double midX, Best best,
+                             MetricsSink metrics) {
+        AlgorithmEvents.StripScan event = AlgorithmEvents.startStripScan(metrics, hi - lo + 1);
+        
+        // One square root per level for the linear pruning bounds
+        double minDist = best.distance();
+        
+        int end = lo;
+        for (int k = lo; k <= hi; k++) {
+            if (Math.abs(a[k].x - midX) < minDist) {
+                aux[end++] = a[k];
+            }
+        }
+        
+        for (int i = lo; i < end; i++) {
+            // Check at most 7 neighbors (theoretical bound)
+            for (int j = i + 1; j < end && j < i + 8; j++) {
+                if (aux[j].y - aux[i].y >= minDist) {
+                    break;
+                }
+                
+                metrics.incrementComparisons();
+                if (best.offer(aux[i], aux[j], aux[i].distanceSquaredTo(aux[j]))) {
+                    minDist = best.distance();
+                }
+            }
+        }
+        
+        AlgorithmEvents.finish(event, metrics);
+    }
+    
+    private static void bruteForceInto(Point[] points, int lo, int hi, Best best,
+                                       MetricsSink metrics) {
+        for (int i = lo; i <= hi; i++) {
+            for (int j = i + 1; j <= hi; j++) {
+                metrics.incrementComparisons();
+                best.offer(points[i], points[j], points[i].distanceSquaredTo(points[j]));
+            }
+        }
+    }
+    
+    private static void insertionSortByY(Point[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            Point key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j].y > key.y) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+    
+    private static PointPair bruteForce(Point[] points, int lo, int hi, MetricsSink metrics) {
+        double minDistSq = Double.POSITIVE_INFINITY;
+        int bestI = -1, bestJ = -1;
         
         for (int i = lo; i <= hi; i++) {
             for (int j = i + 1; j <= hi; j++) {
                 metrics.incrementComparisons();
-                double dist = points[i].distanceTo(points[j]);
-                if (dist < minDist) {
-                    minDist = dist;
-                    closest = new PointPair(points[i], points[j]);
+                double distSq = points[i].distanceSquaredTo(points[j]);
+                if (distSq < minDistSq) {
+                    minDistSq = distSq;
+                    bestI = i;
+                    bestJ = j;
                 }
             }
         }
         
-        return closest;
+        return bestI < 0 ? null : new PointPair(points[bestI], points[bestJ], Math.sqrt(minDistSq));
     }
     
     private static PointPair closestInStrip(Point[] strip, int size, double minDist, 
-                                          AlgorithmMetrics metrics) {
-        PointPair closest = null;
+                                          MetricsSink metrics) {
+        double minDistSq = minDist * minDist;
+        int bestI = -1, bestJ = -1;
         
         for (int i = 0; i < size; i++) {
             // Check at most 7 neighbors (theoretical bound)
@@ -131,15 +313,283 @@ public class ClosestPair {
                 }
                 
                 metrics.incrementComparisons();
-                double dist = strip[i].distanceTo(strip[j]);
-                if (dist < minDist) {
-                    minDist = dist;
-                    closest = new PointPair(strip[i], strip[j]);
+                double distSq = strip[i].distanceSquaredTo(strip[j]);
+                if (distSq < minDistSq) {
+                    minDistSq = distSq;
+                    minDist = Math.sqrt(distSq);
+                    bestI = i;
+                    bestJ = j;
                 }
             }
         }
         
-        return closest;
+        return bestI < 0 ? null : new PointPair(strip[bestI], strip[bestJ], minDist);
+    }
+    
+    /**
+     * The k closest pairs, nearest first, as indices into points. Uses the same
+     * divide and conquer as {@link #findClosestPair}, but the strip half-width is the
+     * current k-th best distance held in a bounded max-heap, and only pairs that
+     * straddle the dividing line are checked in the strip.
+     */
+    public static PairBuffer findKClosestPairs(Point[] points, int k, MetricsSink metrics) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        
+        metrics.startTiming();
+        int n = points.length;
+        
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points[i].x;
+            ys[i] = points[i].y;
+            idx[i] = i;
+        }
+        ArrayUtils.sortIndicesByKey(idx, xs);
+        
+        int[] aux = new int[n];
+        boolean[] right = new boolean[n];
+        long maxPairs = (long) n * (n - 1) / 2;
+        PairHeap heap = new PairHeap((int) Math.min(k, maxPairs));
+        metrics.addAllocations(6L * n + heap.capacity());
+        
+        kClosestRec(xs, ys, idx, aux, right, 0, n - 1, heap, metrics);
+        
+        PairBuffer result = heap.drainAscending();
+        metrics.endTiming();
+        return result;
+    }
+    
+    private static void kClosestRec(double[] xs, double[] ys, int[] idx, int[] aux, boolean[] right,
+                                    int lo, int hi, PairHeap heap, MetricsSink metrics) {
+        metrics.enterRecursion(lo, hi);
+        
+        if (hi - lo + 1 <= 3) {
+            for (int i = lo; i <= hi; i++) {
+                for (int j = i + 1; j <= hi; j++) {
+                    metrics.incrementComparisons();
+                    heap.offer(idx[i], idx[j], distanceSq(xs, ys, idx[i], idx[j]));
+                }
+            }
+            sortIndicesByY(idx, ys, lo, hi);
+            metrics.exitRecursion();
+            return;
+        }
+        
+        int mid = lo + (hi - lo) / 2;
+        double midX = xs[idx[mid]];
+        
+        kClosestRec(xs, ys, idx, aux, right, lo, mid, heap, metrics);
+        kClosestRec(xs, ys, idx, aux, right, mid + 1, hi, heap, metrics);
+        
+        // Remember which half each point came from before the y-merge mixes them
+        for (int i = lo; i <= hi; i++) {
+            right[idx[i]] = i > mid;
+        }
+        mergeIndicesByY(idx, aux, ys, lo, mid, hi);
+        
+        double bound = heap.boundDistance();
+        int end = lo;
+        for (int i = lo; i <= hi; i++) {
+            if (Math.abs(xs[idx[i]] - midX) < bound) {
+                aux[end++] = idx[i];
+            }
+        }
+        
+        for (int i = lo; i < end; i++) {
+            int p = aux[i];
+            for (int j = i + 1; j < end && ys[aux[j]] - ys[p] < bound; j++) {
+                int q = aux[j];
+                if (right[p] == right[q]) {
+                    continue; // Same-side pairs were handled by the recursive call
+                }
+                
+                metrics.incrementComparisons();
+                if (heap.offer(p, q, distanceSq(xs, ys, p, q))) {
+                    bound = heap.boundDistance();
+                }
+            }
+        }
+        
+        metrics.exitRecursion();
+    }
+    
+    /**
+     * All pairs at distance at most r, as indices into points (first &lt; second),
+     * in no particular order. Buckets points into a grid of cell side r so only the
+     * 3x3 neighbouring cells are checked; the cost is O(n + output) for inputs
+     * without heavy clustering at scale r.
+     */
+    public static PairBuffer findPairsWithin(Point[] points, double r, MetricsSink metrics) {
+        if (points == null) {
+            throw new IllegalArgumentException("Points must not be null");
+        }
+        if (!(r >= 0) || Double.isInfinite(r)) {
+            throw new IllegalArgumentException("Radius must be finite and non-negative");
+        }
+        
+        metrics.startTiming();
+        int n = points.length;
+        PairBuffer result = new PairBuffer();
+        
+        // Any positive side works for r = 0 since only exact duplicates qualify. Cells are
+        // a hair wider than r so rounding in x * inv cannot push a pair at exactly r two
+        // cells apart.
+        double inv = r > 0 ? (1.0 - GridClosestPair.CELL_SLACK) / r : 1.0;
+        double rSq = r * r;
+        int[] next = new int[n];
+        CellMap cells = new CellMap(n);
+        metrics.addAllocations(n + cells.capacity());
+        
+        for (int i = 0; i < n; i++) {
+            Point p = points[i];
+            long cx = GridClosestPair.cell(p.x, inv);
+            long cy = GridClosestPair.cell(p.y, inv);
+            
+            for (long gx = cx - 1; gx <= cx + 1; gx++) {
+                for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                    for (int j = cells.get(gx, gy); j != CellMap.MISSING; j = next[j]) {
+                        metrics.incrementComparisons();
+                        double distSq = points[j].distanceSquaredTo(p);
+                        if (withinRadius(distSq, r, rSq)) {
+                            result.add(j, i, Math.sqrt(distSq));
+                        }
+                    }
+                }
+            }
+            
+            next[i] = cells.get(cx, cy);
+            cells.put(cx, cy, i);
+        }
+        
+        metrics.endTiming();
+        return result;
+    }
+    
+    /**
+     * True if a pair at squared distance distSq lies within r, given rSq = r * r. The
+     * rounding in r * r can leave a pair at exactly r a few ulps above rSq, so only
+     * those near misses fall back to comparing sqrt(distSq) with r itself.
+     */
+    static boolean withinRadius(double distSq, double r, double rSq) {
+        return distSq <= rSq || (distSq - rSq <= 4 * Math.ulp(rSq) && Math.sqrt(distSq) <= r);
+    }
+    
+    /** Bounded max-heap of index pairs keyed by squared distance. */
+    private static final class PairHeap {
+        private final int[] first;
+        private final int[] second;
+        private final double[] distSq;
+        private int size;
+        
+        PairHeap(int capacity) {
+            first = new int[capacity];
+            second = new int[capacity];
+            distSq = new double[capacity];
+        }
+        
+        int capacity() {
+            return distSq.length;
+        }
+        
+        // Strip half-width: infinite until the heap holds k pairs
+        double boundDistance() {
+            return size < distSq.length ? Double.POSITIVE_INFINITY : Math.sqrt(distSq[0]);
+        }
+        
+        boolean offer(int i, int j, double d) {
+            if (size < distSq.length) {
+                int c = size++;
+                while (c > 0) {
+                    int parent = (c - 1) >>> 1;
+                    if (distSq[parent] >= d) break;
+                    set(c, first[parent], second[parent], distSq[parent]);
+                    c = parent;
+                }
+                set(c, i, j, d);
+                return true;
+            }
+            if (d >= distSq[0]) {
+                return false;
+            }
+            siftDown(0, i, j, d);
+            return true;
+        }
+        
+        private void siftDown(int c, int i, int j, double d) {
+            while (true) {
+                int child = 2 * c + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distSq[child + 1] > distSq[child]) child++;
+                if (distSq[child] <= d) break;
+                set(c, first[child], second[child], distSq[child]);
+                c = child;
+            }
+            set(c, i, j, d);
+        }
+        
+        private void set(int c, int i, int j, double d) {
+            first[c] = i;
+            second[c] = j;
+            distSq[c] = d;
+        }
+        
+        PairBuffer drainAscending() {
+            int count = size;
+            int[] a = new int[count], b = new int[count];
+            double[] d = new double[count];
+            for (int k = count - 1; k >= 0; k--) {
+                a[k] = first[0];
+                b[k] = second[0];
+                d[k] = distSq[0];
+                size--;
+                if (size > 0) {
+                    siftDown(0, first[size], second[size], distSq[size]);
+                }
+            }
+            
+            PairBuffer result = new PairBuffer(count);
+            for (int k = 0; k < count; k++) {
+                result.add(a[k], b[k], Math.sqrt(d[k]));
+            }
+            return result;
+        }
+    }
+    
+    static void mergeIndicesByY(int[] idx, int[] aux, double[] ys, int lo, int mid, int hi) {
+        System.arraycopy(idx, lo, aux, lo, hi - lo + 1);
+        
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) idx[k] = aux[j++];
+            else if (j > hi) idx[k] = aux[i++];
+            else if (ys[aux[j]] < ys[aux[i]]) idx[k] = aux[j++];
+            else idx[k] = aux[i++];
+        }
+    }
+    
+    static void sortIndicesByY(int[] idx, double[] ys, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = idx[i];
+            int j = i - 1;
+            while (j >= lo && ys[idx[j]] > ys[key]) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = key;
+        }
+    }
+    
+    private static double distanceSq(double[] xs, double[] ys, int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
     }
     
     // Generate random points for testing
@@ -153,7 +603,7 @@ public class ClosestPair {
     }
     
     // Brute force O(n²) for validation
-    public static PointPair bruteForceClosestPair(Point[] points, AlgorithmMetrics metrics) {
+    public static PointPair bruteForceClosestPair(Point[] points, MetricsSink metrics) {
         if (points.length < 2) return null;
         
         metrics.startTiming();
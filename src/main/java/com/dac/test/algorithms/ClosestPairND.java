@@ -0,0 +1,460 @@
+// ClosestPairND.java - Closest pair over d-dimensional points in flat storage
+package com.dac.algorithms;
+
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import com.dac.util.ArrayUtils;
+import java.util.Random;
+
+/**
+ * Closest pair for d-dimensional points stored row-major in a flat double[]
+ * (point i occupies coords[i*d .. i*d + d - 1]).
+ *
+ * <ul>
+ *   <li>d = 1: sort and scan adjacent values, O(n log n).</li>
+ *   <li>d = 2: divide and conquer with the 7-neighbour strip bound, O(n log n).</li>
+ *   <li>d = 3: randomized incremental grid with an unrolled 27-cell search,
+ *       expected O(n) (see {@link GridClosestPair}).</li>
+ *   <li>d &gt; 3: the same randomized incremental grid over all d coordinates,
+ *       expected O(n) for fixed d. Rather than probing all 3^d neighbouring cells,
+ *       the search fixes one coordinate's offset at a time and drops any branch
+ *       whose cells are already the best distance away, so only the cells meeting
+ *       the ball of the current best distance are probed.</li>
+ * </ul>
+ */
+public class ClosestPairND {
+    private static final Random random = new Random();
+    private static final long FOLD = 0x9E3779B97F4A7C15L;
+    
+    public static IndexPair findClosestPair(double[] coords, int dim) {
+        return findClosestPair(coords, dim, NoOpMetrics.INSTANCE);
+    }
+    
+    public static IndexPair findClosestPair(double[] coords, int dim, MetricsSink metrics) {
+        if (coords == null || dim < 1 || coords.length % dim != 0) {
+            throw new IllegalArgumentException("Coordinates must be an n x d row-major array");
+        }
+        int n = coords.length / dim;
+        if (n < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        
+        metrics.startTiming();
+        IndexPair result;
+        if (dim == 3) {
+            result = grid3D(coords, n, metrics);
+        } else if (dim > 3) {
+            result = gridND(coords, n, dim, metrics);
+        } else {
+            Workspace workspace = new Workspace();
+            workspace.solve(coords, 0, n, dim, metrics);
+            metrics.addAllocations(4L * n);
+            result = new IndexPair(workspace.first, workspace.second, Math.sqrt(workspace.bestSq));
+        }
+        metrics.endTiming();
+        return result;
+    }
+    
+    /**
+     * Reusable divide-and-conquer state for d = 1 and d = 2. Scratch arrays grow to
+     * the largest problem seen and are then reused, so repeated solves on one thread
+     * do not allocate. Indices reported in first/second are relative to base.
+     */
+    static final class Workspace {
+        private int[] idx = new int[0];
+        private int[] aux = new int[0];
+        private double[] key0 = new double[0];
+        private double[] key1 = new double[0];
+        
+        private double[] coords;
+        private int base;
+        private int dim;
+        private MetricsSink metrics;
+        
+        int first, second;
+        double bestSq;
+        
+        void solve(double[] coords, int base, int n, int dim, MetricsSink metrics) {
+            if (idx.length < n) {
+                idx = new int[n];
+                aux = new int[n];
+                key0 = new double[n];
+                key1 = new double[n];
+            }
+            this.coords = coords;
+            this.base = base;
+            this.dim = dim;
+            this.metrics = metrics;
+            first = -1;
+            second = -1;
+            bestSq = Double.POSITIVE_INFINITY;
+            
+            for (int i = 0; i < n; i++) {
+                int row = (base + i) * dim;
+                idx[i] = i;
+                key0[i] = coords[row];
+                key1[i] = dim > 1 ? coords[row + 1] : 0.0;
+            }
+            ArrayUtils.sortIndicesByKey(idx, aux, key0, 0, n - 1);
+            
+            if (dim == 1) {
+                for (int i = 1; i < n; i++) {
+                    metrics.incrementComparisons();
+                    offer(idx[i - 1], idx[i]);
+                }
+            } else {
+                solveRec(0, n - 1);
+            }
+            
+            this.coords = null;
+            this.metrics = null;
+        }
+        
+        // Solves idx[lo..hi] (sorted by key0 on entry), leaving it sorted by key1
+        private void solveRec(int lo, int hi) {
+            metrics.enterRecursion(lo, hi);
+            
+            if (hi - lo + 1 <= 3) {
+                for (int i = lo; i <= hi; i++) {
+                    for (int j = i + 1; j <= hi; j++) {
+                        metrics.incrementComparisons();
+                        offer(idx[i], idx[j]);
+                    }
+                }
+                for (int i = lo + 1; i <= hi; i++) {
+                    int key = idx[i];
+                    int j = i - 1;
+                    while (j >= lo && key1[idx[j]] > key1[key]) {
+                        idx[j + 1] = idx[j];
+                        j--;
+                    }
+                    idx[j + 1] = key;
+                }
+                metrics.exitRecursion();
+                return;
+            }
+            
+            int mid = lo + (hi - lo) / 2;
+            double split = key0[idx[mid]];
+            
+            solveRec(lo, mid);
+            solveRec(mid + 1, hi);
+            
+            // Merge the halves by key1
+            System.arraycopy(idx, lo, aux, lo, hi - lo + 1);
+            int i = lo, j = mid + 1;
+            for (int k = lo; k <= hi; k++) {
+                if (i > mid) idx[k] = aux[j++];
+                else if (j > hi) idx[k] = aux[i++];
+                else if (key1[aux[j]] < key1[aux[i]]) idx[k] = aux[j++];
+                else idx[k] = aux[i++];
+            }
+            
+            // Slab around the split, swept in key1 order
+            double minDist = Math.sqrt(bestSq);
+            int end = lo;
+            for (int k = lo; k <= hi; k++) {
+                if (Math.abs(key0[idx[k]] - split) < minDist) {
+                    aux[end++] = idx[k];
+                }
+            }
+            
+            // 7-neighbour packing bound in the plane
+            for (int a = lo; a < end; a++) {
+                for (int b = a + 1; b < end && b - a < 8; b++) {
+                    if (key1[aux[b]] - key1[aux[a]] >= minDist) {
+                        break;
+                    }
+                    metrics.incrementComparisons();
+                    if (offer(aux[a], aux[b])) {
+                        minDist = Math.sqrt(bestSq);
+                    }
+                }
+            }
+            
+            metrics.exitRecursion();
+        }
+        
+        private boolean offer(int i, int j) {
+            double distSq = distanceSq(coords, (base + i) * dim, (base + j) * dim, dim);
+            if (distSq < bestSq) {
+                bestSq = distSq;
+                first = i;
+                second = j;
+                return true;
+            }
+            return false;
+        }
+    }
+    
+    static double distanceSq(double[] coords, int rowA, int rowB, int dim) {
+        switch (dim) {
+            case 2: {
+                double dx = coords[rowA] - coords[rowB];
+                double dy = coords[rowA + 1] - coords[rowB + 1];
+                return dx * dx + dy * dy;
+            }
+            case 3: {
+                double dx = coords[rowA] - coords[rowB];
+                double dy = coords[rowA + 1] - coords[rowB + 1];
+                double dz = coords[rowA + 2] - coords[rowB + 2];
+                return dx * dx + dy * dy + dz * dz;
+            }
+            default: {
+                double sum = 0.0;
+                for (int k = 0; k < dim; k++) {
+                    double diff = coords[rowA + k] - coords[rowB + k];
+                    sum += diff * diff;
+                }
+                return sum;
+            }
+        }
+    }
+    
+    // Stops summing once the partial sum reaches bound; the result is then >= bound
+    static double partialDistanceSq(double[] coords, int rowA, int rowB, int dim, double bound) {
+        double sum = 0.0;
+        for (int k = 0; k < dim && sum < bound; k++) {
+            double diff = coords[rowA + k] - coords[rowB + k];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+    
+    // Randomized incremental grid, as in GridClosestPair, with an unrolled 3D search
+    private static IndexPair grid3D(double[] coords, int n, MetricsSink metrics) {
+        int[] order = shuffledOrder(n);
+        
+        double[] xs = new double[n], ys = new double[n], zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            int row = order[i] * 3;
+            xs[i] = coords[row];
+            ys[i] = coords[row + 1];
+            zs[i] = coords[row + 2];
+        }
+        int[] next = new int[n];
+        CellMap cells = new CellMap(n);
+        metrics.addAllocations(5L * n + cells.capacity());
+        
+        int bestI = 0, bestJ = 1;
+        double bestSq = distanceSq3(xs, ys, zs, 0, 1);
+        metrics.incrementComparisons();
+        
+        double inv = (1.0 - GridClosestPair.CELL_SLACK) / Math.sqrt(bestSq);
+        if (bestSq > 0) {
+            rebuild3D(cells, next, xs, ys, zs, 2, inv);
+        }
+        
+        for (int i = 2; i < n && bestSq > 0; i++) {
+            long cx = GridClosestPair.cell(xs[i], inv);
+            long cy = GridClosestPair.cell(ys[i], inv);
+            long cz = GridClosestPair.cell(zs[i], inv);
+            boolean improved = false;
+            
+            for (long gx = cx - 1; gx <= cx + 1; gx++) {
+                for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                    for (long gz = cz - 1; gz <= cz + 1; gz++) {
+                        for (int k = cells.get(gx, fold(gy, gz)); k != CellMap.MISSING; k = next[k]) {
+                            metrics.incrementComparisons();
+                            double distSq = distanceSq3(xs, ys, zs, i, k);
+                            if (distSq < bestSq) {
+                                bestSq = distSq;
+                                bestI = k;
+                                bestJ = i;
+                                improved = true;
+                            }
+                        }
+                    }
+                }
+            }
+            
+            if (!improved) {
+                long key = fold(cy, cz);
+                next[i] = cells.get(cx, key);
+                cells.put(cx, key, i);
+            } else if (bestSq > 0) {
+                inv = (1.0 - GridClosestPair.CELL_SLACK) / Math.sqrt(bestSq);
+                rebuild3D(cells, next, xs, ys, zs, i + 1, inv);
+            }
+        }
+        
+        return new IndexPair(order[bestI], order[bestJ], Math.sqrt(bestSq));
+    }
+    
+    private static void rebuild3D(CellMap cells, int[] next, double[] xs, double[] ys, double[] zs,
+                                  int count, double inv) {
+        cells.clear();
+        for (int k = 0; k < count; k++) {
+            long cx = GridClosestPair.cell(xs[k], inv);
+            long key = fold(GridClosestPair.cell(ys[k], inv), GridClosestPair.cell(zs[k], inv));
+            next[k] = cells.get(cx, key);
+            cells.put(cx, key, k);
+        }
+    }
+    
+    // Folds (cy, cz) into one key. Distinct cells that collide only share a list;
+    // distances are still checked exactly, so a collision costs time, not correctness.
+    private static long fold(long cy, long cz) {
+        return cy * FOLD + cz;
+    }
+    
+    private static int[] shuffledOrder(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+    
+    private static IndexPair gridND(double[] coords, int n, int dim, MetricsSink metrics) {
+        int[] order = shuffledOrder(n);
+        double[] pts = new double[n * dim];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(coords, order[i] * dim, pts, i * dim, dim);
+        }
+        GridND grid = new GridND(pts, n, dim, metrics);
+        metrics.addAllocations((long) n * (dim + 2) + grid.cells.capacity());
+        grid.solve();
+        return new IndexPair(order[grid.bestI], order[grid.bestJ], Math.sqrt(grid.bestSq));
+    }
+    
+    /**
+     * Randomized incremental grid over all d coordinates. Cells are keyed by their
+     * first coordinate and a fold of the rest, and {@link #scan} reaches the
+     * neighbouring cells one coordinate at a time.
+     *
+     * <p>Cells are a few times wider than the best distance. A point then usually
+     * lies well inside its cell in most coordinates, so few neighbours are probed,
+     * while a cell still holds a bounded number of points. On uniform data a factor
+     * of 4 was fastest up to d = 8 and 2 above that, where wide cells fill up.
+     */
+    private static final class GridND {
+        // Guards the cell-unit gap test against rounding in the fractional offsets
+        private static final double GAP_SLACK = 1e-9;
+        
+        private final double[] pts;
+        private final int n, dim;
+        private final int[] next;
+        final CellMap cells;
+        private final MetricsSink metrics;
+        
+        // Cell of the current point and its offset within that cell, in cell units
+        private final long[] cell;
+        private final double[] frac;
+        private final int scale;
+        private double inv;
+        private double reachSq;
+        private int point;
+        private boolean improved;
+        
+        int bestI = 0, bestJ = 1;
+        double bestSq;
+        
+        GridND(double[] pts, int n, int dim, MetricsSink metrics) {
+            this.pts = pts;
+            this.n = n;
+            this.dim = dim;
+            this.next = new int[n];
+            this.cells = new CellMap(n);
+            this.metrics = metrics;
+            this.cell = new long[dim];
+            this.frac = new double[dim];
+            this.scale = dim <= 8 ? 4 : 2;
+        }
+        
+        void solve() {
+            bestSq = distanceSq(pts, 0, dim, dim);
+            metrics.incrementComparisons();
+            if (bestSq > 0) {
+                rebuild(2);
+            }
+            
+            for (int i = 2; i < n && bestSq > 0; i++) {
+                locate(i);
+                point = i;
+                improved = false;
+                reachSq = bestSq * inv * inv * (1.0 + GAP_SLACK);
+                scan(0, 0L, 0L, 0.0);
+                
+                if (!improved) {
+                    insert(i);
+                } else if (bestSq > 0) {
+                    rebuild(i + 1);
+                }
+            }
+        }
+        
+        // Visits the cells around the current point whose offset is fixed for
+        // coordinates below k; gapSq is the squared distance from the point to them
+        // in cell units. Cells at least the best distance away are skipped.
+        private void scan(int k, long cx, long key, double gapSq) {
+            if (k == dim) {
+                for (int j = cells.get(cx, key); j != CellMap.MISSING; j = next[j]) {
+                    metrics.incrementComparisons();
+                    double distSq = partialDistanceSq(pts, point * dim, j * dim, dim, bestSq);
+                    if (distSq < bestSq) {
+                        bestSq = distSq;
+                        bestI = j;
+                        bestJ = point;
+                        improved = true;
+                    }
+                }
+                return;
+            }
+            
+            for (int offset = -1; offset <= 1; offset++) {
+                double gap = offset < 0 ? frac[k] : offset > 0 ? 1.0 - frac[k] : 0.0;
+                double sq = gapSq + gap * gap;
+                if (sq >= reachSq) {
+                    continue;
+                }
+                long c = cell[k] + offset;
+                if (k == 0) {
+                    scan(1, c, 0L, sq);
+                } else {
+                    scan(k + 1, cx, key * FOLD + c, sq);
+                }
+            }
+        }
+        
+        private void rebuild(int count) {
+            inv = 1.0 / (scale * Math.sqrt(bestSq));
+            cells.clear();
+            for (int k = 0; k < count; k++) {
+                locate(k);
+                insert(k);
+            }
+        }
+        
+        private void locate(int i) {
+            int row = i * dim;
+            for (int k = 0; k < dim; k++) {
+                double scaled = pts[row + k] * inv;
+                double floor = Math.floor(scaled);
+                cell[k] = (long) floor;
+                frac[k] = scaled - floor;
+            }
+        }
+        
+        // Files point i under the cell last computed by locate
+        private void insert(int i) {
+            long key = 0L;
+            for (int k = 1; k < dim; k++) {
+                key = key * FOLD + cell[k];
+            }
+            next[i] = cells.get(cell[0], key);
+            cells.put(cell[0], key, i);
+        }
+    }
+    
+    private static double distanceSq3(double[] xs, double[] ys, double[] zs, int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        double dz = zs[i] - zs[j];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
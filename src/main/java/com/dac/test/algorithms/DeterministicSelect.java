@@ -1,25 +1,34 @@
 // DeterministicSelect.java - Median of Medians algorithm
 package com.dac.algorithms;
 
-import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.AlgorithmEvents;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
 import com.dac.util.ArrayUtils;
 
 public class DeterministicSelect {
     private static final int GROUP_SIZE = 5;
     
-    public static int select(int[] arr, int k, AlgorithmMetrics metrics) {
+    public static int select(int[] arr, int k) {
+        return select(arr, k, NoOpMetrics.INSTANCE);
+    }
+    
+    public static int select(int[] arr, int k, MetricsSink metrics) {
         if (arr == null || k < 0 || k >= arr.length) {
             throw new IllegalArgumentException("Invalid array or k");
         }
         
+        AlgorithmEvents.Invocation event = new AlgorithmEvents.Invocation("DeterministicSelect");
+        event.start(metrics, arr.length);
         metrics.startTiming();
         int result = select(arr, 0, arr.length - 1, k, metrics);
         metrics.endTiming();
+        event.finish(metrics);
         return result;
     }
     
-    private static int select(int[] arr, int lo, int hi, int k, AlgorithmMetrics metrics) {
-        metrics.enterRecursion();
+    private static int select(int[] arr, int lo, int hi, int k, MetricsSink metrics) {
+        metrics.enterRecursion(lo, hi);
         
         int n = hi - lo + 1;
         
@@ -31,9 +40,10 @@ public class DeterministicSelect {
         }
         
         // Find median of medians
+        AlgorithmEvents.SelectPivot pivotEvent = AlgorithmEvents.startSelectPivot(metrics, n);
         int numGroups = (n + GROUP_SIZE - 1) / GROUP_SIZE;
         int[] medians = new int[numGroups];
-        metrics.incrementAllocations(numGroups);
+        metrics.addAllocations(numGroups);
         
         for (int i = 0; i < numGroups; i++) {
             int groupStart = lo + i * GROUP_SIZE;
@@ -56,6 +66,7 @@ public class DeterministicSelect {
         
         // Move pivot to start
         ArrayUtils.swap(arr, lo, pivotIndex, metrics);
+        AlgorithmEvents.finish(pivotEvent, metrics);
         
         // Partition around pivot
         int partitionPoint = partition(arr, lo, hi, metrics);
@@ -75,7 +86,9 @@ public class DeterministicSelect {
         }
     }
     
-    private static int partition(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static int partition(int[] arr, int lo, int hi, MetricsSink metrics) {
+        AlgorithmEvents.Partition event = AlgorithmEvents.startPartition(metrics, hi - lo + 1);
+        
         int pivot = arr[lo];
         int i = lo + 1;
         int j = hi;
@@ -91,10 +104,11 @@ public class DeterministicSelect {
         }
         
         ArrayUtils.swap(arr, lo, j, metrics);
+        AlgorithmEvents.finish(event, metrics);
         return j;
     }
     
-    private static void insertionSort(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static void insertionSort(int[] arr, int lo, int hi, MetricsSink metrics) {
         for (int i = lo + 1; i <= hi; i++) {
             int key = arr[i];
             int j = i - 1;
@@ -0,0 +1,316 @@
+// DynamicClosestPair.java - Closest pair maintained under insertions and deletions
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import java.util.Arrays;
+
+/**
+ * Maintains the closest pair of a changing multiset of points.
+ *
+ * <p>Points are bucketed into a grid of cell side s. Every insertion checks the 3x3
+ * neighbouring cells and pushes each neighbour pair onto a min-heap of candidates,
+ * so the heap holds every live pair closer than s. Removals only unlink the point
+ * and bump its slot version; heap entries that mention a stale version are dropped
+ * lazily when they reach the top. While the best live candidate is closer than s
+ * it is the true closest pair. Otherwise, or once the heap is mostly garbage, the
+ * structure rebuilds with s set to twice the current closest distance. The
+ * {@link GridClosestPair} engine finds that distance in expected O(n).
+ *
+ * <p>With s = 2d each cell holds O(1) points, so insert and closest cost
+ * O(log n) amortized and remove costs O(1) expected. Rebuilds cost O(n) and are
+ * amortized over the updates that made them necessary.
+ */
+public class DynamicClosestPair {
+    private static final int HEAP_SLACK_FACTOR = 16;
+    private static final int MIN_HEAP_SLACK = 64;
+    
+    private final MetricsSink metrics;
+    
+    // Point slots; freed slots are reused and their version bumped
+    private Point[] points = new Point[16];
+    private int[] prevInCell = new int[16];
+    private int[] nextInCell = new int[16];
+    private int[] version = new int[16];
+    private boolean[] live = new boolean[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+    
+    private final CellMap cells = new CellMap(16);
+    private double cellSize;
+    private double inv;
+    
+    // Candidate min-heap keyed by squared distance
+    private int[] heapA = new int[64];
+    private int[] heapB = new int[64];
+    private int[] heapVersionA = new int[64];
+    private int[] heapVersionB = new int[64];
+    private double[] heapDistSq = new double[64];
+    private int heapSize;
+    private int heapFloor;
+    
+    private long rebuilds;
+    
+    public DynamicClosestPair() {
+        this(NoOpMetrics.INSTANCE);
+    }
+    
+    public DynamicClosestPair(MetricsSink metrics) {
+        this.metrics = metrics;
+    }
+    
+    public DynamicClosestPair(Point[] initial) {
+        this(initial, NoOpMetrics.INSTANCE);
+    }
+    
+    public DynamicClosestPair(Point[] initial, MetricsSink metrics) {
+        this(metrics);
+        for (Point p : initial) {
+            store(p);
+        }
+        if (size >= 2) {
+            rebuild();
+        }
+    }
+    
+    public int size() { return size; }
+    public long getRebuilds() { return rebuilds; }
+    
+    public void insert(Point p) {
+        if (p == null) {
+            throw new IllegalArgumentException("Point must not be null");
+        }
+        
+        int slot = store(p);
+        if (cellSize == 0) {
+            // No scale yet: the first rebuild links everything
+            if (size >= 2) rebuild();
+            return;
+        }
+        
+        link(slot);
+        if (heapSize > Math.max(HEAP_SLACK_FACTOR * size + MIN_HEAP_SLACK, heapFloor)) {
+            rebuild();
+        }
+    }
+    
+    /** Removes one point equal to p; returns false if no such point is present. */
+    public boolean remove(Point p) {
+        int slot = find(p);
+        if (slot < 0) {
+            return false;
+        }
+        
+        if (cellSize != 0) {
+            unlink(slot, p);
+        }
+        live[slot] = false;
+        points[slot] = null;
+        version[slot]++;
+        freeSlots[freeCount++] = slot;
+        size--;
+        return true;
+    }
+    
+    public boolean contains(Point p) {
+        return find(p) >= 0;
+    }
+    
+    /** Current closest pair, or null with fewer than two points. */
+    public PointPair closest() {
+        if (size < 2) {
+            return null;
+        }
+        
+        while (true) {
+            while (heapSize > 0 && !isValid(0)) {
+                pop();
+            }
+            if (heapSize > 0 && heapDistSq[0] < cellSize * cellSize) {
+                return new PointPair(points[heapA[0]], points[heapB[0]], Math.sqrt(heapDistSq[0]));
+            }
+            // The closest pair may not be tracked at this scale
+            rebuild();
+        }
+    }
+    
+    private int store(Point p) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == points.length) growSlots();
+            slot = slotCount++;
+        }
+        points[slot] = p;
+        live[slot] = true;
+        size++;
+        return slot;
+    }
+    
+    private int find(Point p) {
+        if (p == null) {
+            return -1;
+        }
+        if (cellSize == 0) {
+            for (int s = 0; s < slotCount; s++) {
+                if (live[s] && points[s].equals(p)) return s;
+            }
+            return -1;
+        }
+        for (int s = cells.get(cell(p.x), cell(p.y)); s != CellMap.MISSING; s = nextInCell[s]) {
+            metrics.incrementComparisons();
+            if (points[s].equals(p)) return s;
+        }
+        return -1;
+    }
+    
+    // Records candidate pairs with the 3x3 neighbourhood, then links slot into its cell
+    private void link(int slot) {
+        Point p = points[slot];
+        long cx = cell(p.x);
+        long cy = cell(p.y);
+        
+        for (long gx = cx - 1; gx <= cx + 1; gx++) {
+            for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                for (int s = cells.get(gx, gy); s != CellMap.MISSING; s = nextInCell[s]) {
+                    metrics.incrementComparisons();
+                    push(s, slot, points[s].distanceSquaredTo(p));
+                }
+            }
+        }
+        
+        int head = cells.get(cx, cy);
+        prevInCell[slot] = CellMap.MISSING;
+        nextInCell[slot] = head;
+        if (head != CellMap.MISSING) prevInCell[head] = slot;
+        cells.put(cx, cy, slot);
+    }
+    
+    private void unlink(int slot, Point p) {
+        int prev = prevInCell[slot];
+        int next = nextInCell[slot];
+        if (prev != CellMap.MISSING) {
+            nextInCell[prev] = next;
+        } else {
+            cells.put(cell(p.x), cell(p.y), next);
+        }
+        if (next != CellMap.MISSING) prevInCell[next] = prev;
+    }
+    
+    private void rebuild() {
+        rebuilds++;
+        heapSize = 0;
+        cells.clear();
+        
+        if (size >= 2) {
+            Point[] livePoints = new Point[size];
+            int k = 0;
+            for (int s = 0; s < slotCount; s++) {
+                if (live[s]) livePoints[k++] = points[s];
+            }
+            metrics.addAllocations(size);
+            
+            // Only the engine's comparisons count; its timing would overwrite ours
+            double delta;
+            if (metrics.isRecording()) {
+                AlgorithmMetrics gridMetrics = new AlgorithmMetrics("rebuild");
+                delta = GridClosestPair.findClosestPair(livePoints, gridMetrics).distance;
+                metrics.addComparisons(gridMetrics.getComparisons());
+            } else {
+                delta = GridClosestPair.findClosestPair(livePoints).distance;
+            }
+            
+            if (delta > 0) {
+                cellSize = 2 * delta;
+            } else if (cellSize == 0) {
+                cellSize = 1.0; // Only duplicates are closer than any positive side
+            }
+            // Cells a hair wider than s keep every pair closer than s in adjacent cells
+            inv = (1.0 - GridClosestPair.CELL_SLACK) / cellSize;
+        }
+        
+        for (int s = 0; s < slotCount; s++) {
+            if (live[s]) link(s);
+        }
+        // Inputs with many duplicates keep a large heap; don't rebuild on every insert
+        heapFloor = 2 * heapSize;
+    }
+    
+    private long cell(double coordinate) {
+        return GridClosestPair.cell(coordinate, inv);
+    }
+    
+    private boolean isValid(int h) {
+        int a = heapA[h], b = heapB[h];
+        return live[a] && live[b] && version[a] == heapVersionA[h] && version[b] == heapVersionB[h];
+    }
+    
+    private void push(int a, int b, double distSq) {
+        if (heapSize == heapDistSq.length) growHeap();
+        int c = heapSize++;
+        while (c > 0) {
+            int parent = (c - 1) >>> 1;
+            if (heapDistSq[parent] <= distSq) break;
+            moveHeap(parent, c);
+            c = parent;
+        }
+        setHeap(c, a, b, version[a], version[b], distSq);
+    }
+    
+    private void pop() {
+        heapSize--;
+        if (heapSize == 0) return;
+        
+        int a = heapA[heapSize], b = heapB[heapSize];
+        int va = heapVersionA[heapSize], vb = heapVersionB[heapSize];
+        double d = heapDistSq[heapSize];
+        
+        int c = 0;
+        while (true) {
+            int child = 2 * c + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapDistSq[child + 1] < heapDistSq[child]) child++;
+            if (heapDistSq[child] >= d) break;
+            moveHeap(child, c);
+            c = child;
+        }
+        setHeap(c, a, b, va, vb, d);
+    }
+    
+    private void moveHeap(int from, int to) {
+        setHeap(to, heapA[from], heapB[from], heapVersionA[from], heapVersionB[from], heapDistSq[from]);
+    }
+    
+    private void setHeap(int h, int a, int b, int va, int vb, double distSq) {
+        heapA[h] = a;
+        heapB[h] = b;
+        heapVersionA[h] = va;
+        heapVersionB[h] = vb;
+        heapDistSq[h] = distSq;
+    }
+    
+    private void growSlots() {
+        int capacity = points.length * 2;
+        points = Arrays.copyOf(points, capacity);
+        prevInCell = Arrays.copyOf(prevInCell, capacity);
+        nextInCell = Arrays.copyOf(nextInCell, capacity);
+        version = Arrays.copyOf(version, capacity);
+        live = Arrays.copyOf(live, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        metrics.addAllocations(capacity);
+    }
+    
+    private void growHeap() {
+        int capacity = heapDistSq.length * 2;
+        heapA = Arrays.copyOf(heapA, capacity);
+        heapB = Arrays.copyOf(heapB, capacity);
+        heapVersionA = Arrays.copyOf(heapVersionA, capacity);
+        heapVersionB = Arrays.copyOf(heapVersionB, capacity);
+        heapDistSq = Arrays.copyOf(heapDistSq, capacity);
+        metrics.addAllocations(capacity);
+    }
+}
@@ -0,0 +1,403 @@
+// ExternalClosestPair.java - Out-of-core closest pair over binary point files
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import com.dac.util.ArrayUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Closest pair over a file of (x, y) doubles that does not fit in memory.
+ * The file holds consecutive big-endian pairs, as written by
+ * {@link java.io.DataOutputStream#writeDouble} or {@link #writePoints}.
+ *
+ * <ol>
+ *   <li>Chunks of the input are mapped with {@link FileChannel#map}, sorted by x
+ *       and written out as runs.</li>
+ *   <li>The runs are k-way merged into one x-sorted file. A pass merges at most
+ *       as many runs as the budget has room for input buffers, so many runs take
+ *       several passes through intermediate run files.</li>
+ *   <li>The sorted file is read in slabs, and each slab is solved with the
+ *       in-memory {@link ClosestPair#findClosestPairInPlace} engine.</li>
+ *   <li>Across each slab boundary, the points within the current best distance
+ *       of the boundary are solved again as one band. This strip pass catches
+ *       pairs split between slabs.</li>
+ * </ol>
+ *
+ * <p>Resident memory is bounded by the configured budget. Bytes read and written
+ * are reported through {@link AlgorithmMetrics#getBytesRead()} and
+ * {@link AlgorithmMetrics#getBytesWritten()}. When the boundary band alone exceeds
+ * the budget (for example, many points sharing one x-coordinate), the run fails
+ * with an IllegalStateException rather than exceeding the budget.
+ */
+public class ExternalClosestPair {
+    static final int POINT_BYTES = 16;
+    // Resident cost per chunk point: the slab and the carried window (at most one chunk
+    // each), the boundary band (at most two chunks) and the in-memory engine's scratch
+    static final int RESIDENT_BYTES_PER_CHUNK_POINT = 192;
+    private static final int MIN_CHUNK_POINTS = 16;
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+    private static final int MIN_MERGE_BUFFER_BYTES = 16 * POINT_BYTES;
+    
+    public static PointPair findClosestPair(Path input, long memoryBudgetBytes) throws IOException {
+        return findClosestPair(input, memoryBudgetBytes, NoOpMetrics.INSTANCE);
+    }
+    
+    public static PointPair findClosestPair(Path input, long memoryBudgetBytes, MetricsSink metrics)
+            throws IOException {
+        Path workDir = Files.createTempDirectory("closest-pair-");
+        try {
+            return findClosestPair(input, memoryBudgetBytes, workDir, metrics);
+        } finally {
+            Files.deleteIfExists(workDir);
+        }
+    }
+    
+    public static PointPair findClosestPair(Path input, long memoryBudgetBytes, Path workDir) throws IOException {
+        return findClosestPair(input, memoryBudgetBytes, workDir, NoOpMetrics.INSTANCE);
+    }
+    
+    public static PointPair findClosestPair(Path input, long memoryBudgetBytes, Path workDir,
+                                            MetricsSink metrics) throws IOException {
+        long fileBytes = Files.size(input);
+        if (fileBytes % POINT_BYTES != 0) {
+            throw new IllegalArgumentException("File size is not a whole number of (x, y) points: " + fileBytes);
+        }
+        long n = fileBytes / POINT_BYTES;
+        if (n < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        int chunkPoints = chunkPoints(memoryBudgetBytes);
+        
+        metrics.startTiming();
+        List<Path> temporary = new ArrayList<>();
+        try {
+            PointPair result;
+            if (n <= chunkPoints) {
+                try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+                    result = solveInMemory(readPoints(channel, 0, (int) n, metrics), metrics);
+                }
+            } else {
+                List<Path> runs = writeSortedRuns(input, n, chunkPoints, workDir, temporary, metrics);
+                Path sorted = workDir.resolve("sorted.bin");
+                temporary.add(sorted);
+                mergeRuns(runs, sorted, memoryBudgetBytes, workDir, temporary, metrics);
+                result = solveSlabs(sorted, n, chunkPoints, metrics);
+            }
+            metrics.endTiming();
+            return result;
+        } finally {
+            for (Path path : temporary) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+    
+    /** Writes points in the format read by {@link #findClosestPair}. */
+    public static void writePoints(Path file, Point[] points) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_BYTES);
+            for (Point p : points) {
+                if (buffer.remaining() < POINT_BYTES) drain(channel, buffer);
+                buffer.putDouble(p.x).putDouble(p.y);
+            }
+            drain(channel, buffer);
+        }
+    }
+    
+    static int chunkPoints(long memoryBudgetBytes) {
+        long points = memoryBudgetBytes / RESIDENT_BYTES_PER_CHUNK_POINT;
+        if (points < MIN_CHUNK_POINTS) {
+            throw new IllegalArgumentException("Memory budget too small: " + memoryBudgetBytes + " bytes");
+        }
+        return (int) Math.min(points, Integer.MAX_VALUE / POINT_BYTES);
+    }
+    
+    // ---------------------------------------------------------------- phase 1: runs
+    
+    private static List<Path> writeSortedRuns(Path input, long n, int chunkPoints, Path workDir,
+                                              List<Path> temporary, MetricsSink metrics) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        double[] xs = new double[chunkPoints];
+        double[] ys = new double[chunkPoints];
+        int[] idx = new int[chunkPoints];
+        int[] aux = new int[chunkPoints];
+        ByteBuffer out = ByteBuffer.allocate(IO_BUFFER_BYTES);
+        metrics.addAllocations(3L * chunkPoints);
+        
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            for (long start = 0; start < n; start += chunkPoints) {
+                int count = (int) Math.min(chunkPoints, n - start);
+                DoubleBuffer in = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start * POINT_BYTES, (long) count * POINT_BYTES).asDoubleBuffer();
+                metrics.addBytesRead((long) count * POINT_BYTES);
+                for (int i = 0; i < count; i++) {
+                    xs[i] = in.get();
+                    ys[i] = in.get();
+                    idx[i] = i;
+                }
+                ArrayUtils.sortIndicesByKey(idx, aux, xs, 0, count - 1);
+                
+                Path run = workDir.resolve("run-" + runs.size() + ".bin");
+                temporary.add(run);
+                runs.add(run);
+                try (FileChannel runChannel = FileChannel.open(run, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (int i = 0; i < count; i++) {
+                        if (out.remaining() < POINT_BYTES) metrics.addBytesWritten(drain(runChannel, out));
+                        out.putDouble(xs[idx[i]]).putDouble(ys[idx[i]]);
+                    }
+                    metrics.addBytesWritten(drain(runChannel, out));
+                }
+            }
+        }
+        return runs;
+    }
+    
+    // ---------------------------------------------------------------- phase 2: merge
+    
+    /**
+     * Runs merged per pass. Merge buffers (one per input plus the output) share half
+     * the budget. All runs are merged at once if each buffer still gets
+     * {@link #MIN_MERGE_BUFFER_BYTES}; otherwise as many as fit at that size.
+     */
+    static int mergeFanIn(long memoryBudgetBytes, int runs) {
+        long buffers = memoryBudgetBytes / (2L * MIN_MERGE_BUFFER_BYTES);
+        return (int) Math.max(2, Math.min(runs, buffers - 1));
+    }
+    
+    static int mergeBufferBytes(long memoryBudgetBytes, int fanIn) {
+        long bytes = Math.min(IO_BUFFER_BYTES, memoryBudgetBytes / (2L * (fanIn + 1)));
+        return (int) (bytes - bytes % POINT_BYTES);
+    }
+    
+    // Merges in passes of at most mergeFanIn runs and deletes the runs it consumes
+    private static void mergeRuns(List<Path> runs, Path output, long memoryBudgetBytes, Path workDir,
+                                  List<Path> temporary, MetricsSink metrics) throws IOException {
+        int fanIn = mergeFanIn(memoryBudgetBytes, runs.size());
+        int bufferBytes = mergeBufferBytes(memoryBudgetBytes, fanIn);
+        
+        for (int pass = 0; runs.size() > fanIn; pass++) {
+            List<Path> merged = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+                Path run = workDir.resolve("pass-" + pass + "-run-" + merged.size() + ".bin");
+                temporary.add(run);
+                merged.add(run);
+                mergeGroup(group, run, bufferBytes, metrics);
+                for (Path consumed : group) {
+                    Files.deleteIfExists(consumed);
+                }
+            }
+            runs = merged;
+        }
+        
+        mergeGroup(runs, output, bufferBytes, metrics);
+        for (Path consumed : runs) {
+            Files.deleteIfExists(consumed);
+        }
+    }
+    
+    private static void mergeGroup(List<Path> runs, Path output, int bufferBytes, MetricsSink metrics)
+            throws IOException {
+        int k = runs.size();
+        
+        FileChannel[] channels = new FileChannel[k];
+        ByteBuffer[] buffers = new ByteBuffer[k];
+        double[] headX = new double[k];
+        double[] headY = new double[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int r = 0; r < k; r++) {
+                channels[r] = FileChannel.open(runs.get(r), StandardOpenOption.READ);
+                buffers[r] = ByteBuffer.allocate(bufferBytes);
+                buffers[r].flip();
+                if (advance(channels[r], buffers[r], headX, headY, r, metrics)) {
+                    heapSize = heapPush(heap, heapSize, headX, r);
+                }
+            }
+            
+            ByteBuffer outBuffer = ByteBuffer.allocate(bufferBytes);
+            while (heapSize > 0) {
+                int r = heap[0];
+                if (outBuffer.remaining() < POINT_BYTES) metrics.addBytesWritten(drain(out, outBuffer));
+                outBuffer.putDouble(headX[r]).putDouble(headY[r]);
+                metrics.incrementComparisons();
+                
+                if (advance(channels[r], buffers[r], headX, headY, r, metrics)) {
+                    heapSiftDown(heap, heapSize, headX, 0);
+                } else {
+                    heap[0] = heap[--heapSize];
+                    heapSiftDown(heap, heapSize, headX, 0);
+                }
+            }
+            metrics.addBytesWritten(drain(out, outBuffer));
+        } finally {
+            for (FileChannel channel : channels) {
+                if (channel != null) channel.close();
+            }
+        }
+    }
+    
+    // Loads the next point of run r into headX/headY; false when the run is exhausted
+    private static boolean advance(FileChannel channel, ByteBuffer buffer, double[] headX, double[] headY,
+                                   int r, MetricsSink metrics) throws IOException {
+        if (buffer.remaining() < POINT_BYTES) {
+            buffer.clear();
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Fill the whole buffer; files are a whole number of points
+            }
+            buffer.flip();
+            metrics.addBytesRead(buffer.remaining());
+            if (buffer.remaining() < POINT_BYTES) return false;
+        }
+        headX[r] = buffer.getDouble();
+        headY[r] = buffer.getDouble();
+        return true;
+    }
+    
+    private static int heapPush(int[] heap, int size, double[] keys, int r) {
+        int c = size;
+        while (c > 0) {
+            int parent = (c - 1) >>> 1;
+            if (keys[heap[parent]] <= keys[r]) break;
+            heap[c] = heap[parent];
+            c = parent;
+        }
+        heap[c] = r;
+        return size + 1;
+    }
+    
+    private static void heapSiftDown(int[] heap, int size, double[] keys, int c) {
+        if (size == 0) return;
+        int r = heap[c];
+        while (true) {
+            int child = 2 * c + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= keys[r]) break;
+            heap[c] = heap[child];
+            c = child;
+        }
+        heap[c] = r;
+    }
+    
+    // ---------------------------------------------------------------- phase 3: slabs
+    
+    private static PointPair solveSlabs(Path sorted, long n, int chunkPoints, MetricsSink metrics)
+            throws IOException {
+        PointPair best = null;
+        Point[] window = new Point[0];
+        double lastMax = Double.NEGATIVE_INFINITY;
+        
+        try (FileChannel channel = FileChannel.open(sorted, StandardOpenOption.READ)) {
+            for (long start = 0; start < n; start += chunkPoints) {
+                int count = (int) Math.min(chunkPoints, n - start);
+                Point[] slab = readPoints(channel, start, count, metrics);
+                
+                if (count >= 2) {
+                    best = closer(best, solveInMemory(slab, metrics));
+                }
+                double delta = best == null ? Double.POSITIVE_INFINITY : best.distance;
+                
+                // Strip pass: a cross pair (w, s) has s.x < lastMax + delta and w.x > slab[0].x - delta
+                if (window.length > 0) {
+                    int headEnd = 0;
+                    while (headEnd < count && slab[headEnd].x < lastMax + delta) headEnd++;
+                    
+                    Point[] band = concat(window, slab[0].x - delta, slab, 0, headEnd, 2 * chunkPoints);
+                    if (band.length >= 2) {
+                        best = closer(best, solveInMemory(band, metrics));
+                        delta = best.distance;
+                    }
+                }
+                if (delta == 0) {
+                    break;
+                }
+                
+                // Carry the points that can still pair with later slabs
+                lastMax = slab[count - 1].x;
+                int tailStart = count;
+                while (tailStart > 0 && slab[tailStart - 1].x > lastMax - delta) tailStart--;
+                window = concat(window, lastMax - delta, slab, tailStart, count, chunkPoints);
+            }
+        }
+        return best;
+    }
+    
+    // Window points with x > minX followed by slab[from, to)
+    private static Point[] concat(Point[] window, double minX, Point[] slab, int from, int to, int limit) {
+        Point[] out = new Point[window.length + (to - from)];
+        int size = 0;
+        for (Point p : window) {
+            if (p.x > minX) out[size++] = p;
+        }
+        for (int i = from; i < to; i++) {
+            out[size++] = slab[i];
+        }
+        if (size > limit) {
+            throw new IllegalStateException("Boundary band of " + size + " points exceeds the memory budget");
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+    
+    // ---------------------------------------------------------------- helpers
+    
+    private static Point[] readPoints(FileChannel channel, long firstPoint, int count, MetricsSink metrics)
+            throws IOException {
+        DoubleBuffer in = channel.map(FileChannel.MapMode.READ_ONLY,
+                firstPoint * POINT_BYTES, (long) count * POINT_BYTES).asDoubleBuffer();
+        metrics.addBytesRead((long) count * POINT_BYTES);
+        metrics.addAllocations(count);
+        
+        Point[] points = new Point[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = new Point(in.get(), in.get());
+        }
+        return points;
+    }
+    
+    // The engine times itself, so a recording caller gets its counters merged instead
+    private static PointPair solveInMemory(Point[] points, MetricsSink metrics) {
+        if (!metrics.isRecording()) {
+            return ClosestPair.findClosestPairInPlace(points);
+        }
+        AlgorithmMetrics slabMetrics = new AlgorithmMetrics("slab");
+        PointPair result = ClosestPair.findClosestPairInPlace(points, slabMetrics);
+        metrics.merge(slabMetrics, metrics.getCurrentDepth());
+        return result;
+    }
+    
+    private static PointPair closer(PointPair best, PointPair candidate) {
+        return best == null || candidate.distance < best.distance ? candidate : best;
+    }
+    
+    // Writes out everything buffered; returns the number of bytes written
+    private static long drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        long written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+}
@@ -0,0 +1,119 @@
+// GridClosestPair.java - Randomized grid-hashing closest pair (expected O(n))
+package com.dac.algorithms;
+
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import java.util.Random;
+
+/**
+ * Randomized incremental closest pair in the style of Rabin / Khuller-Matias.
+ * Points are inserted in random order into a grid whose cell side is a hair above
+ * the current closest distance d, so any closer pair lies within the 3x3 cells
+ * around the new point. When a closer pair is found the grid is rebuilt with the smaller d. Point
+ * i triggers a rebuild with probability at most 2/i, which gives expected O(n) time
+ * independent of the input distribution.
+ *
+ * <p>Cells live in a primitive {@link CellMap}; each cell holds the head of a linked
+ * list threaded through an int[] array, so nothing is boxed.
+ */
+public class GridClosestPair {
+    // Cells are this much wider than d, relative to d, so rounding in x * inv cannot
+    // put a pair just under d two cells apart
+    static final double CELL_SLACK = 0x1p-40;
+    private static final Random random = new Random();
+    
+    public static PointPair findClosestPair(Point[] points) {
+        return findClosestPair(points, NoOpMetrics.INSTANCE);
+    }
+    
+    public static PointPair findClosestPair(Point[] points, MetricsSink metrics) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        
+        metrics.startTiming();
+        int n = points.length;
+        
+        // Random insertion order is what makes rebuilds rare
+        Point[] order = points.clone();
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Point tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = order[i].x;
+            ys[i] = order[i].y;
+        }
+        int[] next = new int[n];
+        CellMap cells = new CellMap(n);
+        metrics.addAllocations(4L * n + cells.capacity());
+        
+        int bestI = 0, bestJ = 1;
+        double bestSq = distanceSq(xs, ys, 0, 1);
+        metrics.incrementComparisons();
+        
+        double inv = (1.0 - CELL_SLACK) / Math.sqrt(bestSq);
+        if (bestSq > 0) {
+            rebuild(cells, next, xs, ys, 2, inv);
+        }
+        
+        for (int i = 2; i < n && bestSq > 0; i++) {
+            long cx = cell(xs[i], inv);
+            long cy = cell(ys[i], inv);
+            boolean improved = false;
+            
+            for (long gx = cx - 1; gx <= cx + 1; gx++) {
+                for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                    for (int k = cells.get(gx, gy); k != CellMap.MISSING; k = next[k]) {
+                        metrics.incrementComparisons();
+                        double distSq = distanceSq(xs, ys, i, k);
+                        if (distSq < bestSq) {
+                            bestSq = distSq;
+                            bestI = k;
+                            bestJ = i;
+                            improved = true;
+                        }
+                    }
+                }
+            }
+            
+            if (!improved) {
+                next[i] = cells.get(cx, cy);
+                cells.put(cx, cy, i);
+            } else if (bestSq > 0) {
+                inv = (1.0 - CELL_SLACK) / Math.sqrt(bestSq);
+                rebuild(cells, next, xs, ys, i + 1, inv);
+            }
+        }
+        
+        PointPair result = new PointPair(order[bestI], order[bestJ], Math.sqrt(bestSq));
+        metrics.endTiming();
+        return result;
+    }
+    
+    // Re-buckets points [0, count) into cells of side 1 / inv
+    private static void rebuild(CellMap cells, int[] next, double[] xs, double[] ys, int count, double inv) {
+        cells.clear();
+        for (int k = 0; k < count; k++) {
+            long cx = cell(xs[k], inv);
+            long cy = cell(ys[k], inv);
+            next[k] = cells.get(cx, cy);
+            cells.put(cx, cy, k);
+        }
+    }
+    
+    static long cell(double coordinate, double inv) {
+        return (long) Math.floor(coordinate * inv);
+    }
+    
+    private static double distanceSq(double[] xs, double[] ys, int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
+    }
+}
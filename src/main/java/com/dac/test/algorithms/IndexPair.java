@@ -0,0 +1,41 @@
+// IndexPair.java - Pair of point indices with distance
+package com.dac.algorithms;
+
+/**
+ * Result of closest-pair engines that work on primitive coordinate storage;
+ * first and second are point indices (rows) in the caller's coordinate array.
+ */
+public class IndexPair {
+    public final int first, second;
+    public final double distance;
+    
+    public IndexPair(int first, int second, double distance) {
+        this.first = first;
+        this.second = second;
+        this.distance = distance;
+    }
+    
+    public double getDistance() {
+        return distance;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("IndexPair{%d <-> %d, distance=%.6f}", first, second, distance);
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        IndexPair pair = (IndexPair) obj;
+        return Double.compare(distance, pair.distance) == 0 &&
+                ((first == pair.first && second == pair.second) ||
+                 (first == pair.second && second == pair.first));
+    }
+    
+    @Override
+    public int hashCode() {
+        return Math.min(first, second) * 31 + Math.max(first, second);
+    }
+}
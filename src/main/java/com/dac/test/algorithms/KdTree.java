@@ -0,0 +1,354 @@
+// KdTree.java - Static 2D kd-tree in implicit array layout
+package com.dac.algorithms;
+
+import com.dac.metrics.MetricsSink;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Static 2D kd-tree for repeated nearest-neighbour, k-nearest and range queries
+ * over one point set.
+ *
+ * <p>The tree is implicit. Coordinates are copied into flat xs/ys arrays and
+ * reordered so that, for any range [lo, hi), the median slot (lo + hi) / 2 is the
+ * node, [lo, mid) is its left subtree and (mid, hi) its right subtree. Levels
+ * alternate between splitting on x and on y. Ranges of at most {@link #LEAF_SIZE}
+ * points are left unordered and scanned linearly. No node objects or child
+ * pointers are stored, and each subtree is a contiguous slice of the arrays.
+ *
+ * <p>Queries return indices into the array passed to the constructor. The tree is
+ * immutable after construction, so queries are safe from any number of threads,
+ * and the bulk methods run in parallel.
+ */
+public class KdTree {
+    static final int LEAF_SIZE = 8;
+    private static final Random random = new Random();
+    
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] ids;
+    // Bounding box of all points; seeds the query-to-cell distance bound
+    private double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+    private double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+    
+    public KdTree(Point[] points) {
+        this(xsOf(points), ysOf(points));
+    }
+    
+    public KdTree(double[] xs, double[] ys) {
+        if (xs == null || ys == null || xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays must be non-null and of equal length");
+        }
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+        this.ids = new int[xs.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        build(0, ids.length, 0);
+    }
+    
+    public int size() {
+        return ids.length;
+    }
+    
+    // ---------------------------------------------------------------- build
+    
+    private void build(int lo, int hi, int depth) {
+        while (hi - lo > LEAF_SIZE) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, (depth & 1) == 0 ? xs : ys);
+            // Recurse on the left, iterate on the right
+            build(lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+    
+    // Quickselect on [lo, hi] so that slot k holds the k-th smallest key
+    private void select(int lo, int hi, int k, double[] keys) {
+        while (hi > lo) {
+            swap(lo, lo + random.nextInt(hi - lo + 1));
+            double pivot = keys[lo];
+            int i = lo + 1, j = hi;
+            while (true) {
+                while (i <= j && keys[i] < pivot) i++;
+                while (j >= i && keys[j] > pivot) j--;
+                if (i >= j) break;
+                swap(i++, j--);
+            }
+            swap(lo, j);
+            
+            if (j == k) return;
+            if (k < j) hi = j - 1;
+            else lo = j + 1;
+        }
+    }
+    
+    private void swap(int i, int j) {
+        double tx = xs[i]; xs[i] = xs[j]; xs[j] = tx;
+        double ty = ys[i]; ys[i] = ys[j]; ys[j] = ty;
+        int ti = ids[i]; ids[i] = ids[j]; ids[j] = ti;
+    }
+    
+    // ---------------------------------------------------------------- nearest
+    
+    /** Index of the point nearest to (x, y), or -1 for an empty tree. */
+    public int nearest(double x, double y) {
+        if (ids.length == 0) return -1;
+        KHeap best = new KHeap(1);
+        search(0, ids.length, 0, x, y, best, outside(x, minX, maxX), outside(y, minY, maxY));
+        return best.ids[0];
+    }
+    
+    public int nearest(Point q) {
+        return nearest(q.x, q.y);
+    }
+    
+    /** Indices of the k points nearest to (x, y), nearest first. */
+    public int[] kNearest(double x, double y, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        KHeap best = new KHeap(Math.min(k, ids.length));
+        if (best.capacity() > 0) {
+            search(0, ids.length, 0, x, y, best, outside(x, minX, maxX), outside(y, minY, maxY));
+        }
+        return best.drainAscending();
+    }
+    
+    public int[] kNearest(Point q, int k) {
+        return kNearest(q.x, q.y, k);
+    }
+    
+    /**
+     * Index of the point nearest to (x, y) among those strictly closer than
+     * sqrt(boundSq), or -1 if there is none. The search prunes as though a point at
+     * the bound had already been found. Distance evaluations are added to metrics as
+     * comparisons.
+     */
+    int nearestWithin(double x, double y, double boundSq, MetricsSink metrics) {
+        KHeap best = new KHeap(1);
+        best.offer(-1, boundSq);
+        double offX = outside(x, minX, maxX);
+        double offY = outside(y, minY, maxY);
+        if (ids.length > 0 && offX * offX + offY * offY < boundSq) {
+            metrics.addComparisons(search(0, ids.length, 0, x, y, best, offX, offY));
+        }
+        return best.ids[0];
+    }
+    
+    // Distance from v to the interval [min, max] along one axis
+    private static double outside(double v, double min, double max) {
+        return v < min ? min - v : v > max ? v - max : 0.0;
+    }
+    
+    // offX and offY are the per-axis distances from (x, y) to the cell holding
+    // [lo, hi), so their squared sum bounds every point in it from below. Crossing a
+    // split replaces that axis's distance with the distance to the split line.
+    // Returns the number of distance evaluations.
+    private int search(int lo, int hi, int depth, double x, double y, KHeap best, double offX, double offY) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                best.offer(ids[i], distanceSq(i, x, y));
+            }
+            return hi - lo;
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        best.offer(ids[mid], distanceSq(mid, x, y));
+        int evaluated = 1;
+        
+        boolean splitX = (depth & 1) == 0;
+        double diff = splitX ? x - xs[mid] : y - ys[mid];
+        double farX = splitX ? diff : offX;
+        double farY = splitX ? offY : diff;
+        double farSq = farX * farX + farY * farY;
+        if (diff < 0) {
+            evaluated += search(lo, mid, depth + 1, x, y, best, offX, offY);
+            if (farSq < best.bound()) evaluated += search(mid + 1, hi, depth + 1, x, y, best, farX, farY);
+        } else {
+            evaluated += search(mid + 1, hi, depth + 1, x, y, best, offX, offY);
+            if (farSq < best.bound()) evaluated += search(lo, mid, depth + 1, x, y, best, farX, farY);
+        }
+        return evaluated;
+    }
+    
+    private double distanceSq(int slot, double x, double y) {
+        double dx = xs[slot] - x;
+        double dy = ys[slot] - y;
+        return dx * dx + dy * dy;
+    }
+    
+    // ---------------------------------------------------------------- range
+    
+    /** Indices of all points inside the closed rectangle [minX, maxX] x [minY, maxY]. */
+    public int[] rangeQuery(double minX, double minY, double maxX, double maxY) {
+        IntBuffer out = new IntBuffer();
+        range(0, ids.length, 0, minX, minY, maxX, maxY, out);
+        for (int i = 0; i < out.size; i++) {
+            out.data[i] = ids[out.data[i]];
+        }
+        return out.toArray();
+    }
+    
+    /** Indices of all points within distance r of (x, y). */
+    public int[] withinRadius(double x, double y, double r) {
+        // Pad the box by a few ulps so x + r rounding down cannot cut off a point at exactly r
+        double reach = r + 2 * Math.ulp(Math.max(Math.abs(x), Math.abs(y)) + r);
+        IntBuffer candidates = new IntBuffer();
+        range(0, ids.length, 0, x - reach, y - reach, x + reach, y + reach, candidates);
+        
+        IntBuffer out = new IntBuffer();
+        double rSq = r * r;
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.data[i];
+            if (ClosestPair.withinRadius(distanceSq(slot, x, y), r, rSq)) out.add(slot);
+        }
+        for (int i = 0; i < out.size; i++) {
+            out.data[i] = ids[out.data[i]];
+        }
+        return out.toArray();
+    }
+    
+    // Collects slots, not ids; callers map them through ids[]
+    private void range(int lo, int hi, int depth, double minX, double minY, double maxX, double maxY,
+                       IntBuffer out) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY) out.add(i);
+            }
+            return;
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        if (xs[mid] >= minX && xs[mid] <= maxX && ys[mid] >= minY && ys[mid] <= maxY) out.add(mid);
+        
+        double split = (depth & 1) == 0 ? xs[mid] : ys[mid];
+        double min = (depth & 1) == 0 ? minX : minY;
+        double max = (depth & 1) == 0 ? maxX : maxY;
+        if (min <= split) range(lo, mid, depth + 1, minX, minY, maxX, maxY, out);
+        if (max >= split) range(mid + 1, hi, depth + 1, minX, minY, maxX, maxY, out);
+    }
+    
+    // ---------------------------------------------------------------- bulk
+    
+    /** Nearest neighbour of every query point, computed in parallel. */
+    public int[] nearestAll(double[] qx, double[] qy) {
+        if (qx.length != qy.length) {
+            throw new IllegalArgumentException("Query arrays must have equal length");
+        }
+        int[] result = new int[qx.length];
+        IntStream.range(0, qx.length).parallel().forEach(i -> result[i] = nearest(qx[i], qy[i]));
+        return result;
+    }
+    
+    public int[] nearestAll(Point[] queries) {
+        return nearestAll(xsOf(queries), ysOf(queries));
+    }
+    
+    /** k nearest neighbours of every query point, computed in parallel. */
+    public int[][] kNearestAll(double[] qx, double[] qy, int k) {
+        if (qx.length != qy.length) {
+            throw new IllegalArgumentException("Query arrays must have equal length");
+        }
+        int[][] result = new int[qx.length][];
+        IntStream.range(0, qx.length).parallel().forEach(i -> result[i] = kNearest(qx[i], qy[i], k));
+        return result;
+    }
+    
+    // ---------------------------------------------------------------- helpers
+    
+    private static double[] xsOf(Point[] points) {
+        double[] xs = new double[points.length];
+        for (int i = 0; i < points.length; i++) xs[i] = points[i].x;
+        return xs;
+    }
+    
+    private static double[] ysOf(Point[] points) {
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) ys[i] = points[i].y;
+        return ys;
+    }
+    
+    /** Bounded max-heap of (id, squared distance); bound() is the k-th best so far. */
+    private static final class KHeap {
+        final int[] ids;
+        final double[] distSq;
+        int size;
+        
+        KHeap(int capacity) {
+            ids = new int[capacity];
+            distSq = new double[capacity];
+        }
+        
+        int capacity() {
+            return ids.length;
+        }
+        
+        double bound() {
+            return size < ids.length ? Double.POSITIVE_INFINITY : distSq[0];
+        }
+        
+        void offer(int id, double d) {
+            if (size < ids.length) {
+                int c = size++;
+                while (c > 0) {
+                    int parent = (c - 1) >>> 1;
+                    if (distSq[parent] >= d) break;
+                    ids[c] = ids[parent];
+                    distSq[c] = distSq[parent];
+                    c = parent;
+                }
+                ids[c] = id;
+                distSq[c] = d;
+            } else if (d < distSq[0]) {
+                siftDown(id, d);
+            }
+        }
+        
+        private void siftDown(int id, double d) {
+            int c = 0;
+            while (true) {
+                int child = 2 * c + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distSq[child + 1] > distSq[child]) child++;
+                if (distSq[child] <= d) break;
+                ids[c] = ids[child];
+                distSq[c] = distSq[child];
+                c = child;
+            }
+            ids[c] = id;
+            distSq[c] = d;
+        }
+        
+        int[] drainAscending() {
+            int[] out = new int[size];
+            for (int k = size - 1; k >= 0; k--) {
+                out[k] = ids[0];
+                size--;
+                if (size > 0) siftDown(ids[size], distSq[size]);
+            }
+            return out;
+        }
+    }
+    
+    private static final class IntBuffer {
+        int[] data = new int[16];
+        int size;
+        
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -1,24 +1,33 @@
 // MergeSort.java - Optimized merge sort implementation
 package com.dac.algorithms;
 
-import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.AlgorithmEvents;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
 import com.dac.util.ArrayUtils;
 
 public class MergeSort {
     private static final int INSERTION_SORT_CUTOFF = 16;
     
-    public static void sort(int[] arr, AlgorithmMetrics metrics) {
+    public static void sort(int[] arr) {
+        sort(arr, NoOpMetrics.INSTANCE);
+    }
+    
+    public static void sort(int[] arr, MetricsSink metrics) {
         if (arr == null || arr.length <= 1) return;
         
+        AlgorithmEvents.Invocation event = new AlgorithmEvents.Invocation("MergeSort");
+        event.start(metrics, arr.length);
         metrics.startTiming();
         int[] aux = new int[arr.length];
-        metrics.incrementAllocations(arr.length);
+        metrics.addAllocations(arr.length);
         sort(arr, aux, 0, arr.length - 1, metrics);
         metrics.endTiming();
+        event.finish(metrics);
     }
     
-    private static void sort(int[] arr, int[] aux, int lo, int hi, AlgorithmMetrics metrics) {
-        metrics.enterRecursion();
+    private static void sort(int[] arr, int[] aux, int lo, int hi, MetricsSink metrics) {
+        metrics.enterRecursion(lo, hi);
         
         if (hi <= lo + INSERTION_SORT_CUTOFF) {
             insertionSort(arr, lo, hi, metrics);
@@ -40,7 +49,9 @@ public class MergeSort {
         metrics.exitRecursion();
     }
     
-    private static void merge(int[] arr, int[] aux, int lo, int mid, int hi, AlgorithmMetrics metrics) {
+    private static void merge(int[] arr, int[] aux, int lo, int mid, int hi, MetricsSink metrics) {
+        AlgorithmEvents.Merge event = AlgorithmEvents.startMerge(metrics, hi - lo + 1);
+        
         // Copy to auxiliary array
         System.arraycopy(arr, lo, aux, lo, hi - lo + 1);
         
@@ -56,9 +67,11 @@ public class MergeSort {
                 arr[k] = aux[i++];
             }
         }
+        
+        AlgorithmEvents.finish(event, metrics);
     }
     
-    private static void insertionSort(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static void insertionSort(int[] arr, int lo, int hi, MetricsSink metrics) {
         for (int i = lo + 1; i <= hi; i++) {
             int key = arr[i];
             int j = i - 1;
@@ -0,0 +1,67 @@
+// PairBuffer.java - Growable primitive buffer of index pairs with distances
+package com.dac.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Holds pairs of point indices and their distances in parallel primitive arrays,
+ * so bulk pair queries do not allocate one object per result. Indices refer to
+ * positions in the array that was passed to the query.
+ */
+public class PairBuffer {
+    private int[] first;
+    private int[] second;
+    private double[] distance;
+    private int size;
+    
+    public PairBuffer() {
+        this(16);
+    }
+    
+    public PairBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        first = new int[capacity];
+        second = new int[capacity];
+        distance = new double[capacity];
+    }
+    
+    public void add(int i, int j, double dist) {
+        if (size == first.length) {
+            int capacity = size * 2;
+            first = Arrays.copyOf(first, capacity);
+            second = Arrays.copyOf(second, capacity);
+            distance = Arrays.copyOf(distance, capacity);
+        }
+        first[size] = i;
+        second[size] = j;
+        distance[size] = dist;
+        size++;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int getFirst(int index) { return first[checkIndex(index)]; }
+    public int getSecond(int index) { return second[checkIndex(index)]; }
+    public double getDistance(int index) { return distance[checkIndex(index)]; }
+    
+    public PointPair toPointPair(Point[] points, int index) {
+        checkIndex(index);
+        return new PointPair(points[first[index]], points[second[index]], distance[index]);
+    }
+    
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PairBuffer{size=%d}", size);
+    }
+}
@@ -0,0 +1,106 @@
+// ParallelClosestPair.java - Fork/join closest pair of points
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel variant of {@link ClosestPair#findClosestPairInPlace}. The x presort uses
+ * {@link Arrays#parallelSort}, and the two halves of each range above
+ * {@link #SEQUENTIAL_CUTOFF} are solved as forked tasks. Below the cutoff the serial
+ * in-place recursion runs unchanged. The y-merge and the strip scan after each join
+ * stay serial.
+ *
+ * <p>AlgorithmMetrics is not thread-safe, so every task counts into its own local
+ * instance and children are merged into the parent after the join. When the
+ * caller's sink records nothing, tasks keep no counters at all.
+ */
+public class ParallelClosestPair {
+    static final int SEQUENTIAL_CUTOFF = 1 << 13;
+    
+    public static PointPair findClosestPair(Point[] points) {
+        return findClosestPair(points, NoOpMetrics.INSTANCE);
+    }
+    
+    public static PointPair findClosestPair(Point[] points, MetricsSink metrics) {
+        return findClosestPair(points, metrics, ForkJoinPool.commonPool());
+    }
+    
+    public static PointPair findClosestPair(Point[] points, MetricsSink metrics, ForkJoinPool pool) {
+        if (points == null || points.length < 2) {
+            throw new IllegalArgumentException("Need at least 2 points");
+        }
+        
+        metrics.startTiming();
+        
+        Point[] a = points.clone();
+        metrics.addAllocations(points.length);
+        Arrays.parallelSort(a, ClosestPair.BY_X);
+        
+        Point[] aux = new Point[points.length];
+        metrics.addAllocations(points.length);
+        
+        ClosestPairTask root = new ClosestPairTask(a, aux, 0, a.length - 1, metrics.isRecording());
+        pool.invoke(root);
+        if (root.metrics != null) {
+            metrics.merge(root.metrics, metrics.getCurrentDepth());
+        }
+        
+        PointPair result = root.best.toPointPair();
+        metrics.endTiming();
+        return result;
+    }
+    
+    private static final class ClosestPairTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final Point[] a, aux;
+        private final int lo, hi;
+        final ClosestPair.Best best = new ClosestPair.Best();
+        // Null when the caller's sink records nothing
+        final AlgorithmMetrics metrics;
+        
+        ClosestPairTask(Point[] a, Point[] aux, int lo, int hi, boolean recording) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.metrics = recording ? new AlgorithmMetrics("ClosestPairTask") : null;
+        }
+        
+        @Override
+        protected void compute() {
+            MetricsSink sink = metrics != null ? metrics : NoOpMetrics.INSTANCE;
+            if (hi - lo + 1 <= SEQUENTIAL_CUTOFF) {
+                ClosestPair.closestPairInPlace(a, aux, lo, hi, best, sink);
+                return;
+            }
+            
+            sink.enterRecursion(lo, hi);
+            
+            int mid = lo + (hi - lo) / 2;
+            double midX = a[mid].x;
+            
+            ClosestPairTask left = new ClosestPairTask(a, aux, lo, mid, metrics != null);
+            ClosestPairTask right = new ClosestPairTask(a, aux, mid + 1, hi, metrics != null);
+            invokeAll(left, right);
+            
+            // Join: fold child counters and results before the serial merge step
+            if (metrics != null) {
+                metrics.merge(left.metrics, metrics.getCurrentDepth());
+                metrics.merge(right.metrics, metrics.getCurrentDepth());
+            }
+            best.offer(left.best);
+            best.offer(right.best);
+            
+            ClosestPair.mergeByY(a, aux, lo, mid, hi);
+            ClosestPair.stripInPlace(a, aux, lo, hi, midX, best, sink);
+            
+            sink.exitRecursion();
+        }
+    }
+}
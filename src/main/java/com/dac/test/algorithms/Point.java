@@ -17,6 +17,16 @@ public class Point {
         return Math.sqrt(dx * dx + dy * dy);
     }
     
+    /**
+     * Squared Euclidean distance. Preserves the ordering of {@link #distanceTo}
+     * without the square root, so comparisons in hot loops should use this.
+     */
+    public double distanceSquaredTo(Point other) {
+        double dx = this.x - other.x;
+        double dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
     @Override
     public String toString() {
         return String.format("(%.2f, %.2f)", x, y);
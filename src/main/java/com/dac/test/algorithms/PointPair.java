@@ -11,6 +11,13 @@ public class PointPair {
         this.distance = p1.distanceTo(p2);
     }
     
+    // Used when the caller already knows the distance
+    PointPair(Point p1, Point p2, double distance) {
+        this.p1 = p1;
+        this.p2 = p2;
+        this.distance = distance;
+    }
+    
     public double getDistance() {
         return distance;
     }
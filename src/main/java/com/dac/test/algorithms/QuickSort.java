@@ -1,7 +1,9 @@
 // QuickSort.java - Robust quicksort with optimizations
 package com.dac.algorithms;
 
-import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.AlgorithmEvents;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
 import com.dac.util.ArrayUtils;
 import java.util.Random;
 
@@ -9,23 +11,30 @@ public class QuickSort {
     private static final int INSERTION_SORT_CUTOFF = 16;
     private static final Random random = new Random();
     
-    public static void sort(int[] arr, AlgorithmMetrics metrics) {
+    public static void sort(int[] arr) {
+        sort(arr, NoOpMetrics.INSTANCE);
+    }
+    
+    public static void sort(int[] arr, MetricsSink metrics) {
         if (arr == null || arr.length <= 1) return;
         
+        AlgorithmEvents.Invocation event = new AlgorithmEvents.Invocation("QuickSort");
+        event.start(metrics, arr.length);
         metrics.startTiming();
         ArrayUtils.shuffle(arr); // Randomize to avoid worst case
         sort(arr, 0, arr.length - 1, metrics);
         metrics.endTiming();
+        event.finish(metrics);
     }
     
-    private static void sort(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static void sort(int[] arr, int lo, int hi, MetricsSink metrics) {
         while (hi > lo) {
             if (hi <= lo + INSERTION_SORT_CUTOFF) {
                 insertionSort(arr, lo, hi, metrics);
                 return;
             }
             
-            metrics.enterRecursion();
+            metrics.enterRecursion(lo, hi);
             
             // Randomized pivot selection
             int pivotIndex = lo + random.nextInt(hi - lo + 1);
@@ -46,7 +55,9 @@ public class QuickSort {
         }
     }
     
-    private static int partition(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static int partition(int[] arr, int lo, int hi, MetricsSink metrics) {
+        AlgorithmEvents.Partition event = AlgorithmEvents.startPartition(metrics, hi - lo + 1);
+        
         int pivot = arr[lo];
         int i = lo + 1;
         int j = hi;
@@ -62,10 +73,11 @@ public class QuickSort {
         }
         
         ArrayUtils.swap(arr, lo, j, metrics);
+        AlgorithmEvents.finish(event, metrics);
         return j;
     }
     
-    private static void insertionSort(int[] arr, int lo, int hi, AlgorithmMetrics metrics) {
+    private static void insertionSort(int[] arr, int lo, int hi, MetricsSink metrics) {
         for (int i = lo + 1; i <= hi; i++) {
             int key = arr[i];
             int j = i - 1;
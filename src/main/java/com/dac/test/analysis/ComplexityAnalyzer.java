@@ -0,0 +1,121 @@
+// File: src/main/java/com/dac/analysis/ComplexityAnalyzer.java
+package com.dac.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fits measured cost against input size to check a claimed complexity class.
+ * Each {@link ComplexityClass} is fitted as cost = c * f(n). The fit minimizes
+ * squared relative error, so small and large sizes carry equal weight. The power
+ * law cost = a * n^alpha is fitted by least squares on log cost against log n.
+ * The best class is the one with the lowest RMS relative residual. A departure
+ * means alpha is well above the exponent the expected class shows over the same
+ * sizes; see {@link ComplexityReport#isDeparture()}.
+ * <pre>
+ * ComplexityReport report = ComplexityAnalyzer.analyze("quicksort", "comparisons",
+ *         sizes, comparisons, ComplexityClass.N_LOG_N, ComplexityAnalyzer.COUNT_TOLERANCE);
+ * if (report.isDeparture()) System.err.println(report.getWarning());
+ * </pre>
+ */
+public final class ComplexityAnalyzer {
+    /** Exponent slack for operation counts, which barely vary between runs. */
+    public static final double COUNT_TOLERANCE = 0.15;
+    /** Exponent slack for wall-clock time, which also reflects caches and the JIT. */
+    public static final double TIME_TOLERANCE = 0.35;
+    private static final int MIN_SIZES = 3;
+    
+    private ComplexityAnalyzer() {}
+    
+    /**
+     * Fits values[i] measured at sizes[i]. Points with a non-positive value are
+     * dropped, since a zero time only means the timer was too coarse.
+     *
+     * @param expected the claimed class, or null to fit without checking
+     * @throws IllegalArgumentException if fewer than three distinct sizes remain
+     */
+    public static ComplexityReport analyze(String algorithm, String metric, double[] sizes, double[] values,
+                                           ComplexityClass expected, double tolerance) {
+        if (sizes.length != values.length) {
+            throw new IllegalArgumentException("Got " + sizes.length + " sizes but " + values.length + " values");
+        }
+        int kept = 0;
+        double[] n = new double[sizes.length];
+        double[] y = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            if (values[i] > 0 && sizes[i] > 1) {
+                n[kept] = sizes[i];
+                y[kept] = values[i];
+                kept++;
+            }
+        }
+        n = Arrays.copyOf(n, kept);
+        y = Arrays.copyOf(y, kept);
+        if (Arrays.stream(n).distinct().count() < MIN_SIZES) {
+            throw new IllegalArgumentException(algorithm + " " + metric + ": need at least " + MIN_SIZES
+                    + " distinct sizes with positive values, got " + kept + " points");
+        }
+        
+        List<ComplexityFit> fits = new ArrayList<>();
+        for (ComplexityClass model : ComplexityClass.values()) {
+            fits.add(fit(model, n, y));
+        }
+        fits.sort(Comparator.comparingDouble(ComplexityFit::getRmsError));
+        return new ComplexityReport(algorithm, metric, n, fits, fitPowerLaw(n, y), expected, tolerance);
+    }
+    
+    /** Fits values = c * model(sizes), minimizing the sum of ((value - c f) / value)^2. */
+    public static ComplexityFit fit(ComplexityClass model, double[] sizes, double[] values) {
+        // d/dc sum (1 - c f/y)^2 = 0  =>  c = sum(f/y) / sum((f/y)^2)
+        double numerator = 0, denominator = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double ratio = model.apply(sizes[i]) / values[i];
+            numerator += ratio;
+            denominator += ratio * ratio;
+        }
+        double c = numerator / denominator;
+        double[] residuals = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            residuals[i] = (values[i] - c * model.apply(sizes[i])) / values[i];
+        }
+        return new ComplexityFit(model, c, Double.NaN, residuals);
+    }
+    
+    /** Fits values = a * sizes^alpha by linear regression of log value on log size. */
+    public static ComplexityFit fitPowerLaw(double[] sizes, double[] values) {
+        double[] logN = new double[sizes.length];
+        double[] logY = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            logN[i] = Math.log(sizes[i]);
+            logY[i] = Math.log(values[i]);
+        }
+        double alpha = slope(logN, logY);
+        double logA = mean(logY) - alpha * mean(logN);
+        double[] residuals = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            residuals[i] = (values[i] - Math.exp(logA + alpha * logN[i])) / values[i];
+        }
+        return new ComplexityFit(null, Math.exp(logA), alpha, residuals);
+    }
+    
+    // Least-squares slope of y on x
+    static double slope(double[] x, double[] y) {
+        double meanX = mean(x), meanY = mean(y);
+        double covariance = 0, variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return covariance / variance;
+    }
+    
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+}
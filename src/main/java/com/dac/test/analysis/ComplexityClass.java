@@ -0,0 +1,51 @@
+// File: src/main/java/com/dac/analysis/ComplexityClass.java
+package com.dac.analysis;
+
+/** Candidate growth functions f(n) for fitting cost = c * f(n). */
+public enum ComplexityClass {
+    LINEAR("n") {
+        @Override
+        public double apply(double n) {
+            return n;
+        }
+    },
+    N_LOG_N("n log n") {
+        @Override
+        public double apply(double n) {
+            return n * Math.log(n) / Math.log(2);
+        }
+    },
+    QUADRATIC("n^2") {
+        @Override
+        public double apply(double n) {
+            return n * n;
+        }
+    };
+    
+    private final String label;
+    
+    ComplexityClass(String label) {
+        this.label = label;
+    }
+    
+    public abstract double apply(double n);
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * Slope of log f(n) against log n over sizes, the exponent a power-law fit
+     * should find for this class. It is 1 for n, 2 for n^2, and for n log n it is
+     * 1 + 1/ln n on average, about 1.14 for sizes 100 to 10000.
+     */
+    public double effectiveExponent(double[] sizes) {
+        double[] logN = new double[sizes.length];
+        double[] logF = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            logN[i] = Math.log(sizes[i]);
+            logF[i] = Math.log(apply(sizes[i]));
+        }
+        return ComplexityAnalyzer.slope(logN, logF);
+    }
+}
@@ -0,0 +1,45 @@
+// File: src/main/java/com/dac/analysis/ComplexityFit.java
+package com.dac.analysis;
+
+/**
+ * One fitted model: cost = coefficient * n^exponent for a power law, or
+ * coefficient * f(n) for a {@link ComplexityClass}. Residuals are relative,
+ * (measured - predicted) / measured, one per size.
+ */
+public class ComplexityFit {
+    private final ComplexityClass model;   // null for the power law
+    private final double coefficient;
+    private final double exponent;
+    private final double[] residuals;
+    private final double rmsError;
+    
+    ComplexityFit(ComplexityClass model, double coefficient, double exponent, double[] residuals) {
+        this.model = model;
+        this.coefficient = coefficient;
+        this.exponent = exponent;
+        this.residuals = residuals;
+        double sum = 0;
+        for (double r : residuals) {
+            sum += r * r;
+        }
+        this.rmsError = Math.sqrt(sum / residuals.length);
+    }
+    
+    /** The fitted class, or null for the power law. */
+    public ComplexityClass getModel() { return model; }
+    public double getCoefficient() { return coefficient; }
+    /** The fitted exponent for the power law; NaN for a fixed class. */
+    public double getExponent() { return exponent; }
+    public double[] getResiduals() { return residuals.clone(); }
+    /** Root mean square of the relative residuals: 0.05 means predictions are typically 5% off. */
+    public double getRmsError() { return rmsError; }
+    
+    public String getLabel() {
+        return model != null ? model.getLabel() : String.format("n^%.2f", exponent);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%.4g * %s (rms %.1f%%)", coefficient, getLabel(), rmsError * 100);
+    }
+}
@@ -0,0 +1,72 @@
+// File: src/main/java/com/dac/analysis/ComplexityReport.java
+package com.dac.analysis;
+
+import java.util.List;
+
+/** Fits of one measured cost of one algorithm over a size sweep. */
+public class ComplexityReport {
+    private final String algorithm;
+    private final String metric;
+    private final double[] sizes;
+    private final List<ComplexityFit> fits;
+    private final ComplexityFit powerLaw;
+    private final ComplexityClass expected;
+    private final double expectedExponent;
+    private final double tolerance;
+    
+    ComplexityReport(String algorithm, String metric, double[] sizes, List<ComplexityFit> fits,
+                     ComplexityFit powerLaw, ComplexityClass expected, double tolerance) {
+        this.algorithm = algorithm;
+        this.metric = metric;
+        this.sizes = sizes;
+        this.fits = fits;
+        this.powerLaw = powerLaw;
+        this.expected = expected;
+        this.expectedExponent = expected == null ? Double.NaN : expected.effectiveExponent(sizes);
+        this.tolerance = tolerance;
+    }
+    
+    public String getAlgorithm() { return algorithm; }
+    public String getMetric() { return metric; }
+    public double[] getSizes() { return sizes.clone(); }
+    /** Fits for every {@link ComplexityClass}, best first. */
+    public List<ComplexityFit> getFits() { return fits; }
+    public ComplexityFit getBestFit() { return fits.get(0); }
+    public ComplexityFit getPowerLaw() { return powerLaw; }
+    public ComplexityClass getExpected() { return expected; }
+    
+    /** Exponent the expected class would show over these sizes; NaN if none is expected. */
+    public double getExpectedExponent() { return expectedExponent; }
+    
+    /**
+     * True when the power-law exponent exceeds the expected class's exponent by more
+     * than the tolerance. Only faster growth counts. A lower exponent in a timing
+     * sweep usually means warm-up or fixed overhead at the small sizes.
+     */
+    public boolean isDeparture() {
+        return expected != null && powerLaw.getExponent() > expectedExponent + tolerance;
+    }
+    
+    /** A one-line warning if {@link #isDeparture()}, otherwise null. */
+    public String getWarning() {
+        if (!isDeparture()) return null;
+        return String.format("%s %s grows as %s, expected %s (n^%.2f over n = %.0f..%.0f); best fit is %s",
+                algorithm, metric, powerLaw.getLabel(), expected.getLabel(), expectedExponent,
+                sizes[0], sizes[sizes.length - 1], getBestFit().getLabel());
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s %s: best %s, power law %s", algorithm, metric, getBestFit(), powerLaw));
+        if (expected != null) {
+            sb.append(String.format(", expected %s = n^%.2f", expected.getLabel(), expectedExponent));
+        }
+        double[] residuals = getBestFit().getResiduals();
+        sb.append("; residuals");
+        for (int i = 0; i < sizes.length; i++) {
+            sb.append(String.format(" n=%.0f:%+.1f%%", sizes[i], residuals[i] * 100));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,71 @@
+// File: src/main/java/com/dac/analysis/ScalingSweep.java
+package com.dac.analysis;
+
+import com.dac.metrics.AlgorithmMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs of one algorithm across input sizes, reduced to the median time and
+ * comparison count at each size for {@link ComplexityAnalyzer}. Medians keep a
+ * single GC pause or JIT compilation from bending the fit.
+ */
+public class ScalingSweep {
+    private final String algorithm;
+    private final ComplexityClass expected;
+    private final Map<Integer, List<long[]>> runs = new TreeMap<>();
+    
+    /** @param expected the class the algorithm claims, or null */
+    public ScalingSweep(String algorithm, ComplexityClass expected) {
+        this.algorithm = algorithm;
+        this.expected = expected;
+    }
+    
+    public void record(int inputSize, AlgorithmMetrics metrics) {
+        record(inputSize, metrics.getExecutionTimeNs(), metrics.getComparisons());
+    }
+    
+    public void record(int inputSize, long timeNs, long comparisons) {
+        runs.computeIfAbsent(inputSize, k -> new ArrayList<>()).add(new long[] {timeNs, comparisons});
+    }
+    
+    public String getAlgorithm() { return algorithm; }
+    public ComplexityClass getExpected() { return expected; }
+    public int getSizeCount() { return runs.size(); }
+    
+    /** Fits time and comparisons, in that order. Comparisons are skipped if none were counted. */
+    public List<ComplexityReport> analyze() {
+        double[] sizes = new double[runs.size()];
+        double[] times = new double[runs.size()];
+        double[] comparisons = new double[runs.size()];
+        int i = 0;
+        for (Map.Entry<Integer, List<long[]>> entry : runs.entrySet()) {
+            sizes[i] = entry.getKey();
+            times[i] = median(entry.getValue(), 0);
+            comparisons[i] = median(entry.getValue(), 1);
+            i++;
+        }
+        
+        List<ComplexityReport> reports = new ArrayList<>();
+        reports.add(ComplexityAnalyzer.analyze(algorithm, "time", sizes, times, expected,
+                ComplexityAnalyzer.TIME_TOLERANCE));
+        if (Arrays.stream(comparisons).anyMatch(c -> c > 0)) {
+            reports.add(ComplexityAnalyzer.analyze(algorithm, "comparisons", sizes, comparisons, expected,
+                    ComplexityAnalyzer.COUNT_TOLERANCE));
+        }
+        return reports;
+    }
+    
+    private static double median(List<long[]> runs, int column) {
+        long[] values = new long[runs.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = runs.get(i)[column];
+        }
+        Arrays.sort(values);
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2.0;
+    }
+}
@@ -2,26 +2,73 @@
 package com.dac.cli;
 
 import com.dac.algorithms.*;
+import com.dac.analysis.ComplexityClass;
+import com.dac.analysis.ComplexityReport;
+import com.dac.analysis.ScalingSweep;
 import com.dac.metrics.*;
 import com.dac.util.ArrayUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class BatchBenchmark {
+    // Classes claimed in the README, checked against every size sweep
+    private static final Map<String, ComplexityClass> EXPECTED_COMPLEXITY = Map.of(
+            "mergesort", ComplexityClass.N_LOG_N,
+            "quicksort", ComplexityClass.N_LOG_N,
+            "quicksort_worst", ComplexityClass.N_LOG_N,
+            "select", ComplexityClass.LINEAR,
+            "closest", ComplexityClass.N_LOG_N);
+    
     private final MetricsCollector collector;
     private final CSVWriter csvWriter;
+    private ColumnarResultsWriter columnarRuns;
     
     public BatchBenchmark() {
         this.collector = new MetricsCollector();
         this.csvWriter = new CSVWriter();
+        // Live statistics for JConsole under com.dac.metrics:type=AlgorithmStats
+        MetricsJmx.register(collector);
     }
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         BatchBenchmark batch = new BatchBenchmark();
         
-        if (args.length > 0 && args[0].equals("--comprehensive")) {
-            batch.runComprehensiveBenchmark();
-        } else {
-            batch.runStandardBenchmark();
+        // --metrics-port <port> serves live results to Prometheus while the run lasts
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        PrometheusExporter exporter = null;
+        int portOption = options.indexOf("--metrics-port");
+        if (portOption >= 0 && portOption + 1 < options.size()) {
+            exporter = PrometheusExporter.start(batch.collector, Integer.parseInt(options.get(portOption + 1)));
+            options.subList(portOption, portOption + 2).clear();
+            System.out.printf("Serving metrics at http://127.0.0.1:%d/metrics%n", exporter.getPort());
+        }
+        // --binary also keeps every run in results/batch_runs.dacr (see ColumnarResultsReader)
+        if (options.remove("--binary")) {
+            batch.columnarRuns = new ColumnarResultsWriter(Paths.get("results", "batch_runs.dacr"));
+        }
+        String mode = options.isEmpty() ? "" : options.get(0);
+        
+        try {
+            if (mode.equals("--comprehensive")) {
+                batch.runComprehensiveBenchmark();
+            } else if (mode.equals("--levels")) {
+                batch.runLevelProfile();
+            } else if (mode.equals("--trace")) {
+                batch.runTrace();
+            } else if (mode.equals("--worst-case")) {
+                batch.runWorstCaseBenchmark();
+            } else {
+                batch.runStandardBenchmark();
+            }
+        } finally {
+            if (exporter != null) {
+                exporter.stop();
+            }
+            if (batch.columnarRuns != null) {
+                batch.columnarRuns.close();
+            }
         }
     }
     
@@ -39,6 +86,7 @@ public class BatchBenchmark {
         
         // Generate summary
         csvWriter.writeBenchmarkResults("batch_summary.csv", collector);
+        csvWriter.writeLatencyPercentiles("batch_latency.csv", collector);
         System.out.println("\nBatch benchmark complete! Results saved to results/");
     }
     
@@ -67,57 +115,132 @@ public class BatchBenchmark {
         runAlgorithmBenchmark("closest", closestSizes, 10);
         
         csvWriter.writeBenchmarkResults("comprehensive_summary.csv", collector);
+        csvWriter.writeLatencyPercentiles("comprehensive_latency.csv", collector);
         System.out.println("\nComprehensive benchmark complete!");
     }
     
-    private void runAlgorithmBenchmark(String algorithm, int[] sizes, int iterations) {
-        List<AlgorithmMetrics> allMetrics = new ArrayList<>();
-        List<Integer> allSizes = new ArrayList<>();
+    /**
+     * One profiled run per algorithm, with comparisons, swaps and time broken down
+     * by recursion level. Writes results/<algorithm>_levels.csv.
+     */
+    public void runLevelProfile() {
+        String[] algorithms = {"mergesort", "quicksort", "select", "closest"};
+        int size = 100_000;
         
-        for (int size : sizes) {
-            System.out.printf("  Size %d: ", size);
+        System.out.println("=== Per-Level Profile (n = " + size + ") ===");
+        
+        for (String algorithm : algorithms) {
+            AlgorithmMetrics metrics = new AlgorithmMetrics(algorithm);
+            LevelProfile profile = metrics.enableLevelProfiling();
+            runOnce(algorithm, size, metrics);
+            csvWriter.writeLevelProfile(algorithm + "_levels.csv", metrics, size);
+            
+            System.out.printf("%n--- %s ---%n%6s %10s %14s %12s%n",
+                    algorithm.toUpperCase(), "Level", "Calls", "Comparisons", "Self ms");
+            for (int level = 0; level < profile.getLevels(); level++) {
+                System.out.printf("%6d %10d %14d %12.3f%n", level, profile.getCalls(level),
+                        profile.getComparisons(level), profile.getSelfTimeNs(level) / 1_000_000.0);
+            }
+        }
+    }
+    
+    /**
+     * One traced run per algorithm. Writes results/<algorithm>_trace.json in Chrome
+     * trace format; open it in ui.perfetto.dev to browse the recursion tree.
+     */
+    public void runTrace() {
+        String[] algorithms = {"mergesort", "quicksort", "select", "closest"};
+        int size = 100_000;
+        
+        System.out.println("=== Recursion Trace (n = " + size + ") ===");
+        
+        for (String algorithm : algorithms) {
+            AlgorithmMetrics metrics = new AlgorithmMetrics(algorithm);
+            RecursionTracer tracer = metrics.enableTracing(new RecursionTracer(1 << 17));
+            runOnce(algorithm, size, metrics);
             
-            for (int i = 0; i < iterations; i++) {
-                AlgorithmMetrics metrics = collector.startCollection(algorithm);
+            Path file = Paths.get("results", algorithm + "_trace.json");
+            try {
+                tracer.writeChromeTrace(file, algorithm);
+                System.out.printf("  %s: %d calls (%d dropped) -> %s%n",
+                        algorithm, tracer.getEventCount(), tracer.getDroppedCount(), file);
+            } catch (IOException e) {
+                System.err.println("Failed to write trace: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void runOnce(String algorithm, int size, AlgorithmMetrics metrics) {
+        switch (algorithm) {
+            case "mergesort":
+                benchmarkMergeSort(size, metrics);
+                break;
+            case "quicksort":
+                benchmarkQuickSort(size, metrics);
+                break;
+            case "select":
+                benchmarkSelect(size, metrics);
+                break;
+            case "closest":
+                benchmarkClosestPair(size, metrics);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+    
+    private void runAlgorithmBenchmark(String algorithm, int[] sizes, int iterations) {
+        ScalingSweep sweep = new ScalingSweep(algorithm, EXPECTED_COMPLEXITY.get(algorithm));
+        // Individual runs are formatted and written on a background thread, off the timed loop
+        try (AsyncCSVWriter runs = csvWriter.openAsync(CSVWriter.timestampedName(algorithm + "_batch"))) {
+            for (int size : sizes) {
+                System.out.printf("  Size %d: ", size);
                 
-                try {
-                    switch (algorithm) {
-                        case "mergesort":
-                            benchmarkMergeSort(size, metrics);
-                            break;
-                        case "quicksort":
-                            benchmarkQuickSort(size, metrics);
-                            break;
-                        case "select":
-                            benchmarkSelect(size, metrics);
-                            break;
-                        case "closest":
-                            benchmarkClosestPair(size, metrics);
-                            break;
-                        default:
-                            throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+                for (int i = 0; i < iterations; i++) {
+                    AlgorithmMetrics metrics = collector.startCollection(algorithm);
+                    
+                    try {
+                        runOnce(algorithm, size, metrics);
+                    } catch (Exception e) {
+                        System.err.printf("Error in %s with size %d: %s%n", algorithm, size, e.getMessage());
+                        continue;
+                    }
+                    
+                    collector.endCollection(algorithm, size);
+                    sweep.record(size, metrics);
+                    runs.append(metrics, size);
+                    if (columnarRuns != null) {
+                        columnarRuns.append(metrics, size);
                     }
-                } catch (Exception e) {
-                    System.err.printf("Error in %s with size %d: %s%n", algorithm, size, e.getMessage());
-                    continue;
                 }
                 
-                collector.endCollection(algorithm);
-                allMetrics.add(metrics);
-                allSizes.add(size);
+                // Print average for this size
+                LatencyHistogram latency = collector.getLatencyHistogram(algorithm, size);
+                System.out.printf("%.2f ms avg, %.2f ms p99%n", latency.getMean() / 1_000_000.0,
+                        latency.getP99() / 1_000_000.0);
             }
-            
-            // Print average for this size
-            double avgTime = collector.getHistory(algorithm).stream()
-                    .skip(Math.max(0, collector.getHistory(algorithm).size() - iterations))
-                    .mapToLong(AlgorithmMetrics::getExecutionTimeNs)
-                    .average().orElse(0.0);
-            
-            System.out.printf("%.2f ms avg%n", avgTime / 1_000_000.0);
+        } catch (IOException e) {
+            System.err.println("Failed to write " + algorithm + " results: " + e.getMessage());
+        }
+        printScaling(sweep);
+    }
+    
+    /** Fits the sweep's medians to n, n log n, n^2 and a power law, and warns on a departure. */
+    private void printScaling(ScalingSweep sweep) {
+        if (sweep.getSizeCount() < 3) return;
+        try {
+            for (ComplexityReport report : sweep.analyze()) {
+                System.out.printf("  Scaling %-13s best %-8s %s, expected %s%n", report.getMetric() + ":",
+                        report.getBestFit().getLabel(), report.getPowerLaw(),
+                        report.getExpected() == null ? "-"
+                                : String.format("n^%.2f", report.getExpectedExponent()));
+                if (report.isDeparture()) {
+                    System.out.println("  WARNING: " + report.getWarning());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("  Scaling not fitted: " + e.getMessage());
         }
-        
-        // Save individual algorithm results
-        csvWriter.writeMetricsWithTimestamp(algorithm + "_batch", allMetrics, allSizes);
     }
     
     // Individual algorithm benchmarking methods
@@ -139,7 +262,7 @@ public class BatchBenchmark {
     
     private void benchmarkClosestPair(int size, AlgorithmMetrics metrics) {
         Point[] points = ArrayUtils.generateRandomPoints(size);
-        new ClosestPair().findClosestDistance(points, metrics);
+        ClosestPair.findClosestPair(points, metrics);
     }
     
     // Specialized benchmarks
@@ -149,14 +272,17 @@ public class BatchBenchmark {
         
         // QuickSort worst case
         System.out.println("\n-- QuickSort Worst Case --");
+        ScalingSweep sweep = new ScalingSweep("quicksort_worst", EXPECTED_COMPLEXITY.get("quicksort_worst"));
         for (int size : sizes) {
             AlgorithmMetrics metrics = collector.startCollection("quicksort_worst");
             int[] arr = ArrayUtils.generateWorstCaseQuickSort(size);
             new QuickSort().sort(arr, metrics);
             collector.endCollection("quicksort_worst");
+            sweep.record(size, metrics);
             System.out.printf("Size %d: %.2f ms, Depth: %d%n", 
                     size, metrics.getExecutionTimeMs(), metrics.getMaxDepth());
         }
+        printScaling(sweep);
     }
     
     public void runSelectComparison() {
@@ -5,11 +5,20 @@ import com.dac.algorithms.*;
 import com.dac.metrics.*;
 import com.dac.util.ArrayUtils;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class BenchmarkRunner {
+    private static final MetricsCollector collector = new MetricsCollector();
     
     public static void main(String[] args) {
+        // Live statistics for JConsole under com.dac.metrics:type=AlgorithmStats
+        MetricsJmx.register(collector);
+        
         if (args.length == 0) {
             runFullBenchmark();
         } else {
@@ -23,41 +32,42 @@ public class BenchmarkRunner {
         System.out.println("Running comprehensive benchmark suite...");
         
         int[] sizes = {100, 500, 1000, 2000, 5000, 10000, 20000, 50000};
-        CSVWriter csvWriter = new CSVWriter("results/benchmark_results.csv");
-        csvWriter.setHeaders("Algorithm", "InputSize", "InputType", "TimeMs", "MaxDepth", 
-                           "Comparisons", "Swaps", "MemoryAllocations");
+        List<String> rows = new ArrayList<>();
+        rows.add("Algorithm,InputSize,InputType,TimeMs,MaxDepth,Comparisons,Swaps,MemoryAllocations");
         
         for (int size : sizes) {
             System.out.printf("Benchmarking size: %d%n", size);
             
             // Test different input types
-            benchmarkSorting(csvWriter, size, "Random", ArrayUtils.generateRandomArray(size));
-            benchmarkSorting(csvWriter, size, "Sorted", ArrayUtils.generateSortedArray(size));
-            benchmarkSorting(csvWriter, size, "Reverse", ArrayUtils.generateReverseSortedArray(size));
+            benchmarkSorting(rows, size, "Random", ArrayUtils.generateRandomArray(size));
+            benchmarkSorting(rows, size, "Sorted", ArrayUtils.generateSortedArray(size));
+            benchmarkSorting(rows, size, "Reverse", ArrayUtils.generateReverseSortedArray(size));
             
             // Benchmark Select
-            benchmarkSelect(csvWriter, size);
+            benchmarkSelect(rows, size);
             
             // Benchmark Closest Pair (smaller sizes due to complexity)
             if (size <= 10000) {
-                benchmarkClosestPair(csvWriter, size);
+                benchmarkClosestPair(rows, size);
             }
         }
         
         try {
-            csvWriter.writeToFile();
+            Path output = Paths.get("results/benchmark_results.csv");
+            Files.createDirectories(output.getParent());
+            Files.write(output, rows);
             System.out.println("Results written to results/benchmark_results.csv");
         } catch (IOException e) {
             System.err.println("Error writing results: " + e.getMessage());
         }
     }
     
-    private static void benchmarkSorting(CSVWriter csvWriter, int size, String inputType, int[] baseArray) {
+    private static void benchmarkSorting(List<String> rows, int size, String inputType, int[] baseArray) {
         String[] algorithms = {"MergeSort", "QuickSort"};
         
         for (String algorithm : algorithms) {
             int[] arr = ArrayUtils.copyArray(baseArray);
-            AlgorithmMetrics metrics = new AlgorithmMetrics();
+            AlgorithmMetrics metrics = collector.startCollection(algorithm);
             
             switch (algorithm) {
                 case "MergeSort":
@@ -67,13 +77,14 @@ public class BenchmarkRunner {
                     QuickSort.sort(arr, metrics);
                     break;
             }
+            collector.endCollection(algorithm, size);
             
             // Verify correctness
             if (!ArrayUtils.isSorted(arr)) {
                 System.err.println("ERROR: " + algorithm + " failed to sort array correctly!");
             }
             
-            csvWriter.addRow(
+            rows.add(String.join(",",
                 algorithm,
                 String.valueOf(size),
                 inputType,
@@ -81,17 +92,18 @@ public class BenchmarkRunner {
                 String.valueOf(metrics.getMaxDepth()),
                 String.valueOf(metrics.getComparisons()),
                 String.valueOf(metrics.getSwaps()),
-                String.valueOf(metrics.getMemoryAllocations())
-            );
+                String.valueOf(metrics.getAllocations())
+            ));
         }
     }
     
-    private static void benchmarkSelect(CSVWriter csvWriter, int size) {
+    private static void benchmarkSelect(List<String> rows, int size) {
         int[] arr = ArrayUtils.generateRandomArray(size);
         int k = size / 2; // Find median
         
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("DeterministicSelect");
         int result = DeterministicSelect.select(ArrayUtils.copyArray(arr), k, metrics);
+        collector.endCollection("DeterministicSelect", size);
         
         // Verify correctness
         int[] sorted = ArrayUtils.copyArray(arr);
@@ -100,7 +112,7 @@ public class BenchmarkRunner {
             System.err.println("ERROR: DeterministicSelect returned incorrect result!");
         }
         
-        csvWriter.addRow(
+        rows.add(String.join(",",
             "DeterministicSelect",
             String.valueOf(size),
             "Random",
@@ -108,19 +120,20 @@ public class BenchmarkRunner {
             String.valueOf(metrics.getMaxDepth()),
             String.valueOf(metrics.getComparisons()),
             String.valueOf(metrics.getSwaps()),
-            String.valueOf(metrics.getMemoryAllocations())
-        );
+            String.valueOf(metrics.getAllocations())
+        ));
     }
     
-    private static void benchmarkClosestPair(CSVWriter csvWriter, int size) {
+    private static void benchmarkClosestPair(List<String> rows, int size) {
         Point[] points = ClosestPair.generateRandomPoints(size);
         
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("ClosestPair");
         PointPair result = ClosestPair.findClosestPair(points, metrics);
+        collector.endCollection("ClosestPair", size);
         
         // Verify with brute force for smaller sizes
         if (size <= 2000) {
-            AlgorithmMetrics bruteMetrics = new AlgorithmMetrics();
+            AlgorithmMetrics bruteMetrics = new AlgorithmMetrics("BruteForce");
             PointPair bruteResult = ClosestPair.bruteForceClosestPair(points, bruteMetrics);
             
             if (Math.abs(result.distance - bruteResult.distance) > 1e-9) {
@@ -128,7 +141,7 @@ public class BenchmarkRunner {
             }
         }
         
-        csvWriter.addRow(
+        rows.add(String.join(",",
             "ClosestPair",
             String.valueOf(size),
             "Random",
@@ -136,8 +149,8 @@ public class BenchmarkRunner {
             String.valueOf(metrics.getMaxDepth()),
             String.valueOf(metrics.getComparisons()),
             String.valueOf(metrics.getSwaps()),
-            String.valueOf(metrics.getMemoryAllocations())
-        );
+            String.valueOf(metrics.getAllocations())
+        ));
     }
     
     public static void runSingleBenchmark(String algorithm, int size) {
@@ -164,27 +177,29 @@ public class BenchmarkRunner {
     
     private static void testMergeSort(int size) {
         int[] arr = ArrayUtils.generateRandomArray(size);
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("MergeSort");
         
         System.out.println("Before: " + (size <= 20 ? Arrays.toString(arr) : "Array of size " + size));
         
         MergeSort.sort(arr, metrics);
+        collector.endCollection("MergeSort", size);
         
         System.out.println("After: " + (size <= 20 ? Arrays.toString(arr) : "Sorted array of size " + size));
         System.out.printf("Time: %.3f ms%n", metrics.getExecutionTimeMs());
         System.out.printf("Max Depth: %d%n", metrics.getMaxDepth());
         System.out.printf("Comparisons: %d%n", metrics.getComparisons());
-        System.out.printf("Memory Allocations: %d%n", metrics.getMemoryAllocations());
+        System.out.printf("Memory Allocations: %d%n", metrics.getAllocations());
         System.out.printf("Correctly sorted: %b%n", ArrayUtils.isSorted(arr));
     }
     
     private static void testQuickSort(int size) {
         int[] arr = ArrayUtils.generateRandomArray(size);
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("QuickSort");
         
         System.out.println("Before: " + (size <= 20 ? Arrays.toString(arr) : "Array of size " + size));
         
         QuickSort.sort(arr, metrics);
+        collector.endCollection("QuickSort", size);
         
         System.out.println("After: " + (size <= 20 ? Arrays.toString(arr) : "Sorted array of size " + size));
         System.out.printf("Time: %.3f ms%n", metrics.getExecutionTimeMs());
@@ -205,8 +220,9 @@ public class BenchmarkRunner {
         
         System.out.println("Finding " + k + "th smallest element in array of size " + size);
         
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("DeterministicSelect");
         int result = DeterministicSelect.select(ArrayUtils.copyArray(arr), k, metrics);
+        collector.endCollection("DeterministicSelect", size);
         
         // Verify correctness
         Arrays.sort(arr);
@@ -224,8 +240,9 @@ public class BenchmarkRunner {
         
         System.out.printf("Finding closest pair among %d points%n", size);
         
-        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        AlgorithmMetrics metrics = collector.startCollection("ClosestPair");
         PointPair result = ClosestPair.findClosestPair(points, metrics);
+        collector.endCollection("ClosestPair", size);
         
         System.out.printf("Closest pair: %s and %s%n", result.p1, result.p2);
         System.out.printf("Distance: %.6f%n", result.distance);
@@ -235,7 +252,7 @@ public class BenchmarkRunner {
         
         // Verify with brute force for smaller sizes
         if (size <= 2000) {
-            AlgorithmMetrics bruteMetrics = new AlgorithmMetrics();
+            AlgorithmMetrics bruteMetrics = new AlgorithmMetrics("BruteForce");
             PointPair bruteResult = ClosestPair.bruteForceClosestPair(points, bruteMetrics);
             System.out.printf("Brute force distance: %.6f%n", bruteResult.distance);
             System.out.printf("Results match: %b%n", 
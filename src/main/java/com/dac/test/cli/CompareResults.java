@@ -0,0 +1,460 @@
+// File: src/main/java/com/dac/cli/CompareResults.java
+package com.dac.cli;
+
+import com.dac.metrics.ColumnarResultsReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Compares two benchmark results files and exits non-zero on a significant
+ * regression:
+ * <pre>
+ * java com.dac.cli.CompareResults [--alpha 0.05] [--threshold 5] baseline candidate
+ * </pre>
+ * Accepted inputs:
+ * <ul>
+ *   <li>per-run CSV from CSVWriter or BenchmarkRunner (Time_ns or TimeMs column);</li>
+ *   <li>.dacr files from ColumnarResultsWriter;</li>
+ *   <li>JMH JSON from -rf json, using each iteration's raw score.</li>
+ * </ul>
+ * Rows are matched by algorithm, input size and input type.
+ *
+ * <p>For each match, the raw samples are compared with a two-sided Mann-Whitney U
+ * test. The test is exact for small samples without ties and uses the normal
+ * approximation otherwise. A percentile bootstrap gives a 95% interval for the
+ * ratio of medians. A row is a regression when p &lt; alpha, the median is worse
+ * by more than the threshold percentage, and the interval excludes 1. Exit codes:
+ * 0 no regression, 1 regression, 2 bad arguments or input.
+ */
+public class CompareResults {
+    static final int EXIT_OK = 0;
+    static final int EXIT_REGRESSION = 1;
+    static final int EXIT_ERROR = 2;
+    
+    private static final int MIN_SAMPLES = 3;
+    private static final int BOOTSTRAP_RESAMPLES = 2000;
+    private static final int EXACT_LIMIT = 40;
+    
+    /** Identity of one benchmark, used to match the two files. */
+    static final class Key implements Comparable<Key> {
+        final String algorithm;
+        final int inputSize;      // -1 when the file has no size
+        final String inputType;   // empty when the file has no type
+        
+        Key(String algorithm, int inputSize, String inputType) {
+            this.algorithm = algorithm;
+            this.inputSize = inputSize;
+            this.inputType = inputType;
+        }
+        
+        @Override
+        public int compareTo(Key other) {
+            int c = algorithm.compareTo(other.algorithm);
+            if (c != 0) return c;
+            c = Integer.compare(inputSize, other.inputSize);
+            return c != 0 ? c : inputType.compareTo(other.inputType);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return algorithm.equals(k.algorithm) && inputSize == k.inputSize && inputType.equals(k.inputType);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, inputSize, inputType);
+        }
+    }
+    
+    /** Raw samples of one benchmark in a normalized unit. */
+    static final class Samples {
+        final String unit;
+        final boolean higherIsBetter;
+        final List<Double> values = new ArrayList<>();
+        
+        Samples(String unit, boolean higherIsBetter) {
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+        
+        double[] toArray() {
+            double[] array = new double[values.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+            return array;
+        }
+    }
+    
+    enum Verdict { REGRESSION, IMPROVEMENT, UNCHANGED, INSUFFICIENT }
+    
+    static final class Comparison {
+        final Key key;
+        final String unit;
+        final int baseCount, candidateCount;
+        final double baseMedian, candidateMedian;
+        final double ciLow, ciHigh, pValue;
+        final Verdict verdict;
+        
+        Comparison(Key key, String unit, int baseCount, int candidateCount, double baseMedian,
+                   double candidateMedian, double ciLow, double ciHigh, double pValue, Verdict verdict) {
+            this.key = key;
+            this.unit = unit;
+            this.baseCount = baseCount;
+            this.candidateCount = candidateCount;
+            this.baseMedian = baseMedian;
+            this.candidateMedian = candidateMedian;
+            this.ciLow = ciLow;
+            this.ciHigh = ciHigh;
+            this.pValue = pValue;
+            this.verdict = verdict;
+        }
+        
+        double change() {
+            return candidateMedian / baseMedian - 1.0;
+        }
+    }
+    
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+    
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        double alpha = 0.05;
+        double thresholdPercent = 5.0;
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--alpha") && i + 1 < args.length) {
+                    alpha = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--threshold") && i + 1 < args.length) {
+                    thresholdPercent = Double.parseDouble(args[++i]);
+                } else {
+                    files.add(args[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            err.println("Invalid number: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+        if (files.size() != 2 || alpha <= 0 || alpha >= 1 || thresholdPercent < 0) {
+            err.println("Usage: CompareResults [--alpha 0.05] [--threshold 5] <baseline> <candidate>");
+            return EXIT_ERROR;
+        }
+        
+        Map<Key, Samples> baseline, candidate;
+        try {
+            baseline = load(Paths.get(files.get(0)));
+            candidate = load(Paths.get(files.get(1)));
+        } catch (IOException | IllegalArgumentException | ClassCastException e) {
+            err.println("Failed to read results: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+        
+        Random random = new Random(42);
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<Key, Samples> entry : baseline.entrySet()) {
+            Samples other = candidate.get(entry.getKey());
+            if (other == null) {
+                out.println("Only in baseline: " + describe(entry.getKey()));
+            } else if (!other.unit.equals(entry.getValue().unit)) {
+                out.println("Units differ, skipped: " + describe(entry.getKey()));
+            } else {
+                comparisons.add(compare(entry.getKey(), entry.getValue(), other, alpha, thresholdPercent / 100.0, random));
+            }
+        }
+        for (Key key : candidate.keySet()) {
+            if (!baseline.containsKey(key)) {
+                out.println("Only in candidate: " + describe(key));
+            }
+        }
+        
+        print(out, comparisons);
+        long regressions = comparisons.stream().filter(c -> c.verdict == Verdict.REGRESSION).count();
+        out.printf(Locale.ROOT, "%n%d compared, %d regression(s) at alpha=%.3f, threshold=%.1f%%%n",
+                comparisons.size(), regressions, alpha, thresholdPercent);
+        return regressions > 0 ? EXIT_REGRESSION : EXIT_OK;
+    }
+    
+    private static String describe(Key key) {
+        return key.algorithm + (key.inputSize >= 0 ? " n=" + key.inputSize : "")
+                + (key.inputType.isEmpty() ? "" : " " + key.inputType);
+    }
+    
+    private static void print(PrintStream out, List<Comparison> comparisons) {
+        out.printf(Locale.ROOT, "%-34s %8s %-10s %5s %5s %14s %14s %8s %17s %8s  %s%n",
+                "Algorithm", "Size", "Type", "nBase", "nCand", "BaseMedian", "CandMedian", "Change",
+                "95% CI (ratio)", "p", "Verdict");
+        for (Comparison c : comparisons) {
+            out.printf(Locale.ROOT, "%-34s %8s %-10s %5d %5d %14.1f %14.1f %+7.1f%% [%6.3f, %6.3f] %8.4f  %s %s%n",
+                    c.key.algorithm, c.key.inputSize >= 0 ? String.valueOf(c.key.inputSize) : "-",
+                    c.key.inputType.isEmpty() ? "-" : c.key.inputType, c.baseCount, c.candidateCount,
+                    c.baseMedian, c.candidateMedian, c.change() * 100, c.ciLow, c.ciHigh, c.pValue,
+                    c.verdict, c.unit);
+        }
+    }
+    
+    static Comparison compare(Key key, Samples base, Samples candidate, double alpha, double threshold,
+                              Random random) {
+        double[] a = base.toArray();
+        double[] b = candidate.toArray();
+        double baseMedian = a.length == 0 ? Double.NaN : median(a);
+        double candidateMedian = b.length == 0 ? Double.NaN : median(b);
+        if (a.length < MIN_SAMPLES || b.length < MIN_SAMPLES || !(baseMedian > 0)) {
+            return new Comparison(key, base.unit, a.length, b.length, baseMedian, candidateMedian,
+                    Double.NaN, Double.NaN, Double.NaN, Verdict.INSUFFICIENT);
+        }
+        
+        double p = mannWhitneyPValue(a, b);
+        double[] ci = bootstrapRatioInterval(a, b, BOOTSTRAP_RESAMPLES, 0.95, random);
+        double change = candidateMedian / baseMedian - 1.0;
+        // Express both directions as "worse" for the metric at hand
+        boolean worse = base.higherIsBetter ? change < -threshold && ci[1] < 1.0 : change > threshold && ci[0] > 1.0;
+        boolean better = base.higherIsBetter ? change > threshold && ci[0] > 1.0 : change < -threshold && ci[1] < 1.0;
+        Verdict verdict = p >= alpha ? Verdict.UNCHANGED
+                : worse ? Verdict.REGRESSION
+                : better ? Verdict.IMPROVEMENT
+                : Verdict.UNCHANGED;
+        return new Comparison(key, base.unit, a.length, b.length, baseMedian, candidateMedian,
+                ci[0], ci[1], p, verdict);
+    }
+    
+    // ---- Statistics ----
+    
+    static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+    
+    /** Two-sided p-value of the Mann-Whitney U test for a difference in location. */
+    static double mannWhitneyPValue(double[] a, double[] b) {
+        int n1 = a.length, n2 = b.length, n = n1 + n2;
+        double[] values = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i < n1 ? a[i] : b[i - n1];
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(values[x], values[y]));
+        
+        // Midranks for ties
+        double rankSumA = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && values[order[j + 1]] == values[order[i]]) j++;
+            double rank = (i + j) / 2.0 + 1;
+            int t = j - i + 1;
+            tieTerm += (double) t * t * t - t;
+            for (int k = i; k <= j; k++) {
+                if (order[k] < n1) rankSumA += rank;
+            }
+            i = j + 1;
+        }
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        
+        if (tieTerm == 0 && n <= EXACT_LIMIT) {
+            return exactPValue(n1, n2, Math.round(u));
+        }
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) return 1.0;
+        double z = Math.max(0, Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1.0, erfc(z / Math.sqrt(2)));
+    }
+    
+    // Exact null distribution of U, counting arrangements with count[i][j][u] = count[i-1][j][u-j] + count[i][j-1][u]
+    private static double exactPValue(int n1, int n2, long u) {
+        int maxU = n1 * n2;
+        double[][] previous = new double[n2 + 1][];
+        for (int j = 0; j <= n2; j++) {
+            previous[j] = new double[maxU + 1];
+            previous[j][0] = 1;   // i = 0: one arrangement, U = 0
+        }
+        for (int i = 1; i <= n1; i++) {
+            double[][] current = new double[n2 + 1][maxU + 1];
+            current[0][0] = 1;
+            for (int j = 1; j <= n2; j++) {
+                for (int k = 0; k <= i * j; k++) {
+                    double fromA = k >= j ? previous[j][k - j] : 0;
+                    current[j][k] = fromA + current[j - 1][k];
+                }
+            }
+            previous = current;
+        }
+        double[] counts = previous[n2];
+        double total = 0, tail = 0;
+        long low = Math.min(u, maxU - u);
+        for (int k = 0; k <= maxU; k++) {
+            total += counts[k];
+            if (k <= low) tail += counts[k];
+        }
+        return Math.min(1.0, 2 * tail / total);
+    }
+    
+    /** Percentile bootstrap interval for median(candidate) / median(base). */
+    static double[] bootstrapRatioInterval(double[] base, double[] candidate, int resamples, double confidence,
+                                           Random random) {
+        double[] ratios = new double[resamples];
+        double[] a = new double[base.length];
+        double[] b = new double[candidate.length];
+        for (int r = 0; r < resamples; r++) {
+            for (int i = 0; i < a.length; i++) a[i] = base[random.nextInt(base.length)];
+            for (int i = 0; i < b.length; i++) b[i] = candidate[random.nextInt(candidate.length)];
+            ratios[r] = median(b) / median(a);
+        }
+        Arrays.sort(ratios);
+        double tail = (1 - confidence) / 2;
+        int lo = (int) Math.floor(tail * (resamples - 1));
+        int hi = (int) Math.ceil((1 - tail) * (resamples - 1));
+        return new double[] {ratios[lo], ratios[hi]};
+    }
+    
+    // Complementary error function, fractional error below 1.2e-7 (Numerical Recipes erfcc)
+    static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2.0 - r;
+    }
+    
+    // ---- Input formats ----
+    
+    static Map<Key, Samples> load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".json")) return loadJmh(file);
+        if (name.endsWith(".dacr")) return loadColumnar(file);
+        return loadCsv(file);
+    }
+    
+    private static Map<Key, Samples> loadCsv(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException("Empty file: " + file);
+        }
+        List<String> header = Arrays.asList(lines.get(0).split(","));
+        int algorithm = header.indexOf("Algorithm");
+        int size = header.indexOf("InputSize");
+        int type = header.indexOf("InputType");
+        int time = header.indexOf("Time_ns");
+        double scale = 1;
+        if (time < 0 && (time = header.indexOf("TimeMs")) >= 0) {
+            scale = 1_000_000;
+        }
+        if (algorithm < 0 || time < 0) {
+            throw new IOException(file + " needs Algorithm and Time_ns or TimeMs columns");
+        }
+        
+        Map<Key, Samples> samples = new TreeMap<>();
+        for (int line = 1; line < lines.size(); line++) {
+            if (lines.get(line).isEmpty()) continue;
+            String[] fields = lines.get(line).split(",", -1);
+            try {
+                Key key = new Key(fields[algorithm], size >= 0 ? Integer.parseInt(fields[size]) : -1,
+                        type >= 0 ? fields[type] : "");
+                samples.computeIfAbsent(key, k -> new Samples("ns", false))
+                        .values.add(Double.parseDouble(fields[time]) * scale);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException(file + ":" + (line + 1) + ": malformed row", e);
+            }
+        }
+        return samples;
+    }
+    
+    private static Map<Key, Samples> loadColumnar(Path file) throws IOException {
+        ColumnarResultsReader reader = ColumnarResultsReader.open(file);
+        ColumnarResultsReader.Column size = reader.getColumn("InputSize");
+        ColumnarResultsReader.Column time = reader.getColumn("Time_ns");
+        Map<Key, Samples> samples = new TreeMap<>();
+        for (int row = 0; row < reader.getRowCount(); row++) {
+            Key key = new Key(reader.getAlgorithm(row), (int) size.get(row), "");
+            samples.computeIfAbsent(key, k -> new Samples("ns", false)).values.add((double) time.get(row));
+        }
+        return samples;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Samples> loadJmh(Path file) throws IOException {
+        Object root = Json.parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        if (!(root instanceof List)) {
+            throw new IOException(file + " is not a JMH JSON result array");
+        }
+        Map<Key, Samples> samples = new TreeMap<>();
+        for (Object item : (List<Object>) root) {
+            Map<String, Object> result = (Map<String, Object>) item;
+            String benchmark = (String) result.get("benchmark");
+            String mode = (String) result.get("mode");
+            Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+            if (benchmark == null || metric == null) {
+                throw new IOException(file + " has a result without benchmark or primaryMetric");
+            }
+            
+            // Drop the package: com.dac.benchmarks.SortingBenchmark.mergeSort -> SortingBenchmark.mergeSort
+            String[] parts = benchmark.split("\\.");
+            String algorithm = parts.length >= 2 ? parts[parts.length - 2] + "." + parts[parts.length - 1] : benchmark;
+            int inputSize = -1;
+            StringBuilder inputType = new StringBuilder();
+            Map<String, Object> params = (Map<String, Object>) result.get("params");
+            if (params != null) {
+                for (Map.Entry<String, Object> param : new TreeMap<>(params).entrySet()) {
+                    if (param.getKey().equals("size") && inputSize < 0) {
+                        inputSize = Integer.parseInt(String.valueOf(param.getValue()));
+                    } else {
+                        if (inputType.length() > 0) inputType.append(';');
+                        inputType.append(param.getKey()).append('=').append(param.getValue());
+                    }
+                }
+            }
+            
+            boolean throughput = "thrpt".equals(mode);
+            String unit = String.valueOf(metric.get("scoreUnit"));
+            double scale = unitScale(unit);
+            Samples s = samples.computeIfAbsent(new Key(algorithm, inputSize, inputType.toString()),
+                    k -> new Samples(throughput ? "ops/s" : "ns/op", throughput));
+            List<Object> forks = (List<Object>) metric.get("rawData");
+            if (forks != null) {
+                for (Object fork : forks) {
+                    for (Object value : (List<Object>) fork) {
+                        if (value instanceof Number) {   // JMH writes NaN as a string
+                            s.values.add(((Number) value).doubleValue() * scale);
+                        }
+                    }
+                }
+            } else if (metric.get("score") instanceof Number) {
+                s.values.add(((Number) metric.get("score")).doubleValue() * scale);
+            }
+        }
+        return samples;
+    }
+    
+    // Normalizes JMH units to ns/op for time modes and ops/s for throughput
+    private static double unitScale(String unit) {
+        switch (unit) {
+            case "s/op": return 1e9;
+            case "ms/op": return 1e6;
+            case "us/op": return 1e3;
+            case "ops/ms": return 1e3;
+            case "ops/us": return 1e6;
+            case "ops/ns": return 1e9;
+            default: return 1;   // ns/op, ops/s
+        }
+    }
+}
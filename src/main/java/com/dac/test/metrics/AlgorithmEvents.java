@@ -0,0 +1,147 @@
+// File: src/main/java/com/dac/metrics/AlgorithmEvents.java
+package com.dac.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the algorithm phases. They are disabled by
+ * default and turned on by {@code src/main/resources/jfr/algorithm-phases.jfc}.
+ * When no recording enables them, {@link Phase#start} and {@link Phase#finish}
+ * reduce to an {@code isEnabled()} check.
+ *
+ * <p>Phases that run once per call allocate their event directly. Phases that run
+ * at every recursion level go through the static start methods, which check the
+ * event type first and return null while it is disabled, so a run without a
+ * recording allocates no events at all. Escape analysis cannot be relied on to
+ * remove the allocation in recursive code.
+ * <pre>
+ * AlgorithmEvents.Merge event = AlgorithmEvents.startMerge(metrics, hi - lo + 1);
+ * merge(...);
+ * AlgorithmEvents.finish(event, metrics);
+ * </pre>
+ * Comparisons are the delta of {@link MetricsSink#getComparisons()} over the
+ * phase and depth is {@link MetricsSink#getCurrentDepth()} at its start, so
+ * both are 0 when the algorithm runs with {@link NoOpMetrics}.
+ */
+public final class AlgorithmEvents {
+    private static final EventType MERGE = EventType.getEventType(Merge.class);
+    private static final EventType PARTITION = EventType.getEventType(Partition.class);
+    private static final EventType STRIP_SCAN = EventType.getEventType(StripScan.class);
+    private static final EventType SELECT_PIVOT = EventType.getEventType(SelectPivot.class);
+    
+    private AlgorithmEvents() {
+    }
+    
+    /** A started Merge event, or null while no recording enables Merge events. */
+    public static Merge startMerge(MetricsSink metrics, int inputSize) {
+        return MERGE.isEnabled() ? start(new Merge(), metrics, inputSize) : null;
+    }
+    
+    /** A started Partition event, or null while no recording enables Partition events. */
+    public static Partition startPartition(MetricsSink metrics, int inputSize) {
+        return PARTITION.isEnabled() ? start(new Partition(), metrics, inputSize) : null;
+    }
+    
+    /** A started StripScan event, or null while no recording enables StripScan events. */
+    public static StripScan startStripScan(MetricsSink metrics, int inputSize) {
+        return STRIP_SCAN.isEnabled() ? start(new StripScan(), metrics, inputSize) : null;
+    }
+    
+    /** A started SelectPivot event, or null while no recording enables SelectPivot events. */
+    public static SelectPivot startSelectPivot(MetricsSink metrics, int inputSize) {
+        return SELECT_PIVOT.isEnabled() ? start(new SelectPivot(), metrics, inputSize) : null;
+    }
+    
+    /** Finishes an event from one of the start methods; null is ignored. */
+    public static void finish(Phase event, MetricsSink metrics) {
+        if (event != null) {
+            event.finish(metrics);
+        }
+    }
+    
+    private static <E extends Phase> E start(E event, MetricsSink metrics, int inputSize) {
+        event.start(metrics, inputSize);
+        return event;
+    }
+    
+    @Category({"Divide and Conquer"})
+    @Enabled(false)
+    @StackTrace(false)
+    public abstract static class Phase extends Event {
+        @Label("Input Size")
+        @Description("Number of elements the phase works on")
+        int inputSize;
+        
+        @Label("Comparisons")
+        long comparisons;
+        
+        @Label("Depth")
+        @Description("Recursion depth when the phase started")
+        int depth;
+        
+        private transient long startComparisons;
+        
+        public final void start(MetricsSink metrics, int inputSize) {
+            if (isEnabled()) {
+                this.inputSize = inputSize;
+                this.depth = metrics.getCurrentDepth();
+                this.startComparisons = metrics.getComparisons();
+                begin();
+            }
+        }
+        
+        public final void finish(MetricsSink metrics) {
+            if (shouldCommit()) {
+                comparisons = metrics.getComparisons() - startComparisons;
+                commit();
+            }
+        }
+    }
+    
+    @Name("com.dac.Invocation")
+    @Label("Algorithm Invocation")
+    @Description("One top-level call of an algorithm")
+    public static final class Invocation extends Phase {
+        @Label("Algorithm")
+        String algorithm;
+        
+        public Invocation(String algorithm) {
+            this.algorithm = algorithm;
+        }
+    }
+    
+    @Name("com.dac.Presort")
+    @Label("Presort")
+    @Description("Initial sort of the input by coordinate")
+    public static final class Presort extends Phase {
+    }
+    
+    @Name("com.dac.Partition")
+    @Label("Partition")
+    public static final class Partition extends Phase {
+    }
+    
+    @Name("com.dac.Merge")
+    @Label("Merge")
+    public static final class Merge extends Phase {
+    }
+    
+    @Name("com.dac.StripScan")
+    @Label("Strip Scan")
+    @Description("Scan of the band around the dividing line in closest pair")
+    public static final class StripScan extends Phase {
+    }
+    
+    @Name("com.dac.SelectPivot")
+    @Label("Select Pivot")
+    @Description("Median-of-medians pivot selection, including its recursive select")
+    public static final class SelectPivot extends Phase {
+    }
+}
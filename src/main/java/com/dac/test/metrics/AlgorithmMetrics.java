@@ -1,13 +1,24 @@
 // File: src/main/java/com/dac/metrics/AlgorithmMetrics.java
 package com.dac.metrics;
 
-public class AlgorithmMetrics {
+public class AlgorithmMetrics implements MetricsSink {
     private long comparisons;
+    private long swaps;
     private long allocations;
+    private long bytesRead;
+    private long bytesWritten;
     private int maxDepth;
     private int currentDepth;
     private long startTime;
     private long endTime;
+    // JVM counters sampled by startTiming/endTiming; -1 when unsupported
+    private long startAllocatedBytes, startCpuTimeNs, startGcCount, startGcTimeMs;
+    private long allocatedBytes;
+    private long cpuTimeNs;
+    private long gcCount;
+    private long gcTimeMs;
+    private LevelProfile levelProfile;
+    private RecursionTracer tracer;
     private String algorithmName;
     
     public AlgorithmMetrics(String algorithmName) {
@@ -17,63 +28,180 @@ public class AlgorithmMetrics {
     
     public void reset() {
         comparisons = 0;
+        swaps = 0;
         allocations = 0;
+        bytesRead = 0;
+        bytesWritten = 0;
         maxDepth = 0;
         currentDepth = 0;
         startTime = 0;
         endTime = 0;
+        allocatedBytes = 0;
+        cpuTimeNs = 0;
+        gcCount = 0;
+        gcTimeMs = 0;
+        if (levelProfile != null) levelProfile.reset();
+        if (tracer != null) tracer.reset();
     }
     
+    /**
+     * Opts in to per-level profiling for subsequent runs. This adds a timer read to
+     * every enterRecursion/exitRecursion call, so leave it off for plain timing runs.
+     */
+    public LevelProfile enableLevelProfiling() {
+        if (levelProfile == null) {
+            levelProfile = new LevelProfile();
+        }
+        return levelProfile;
+    }
+    
+    /**
+     * Starts the wall clock and samples the calling thread's allocated bytes and
+     * CPU time, plus JVM-wide GC counters. Work done on other threads (for
+     * example, fork/join tasks) is not included in the thread-level numbers.
+     */
+    @Override
     public void startTiming() {
+        startGcCount = ResourceProbe.gcCount();
+        startGcTimeMs = ResourceProbe.gcTimeMs();
+        startCpuTimeNs = ResourceProbe.threadCpuTimeNs();
+        startAllocatedBytes = ResourceProbe.threadAllocatedBytes();
         startTime = System.nanoTime();
     }
     
+    @Override
     public void endTiming() {
         endTime = System.nanoTime();
+        allocatedBytes = ResourceProbe.delta(startAllocatedBytes, ResourceProbe.threadAllocatedBytes());
+        cpuTimeNs = ResourceProbe.delta(startCpuTimeNs, ResourceProbe.threadCpuTimeNs());
+        gcCount = ResourceProbe.delta(startGcCount, ResourceProbe.gcCount());
+        gcTimeMs = ResourceProbe.delta(startGcTimeMs, ResourceProbe.gcTimeMs());
     }
     
+    @Override
     public void incrementComparisons() {
         comparisons++;
+        if (levelProfile != null) levelProfile.addComparisons(currentDepth, 1);
     }
     
+    @Override
     public void addComparisons(long count) {
         comparisons += count;
+        if (levelProfile != null) levelProfile.addComparisons(currentDepth, count);
+    }
+    
+    @Override
+    public void incrementSwaps() {
+        swaps++;
+        if (levelProfile != null) levelProfile.addSwaps(currentDepth, 1);
     }
     
+    public void addSwaps(long count) {
+        swaps += count;
+        if (levelProfile != null) levelProfile.addSwaps(currentDepth, count);
+    }
+    
+    @Override
     public void incrementAllocations() {
         allocations++;
     }
     
+    @Override
     public void addAllocations(long count) {
         allocations += count;
     }
     
+    @Override
+    public void addBytesRead(long count) {
+        bytesRead += count;
+    }
+    
+    @Override
+    public void addBytesWritten(long count) {
+        bytesWritten += count;
+    }
+    
+    /**
+     * Opts in to recording each recursive call into tracer, which can then be
+     * exported as a Chrome trace. See {@link RecursionTracer} for sampling options.
+     */
+    public RecursionTracer enableTracing(RecursionTracer tracer) {
+        this.tracer = tracer;
+        return tracer;
+    }
+    
+    @Override
     public void enterRecursion() {
+        enterRecursion(-1, -1);
+    }
+    
+    @Override
+    public void enterRecursion(int lo, int hi) {
         currentDepth++;
         maxDepth = Math.max(maxDepth, currentDepth);
+        if (levelProfile != null) levelProfile.enter(currentDepth);
+        if (tracer != null) tracer.enter(currentDepth, lo, hi);
     }
     
+    @Override
     public void exitRecursion() {
+        if (tracer != null) tracer.exit(currentDepth);
+        if (levelProfile != null) levelProfile.exit(currentDepth);
         currentDepth--;
     }
     
+    /**
+     * Folds counters collected by a sub-task into this instance. The sub-task's
+     * depths are taken relative to depthOffset.
+     */
+    @Override
+    public void merge(AlgorithmMetrics other, int depthOffset) {
+        comparisons += other.comparisons;
+        swaps += other.swaps;
+        allocations += other.allocations;
+        bytesRead += other.bytesRead;
+        bytesWritten += other.bytesWritten;
+        maxDepth = Math.max(maxDepth, depthOffset + other.maxDepth);
+    }
+    
+    // Used by ConcurrentMetrics.snapshot()
+    void setTiming(long startTime, long endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    void recordDepth(int depth) {
+        maxDepth = Math.max(maxDepth, depth);
+    }
+    
     // Getters
     public String getAlgorithmName() { return algorithmName; }
     public long getComparisons() { return comparisons; }
+    public long getSwaps() { return swaps; }
     public long getAllocations() { return allocations; }
+    public long getBytesRead() { return bytesRead; }
+    public long getBytesWritten() { return bytesWritten; }
     public int getMaxDepth() { return maxDepth; }
     public int getCurrentDepth() { return currentDepth; }
     public long getExecutionTimeNs() { return endTime - startTime; }
     public double getExecutionTimeMs() { return (endTime - startTime) / 1_000_000.0; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+    public long getCpuTimeNs() { return cpuTimeNs; }
+    public long getGcCount() { return gcCount; }
+    public long getGcTimeMs() { return gcTimeMs; }
+    public LevelProfile getLevelProfile() { return levelProfile; }
+    public RecursionTracer getTracer() { return tracer; }
     
     @Override
     public String toString() {
-        return String.format("%s - Time: %.2f ms, Comparisons: %d, Allocations: %d, Max Depth: %d",
-                algorithmName, getExecutionTimeMs(), comparisons, allocations, maxDepth);
+        return String.format("%s - Time: %.2f ms, CPU: %.2f ms, Comparisons: %d, Allocations: %d (%d bytes), Max Depth: %d, GCs: %d",
+                algorithmName, getExecutionTimeMs(), cpuTimeNs / 1_000_000.0, comparisons, allocations,
+                allocatedBytes, maxDepth, gcCount);
     }
     
     public String toCsvRow(int inputSize) {
-        return String.format("%s,%d,%d,%d,%d,%d", 
-                algorithmName, inputSize, getExecutionTimeNs(), comparisons, allocations, maxDepth);
+        return String.format("%s,%d,%d,%d,%d,%d,%d,%d,%d,%d", 
+                algorithmName, inputSize, getExecutionTimeNs(), comparisons, allocations, maxDepth,
+                allocatedBytes, cpuTimeNs, gcCount, gcTimeMs);
     }
 }
@@ -0,0 +1,93 @@
+// File: src/main/java/com/dac/metrics/AlgorithmStatistics.java
+package com.dac.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of every run of one algorithm. It holds running statistics for
+ * execution time, comparisons, max depth, allocated bytes and CPU time, plus the most recent raw samples.
+ * Runs recorded with an input size also feed comparisons per element.
+ * Once recentCapacity samples are held, each new sample evicts the oldest, so
+ * memory stays constant however long the soak runs.
+ */
+public class AlgorithmStatistics {
+    private final String algorithmName;
+    private final int recentCapacity;
+    private final RunningStatistics executionTimeNs = new RunningStatistics();
+    private final RunningStatistics comparisons = new RunningStatistics();
+    private final RunningStatistics maxDepth = new RunningStatistics();
+    private final RunningStatistics allocatedBytes = new RunningStatistics();
+    private final RunningStatistics cpuTimeNs = new RunningStatistics();
+    private final RunningStatistics comparisonsPerElement = new RunningStatistics();
+    private long totalComparisons;
+    private final ArrayDeque<AlgorithmMetrics> recent = new ArrayDeque<>();
+    
+    public AlgorithmStatistics(String algorithmName, int recentCapacity) {
+        if (recentCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + recentCapacity);
+        }
+        this.algorithmName = algorithmName;
+        this.recentCapacity = recentCapacity;
+    }
+    
+    public synchronized void record(AlgorithmMetrics metrics) {
+        executionTimeNs.add(metrics.getExecutionTimeNs());
+        comparisons.add(metrics.getComparisons());
+        totalComparisons += metrics.getComparisons();
+        maxDepth.add(metrics.getMaxDepth());
+        // -1 means the JVM could not measure it
+        if (metrics.getAllocatedBytes() >= 0) allocatedBytes.add(metrics.getAllocatedBytes());
+        if (metrics.getCpuTimeNs() >= 0) cpuTimeNs.add(metrics.getCpuTimeNs());
+        
+        if (recentCapacity == 0) return;
+        if (recent.size() == recentCapacity) {
+            recent.pollFirst();
+        }
+        recent.addLast(metrics);
+    }
+    
+    public synchronized void record(AlgorithmMetrics metrics, int inputSize) {
+        if (inputSize > 0) {
+            comparisonsPerElement.add((double) metrics.getComparisons() / inputSize);
+        }
+        record(metrics);
+    }
+    
+    public synchronized void reset() {
+        executionTimeNs.reset();
+        comparisons.reset();
+        maxDepth.reset();
+        allocatedBytes.reset();
+        cpuTimeNs.reset();
+        comparisonsPerElement.reset();
+        totalComparisons = 0;
+        recent.clear();
+    }
+    
+    /** Recent samples, oldest first. */
+    public synchronized List<AlgorithmMetrics> getRecent() {
+        return new ArrayList<>(recent);
+    }
+    
+    public String getAlgorithmName() { return algorithmName; }
+    public int getRecentCapacity() { return recentCapacity; }
+    public synchronized long getRunCount() { return executionTimeNs.getCount(); }
+    
+    public synchronized double getMeanExecutionTimeNs() { return executionTimeNs.getMean(); }
+    public synchronized double getStdDevExecutionTimeNs() { return executionTimeNs.getStandardDeviation(); }
+    public synchronized double getMinExecutionTimeNs() { return executionTimeNs.getMin(); }
+    public synchronized double getMaxExecutionTimeNs() { return executionTimeNs.getMax(); }
+    
+    public synchronized double getMeanComparisons() { return comparisons.getMean(); }
+    public synchronized double getStdDevComparisons() { return comparisons.getStandardDeviation(); }
+    public synchronized long getTotalComparisons() { return totalComparisons; }
+    public synchronized double getMeanComparisonsPerElement() { return comparisonsPerElement.getMean(); }
+    
+    public synchronized double getMeanMaxDepth() { return maxDepth.getMean(); }
+    public synchronized double getMaxMaxDepth() { return maxDepth.getMax(); }
+    
+    public synchronized double getMeanAllocatedBytes() { return allocatedBytes.getMean(); }
+    public synchronized double getMeanCpuTimeNs() { return cpuTimeNs.getMean(); }
+}
@@ -0,0 +1,42 @@
+// File: src/main/java/com/dac/metrics/AlgorithmStatsMXBean.java
+package com.dac.metrics;
+
+/**
+ * Live view of one algorithm's statistics in a {@link MetricsCollector}, registered
+ * by {@link MetricsJmx} as {@code com.dac.metrics:type=AlgorithmStats,name=<algorithm>}.
+ * Latencies are in nanoseconds. Throughput is runs per second since registration or
+ * the last reset.
+ */
+public interface AlgorithmStatsMXBean {
+    String getAlgorithm();
+    
+    long getRunCount();
+    
+    double getThroughputPerSecond();
+    
+    double getMeanLatencyNs();
+    
+    double getStdDevLatencyNs();
+    
+    long getP50LatencyNs();
+    
+    long getP90LatencyNs();
+    
+    long getP99LatencyNs();
+    
+    long getP999LatencyNs();
+    
+    long getMaxLatencyNs();
+    
+    double getMeanComparisons();
+    
+    double getComparisonsPerElement();
+    
+    double getMeanMaxDepth();
+    
+    /** Clears this algorithm's statistics and latency histograms. */
+    void reset();
+    
+    /** Clears the statistics of every algorithm in the collector. */
+    void resetAll();
+}
@@ -0,0 +1,240 @@
+// File: src/main/java/com/dac/metrics/AsyncCSVWriter.java
+package com.dac.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Appends metrics rows to a CSV file from a background thread. The caller only
+ * copies the row's numbers into a bounded queue. The writer thread formats the
+ * numbers by hand into a reused direct {@link ByteBuffer} and writes each batch to
+ * one open {@link FileChannel}, so neither formatting nor I/O runs on the
+ * benchmark thread.
+ *
+ * <p>Rows use the same columns as {@link AlgorithmMetrics#toCsvRow(int)}. When the
+ * queue is full, {@link #append} blocks until the writer catches up, so no rows are
+ * dropped. Any number of threads may append, and every append that returns
+ * normally is written, even one racing {@link #close()}. An I/O error stops
+ * writing; later rows are discarded and the error is rethrown by close(), which
+ * also flushes every row queued before it.
+ */
+public class AsyncCSVWriter implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_BATCH = 1024;
+    private static final int COLUMNS = 9;
+    // Up to 20 characters per long plus a comma
+    private static final int MAX_NUMBERS_BYTES = COLUMNS * 21 + 1;
+    private static final Row CLOSE = new Row(null, null);
+    
+    private final BlockingQueue<Row> queue;
+    private final FileChannel channel;
+    private final Thread writer;
+    
+    // Writer thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final byte[] digits = new byte[20];
+    private final Map<String, byte[]> names = new HashMap<>();
+    
+    private volatile IOException failure;
+    private volatile long rowsWritten;
+    private volatile long flushCount;
+    private boolean closed;
+    
+    public AsyncCSVWriter(Path file, String header) throws IOException {
+        this(file, header, DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /** Opens file for appending; header is written only if the file is new or empty. */
+    public AsyncCSVWriter(Path file, String header, int queueCapacity) throws IOException {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (header != null && channel.size() == 0) {
+            buffer.put(header.getBytes(StandardCharsets.UTF_8)).put((byte) '\n');
+        }
+        
+        this.writer = new Thread(this::drain, "csv-writer-" + file.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /** Queues one row; the numbers are copied, so metrics may be reused afterwards. */
+    public void append(AlgorithmMetrics metrics, int inputSize) {
+        Row row = new Row(metrics.getAlgorithmName(), new long[] {
+            inputSize, metrics.getExecutionTimeNs(), metrics.getComparisons(), metrics.getAllocations(),
+            metrics.getMaxDepth(), metrics.getAllocatedBytes(), metrics.getCpuTimeNs(),
+            metrics.getGcCount(), metrics.getGcTimeMs()
+        });
+        // Queued under the lock close() takes, so no row can land behind CLOSE. The
+        // writer thread runs until it takes CLOSE, so a full queue always drains.
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Writer is closed");
+            }
+            try {
+                queue.put(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing a row", e);
+            }
+        }
+    }
+    
+    /** Rows formatted by the writer thread so far; all are in the file once close() returns. */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    /** Channel writes so far; each one covers a whole batch of rows. */
+    public long getFlushCount() {
+        return flushCount;
+    }
+    
+    /** Writes every queued row, stops the writer thread and closes the file. */
+    @Override
+    public void close() throws IOException {
+        boolean interrupted = false;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            while (true) {
+                try {
+                    queue.put(CLOSE);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        while (true) {
+            try {
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                // Keep waiting: returning early would lose queued rows
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void drain() {
+        List<Row> batch = new ArrayList<>(MAX_BATCH);
+        boolean done = false;
+        while (!done) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // Only close() stops the writer
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            
+            for (Row row : batch) {
+                if (row == CLOSE) {
+                    done = true;
+                } else if (failure == null) {
+                    encode(row);
+                }
+            }
+            batch.clear();
+            // One channel write per batch, not per row
+            if (failure == null) {
+                flush();
+            }
+        }
+    }
+    
+    private void encode(Row row) {
+        byte[] name = names.computeIfAbsent(row.algorithm, k -> k.getBytes(StandardCharsets.UTF_8));
+        if (buffer.remaining() < name.length + MAX_NUMBERS_BYTES) {
+            flush();
+            if (failure != null) return;
+        }
+        if (name.length + MAX_NUMBERS_BYTES > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(name));
+        } else {
+            buffer.put(name);
+        }
+        for (long value : row.values) {
+            buffer.put((byte) ',');
+            putLong(value);
+        }
+        buffer.put((byte) '\n');
+        rowsWritten++;
+    }
+    
+    // Writes value in decimal without going through String
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, pos, digits.length - pos);
+    }
+    
+    private void flush() {
+        buffer.flip();
+        if (buffer.hasRemaining()) {
+            writeFully(buffer);
+            flushCount++;
+        }
+        buffer.clear();
+    }
+    
+    private void writeFully(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+    
+    private static final class Row {
+        final String algorithm;
+        final long[] values;
+        
+        Row(String algorithm, long[] values) {
+            this.algorithm = algorithm;
+            this.values = values;
+        }
+    }
+}
@@ -9,7 +9,9 @@ import java.util.List;
 
 public class CSVWriter {
     private static final String RESULTS_DIR = "results";
-    private static final String CSV_HEADER = "Algorithm,InputSize,Time_ns,Comparisons,Allocations,MaxDepth";
+    static final String CSV_HEADER = "Algorithm,InputSize,Time_ns,Comparisons,Allocations,MaxDepth,AllocatedBytes,CpuTime_ns,GcCount,GcTime_ms";
+    private static final String PERCENTILE_HEADER = "P50_ns,P90_ns,P99_ns,P999_ns,Max_ns";
+    private static final String LEVEL_HEADER = "Algorithm,InputSize,Level,Calls,Comparisons,Swaps,InclusiveTime_ns,SelfTime_ns";
     
     public CSVWriter() {
         try {
@@ -39,9 +41,21 @@ public class CSVWriter {
     }
     
     public void writeMetricsWithTimestamp(String algorithmName, List<AlgorithmMetrics> metrics, List<Integer> inputSizes) {
+        writeMetrics(timestampedName(algorithmName), metrics, inputSizes);
+    }
+    
+    public static String timestampedName(String algorithmName) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String filename = String.format("%s_%s.csv", algorithmName, timestamp);
-        writeMetrics(filename, metrics, inputSizes);
+        return String.format("%s_%s.csv", algorithmName, timestamp);
+    }
+    
+    /**
+     * Opens results/filename for streaming rows from a background thread, with the
+     * same columns as {@link #appendMetrics}. Prefer it over appendMetrics in loops,
+     * which reopens the file for every row.
+     */
+    public AsyncCSVWriter openAsync(String filename) throws IOException {
+        return new AsyncCSVWriter(Paths.get(RESULTS_DIR, filename), CSV_HEADER);
     }
     
     public void appendMetrics(String filename, AlgorithmMetrics metrics, int inputSize) {
@@ -63,17 +77,22 @@ public class CSVWriter {
         String fullPath = RESULTS_DIR + "/" + filename;
         
         try (PrintWriter writer = new PrintWriter(new FileWriter(fullPath))) {
-            writer.println("Algorithm,AvgTime_ns,AvgComparisons,AvgMaxDepth,Runs");
+            writer.println("Algorithm,AvgTime_ns,AvgComparisons,AvgMaxDepth,Runs," + PERCENTILE_HEADER
+                    + ",StdDevTime_ns,AvgCpuTime_ns,AvgAllocatedBytes");
             
-            for (String algorithm : collector.getAllHistory().keySet()) {
-                List<AlgorithmMetrics> history = collector.getHistory(algorithm);
-                if (!history.isEmpty()) {
-                    writer.printf("%s,%.2f,%.2f,%.2f,%d%n",
+            for (String algorithm : collector.getAlgorithms()) {
+                AlgorithmStatistics stats = collector.getStatistics(algorithm);
+                if (stats.getRunCount() > 0) {
+                    writer.printf("%s,%.2f,%.2f,%.2f,%d,%s,%.2f,%.2f,%.2f%n",
                             algorithm,
-                            collector.getAverageExecutionTime(algorithm),
-                            collector.getAverageComparisons(algorithm),
-                            collector.getAverageMaxDepth(algorithm),
-                            history.size()
+                            stats.getMeanExecutionTimeNs(),
+                            stats.getMeanComparisons(),
+                            stats.getMeanMaxDepth(),
+                            stats.getRunCount(),
+                            percentileColumns(collector.getLatencyHistogram(algorithm)),
+                            stats.getStdDevExecutionTimeNs(),
+                            stats.getMeanCpuTimeNs(),
+                            stats.getMeanAllocatedBytes()
                     );
                 }
             }
@@ -82,4 +101,49 @@ public class CSVWriter {
             System.err.println("Failed to write benchmark results: " + e.getMessage());
         }
     }
+    
+    /** One row per (algorithm, input size) recorded through MetricsCollector.endCollection(String, int). */
+    public void writeLatencyPercentiles(String filename, MetricsCollector collector) {
+        String fullPath = RESULTS_DIR + "/" + filename;
+        
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fullPath))) {
+            writer.println("Algorithm,InputSize,Runs,Mean_ns," + PERCENTILE_HEADER);
+            
+            for (String algorithm : collector.getAlgorithms()) {
+                for (int size : collector.getInputSizes(algorithm)) {
+                    LatencyHistogram histogram = collector.getLatencyHistogram(algorithm, size);
+                    writer.printf("%s,%d,%d,%.2f,%s%n",
+                            algorithm, size, histogram.getTotalCount(), histogram.getMean(),
+                            percentileColumns(histogram));
+                }
+            }
+            
+        } catch (IOException e) {
+            System.err.println("Failed to write latency percentiles: " + e.getMessage());
+        }
+    }
+    
+    /** One row per recursion level from a run with level profiling enabled. */
+    public void writeLevelProfile(String filename, AlgorithmMetrics metrics, int inputSize) {
+        LevelProfile profile = metrics.getLevelProfile();
+        if (profile == null) {
+            throw new IllegalArgumentException("Level profiling was not enabled for " + metrics.getAlgorithmName());
+        }
+        String fullPath = RESULTS_DIR + "/" + filename;
+        
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fullPath))) {
+            writer.println(LEVEL_HEADER);
+            for (int level = 0; level < profile.getLevels(); level++) {
+                writer.println(profile.toCsvRow(metrics.getAlgorithmName(), inputSize, level));
+            }
+            
+        } catch (IOException e) {
+            System.err.println("Failed to write level profile: " + e.getMessage());
+        }
+    }
+    
+    private static String percentileColumns(LatencyHistogram histogram) {
+        return String.format("%d,%d,%d,%d,%d",
+                histogram.getP50(), histogram.getP90(), histogram.getP99(), histogram.getP999(), histogram.getMax());
+    }
 }
@@ -0,0 +1,205 @@
+// File: src/main/java/com/dac/metrics/ColumnarResultsReader.java
+package com.dac.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-mapped reader for files written by {@link ColumnarResultsWriter}. Opening a
+ * file parses only the header. Column values are decoded straight from the mapping
+ * on each {@link Column#get}, so a scan touches only the columns it reads:
+ * <pre>
+ * ColumnarResultsReader results = ColumnarResultsReader.open(path);
+ * Column time = results.getColumn("Time_ns");
+ * long total = 0;
+ * for (int row = 0; row &lt; results.getRowCount(); row++) total += time.get(row);
+ * </pre>
+ * A single mapping is limited to 2 GB, about 60 million rows.
+ */
+public class ColumnarResultsReader {
+    private final Map<String, String> metadata;
+    private final List<String> algorithms;
+    private final Map<String, Column> columns;
+    private final int rows;
+    
+    private ColumnarResultsReader(Map<String, String> metadata, List<String> algorithms,
+                                  Map<String, Column> columns, int rows) {
+        this.metadata = metadata;
+        this.algorithms = algorithms;
+        this.columns = columns;
+        this.rows = rows;
+    }
+    
+    public static ColumnarResultsReader open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + file);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        
+        try {
+            if (buffer.getInt() != ColumnarResultsWriter.MAGIC) {
+                throw new IOException("Not a columnar results file: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != ColumnarResultsWriter.VERSION) {
+                throw new IOException("Unsupported columnar results version " + version + ": " + file);
+            }
+            
+            Map<String, String> metadata = new LinkedHashMap<>();
+            int metadataCount = buffer.getInt();
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(getString(buffer), getString(buffer));
+            }
+            List<String> algorithms = new ArrayList<>();
+            int dictionarySize = buffer.getInt();
+            for (int i = 0; i < dictionarySize; i++) {
+                algorithms.add(getString(buffer));
+            }
+            long rowCount = buffer.getLong();
+            if (rowCount < 0 || rowCount > Integer.MAX_VALUE) {
+                throw new IOException("Invalid row count " + rowCount + ": " + file);
+            }
+            int rows = (int) rowCount;
+            
+            int columnCount = buffer.getInt();
+            String[] names = new String[columnCount];
+            int[] widths = new int[columnCount];
+            long[] bases = new long[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                names[c] = getString(buffer);
+                widths[c] = buffer.get();
+                bases[c] = buffer.getLong();
+                if (widths[c] != 1 && widths[c] != 2 && widths[c] != 4 && widths[c] != 8) {
+                    throw new IOException("Invalid width " + widths[c] + " for column " + names[c] + ": " + file);
+                }
+            }
+            
+            Map<String, Column> columns = new LinkedHashMap<>();
+            int offset = buffer.position();
+            for (int c = 0; c < columnCount; c++) {
+                long length = (long) rows * widths[c];
+                if (offset + length > buffer.capacity()) {
+                    throw new IOException("Truncated column " + names[c] + ": " + file);
+                }
+                ByteBuffer data = buffer.duplicate();
+                data.position(offset).limit(offset + (int) length);
+                columns.put(names[c], new Column(names[c], data.slice().order(ByteOrder.LITTLE_ENDIAN),
+                        widths[c], bases[c], rows));
+                offset += (int) length;
+            }
+            return new ColumnarResultsReader(Collections.unmodifiableMap(metadata),
+                    Collections.unmodifiableList(algorithms), Collections.unmodifiableMap(columns), rows);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt columnar results header: " + file, e);
+        }
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public Map<String, String> getMetadata() { return metadata; }
+    public int getRowCount() { return rows; }
+    public List<String> getColumnNames() { return new ArrayList<>(columns.keySet()); }
+    
+    /** Algorithm names in dictionary order; the Algorithm column holds indices into it. */
+    public List<String> getAlgorithms() { return algorithms; }
+    
+    public Column getColumn(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No column " + name + "; columns are " + columns.keySet());
+        }
+        return column;
+    }
+    
+    public String getAlgorithm(int row) {
+        return algorithms.get((int) getColumn("Algorithm").get(row));
+    }
+    
+    /** Writes the rows back out in the per-run CSV layout of {@link CSVWriter#appendMetrics}. */
+    public void writeCsv(Path csv) throws IOException {
+        Column[] ordered = new Column[ColumnarResultsWriter.COLUMNS.length];
+        for (int c = 0; c < ordered.length; c++) {
+            ordered[c] = getColumn(ColumnarResultsWriter.COLUMNS[c]);
+        }
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write(CSVWriter.CSV_HEADER);
+            writer.newLine();
+            StringBuilder line = new StringBuilder(128);
+            for (int row = 0; row < rows; row++) {
+                line.setLength(0);
+                line.append(algorithms.get((int) ordered[0].get(row)));
+                for (int c = 1; c < ordered.length; c++) {
+                    line.append(',').append(ordered[c].get(row));
+                }
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+    }
+    
+    /** One column of a mapped file. */
+    public static final class Column {
+        private final String name;
+        private final ByteBuffer data;
+        private final int width;
+        private final long base;
+        private final int size;
+        
+        Column(String name, ByteBuffer data, int width, long base, int size) {
+            this.name = name;
+            this.data = data;
+            this.width = width;
+            this.base = base;
+            this.size = size;
+        }
+        
+        public long get(int row) {
+            switch (width) {
+                case 1: return base + (data.get(row) & 0xFFL);
+                case 2: return base + (data.getShort(row << 1) & 0xFFFFL);
+                case 4: return base + (data.getInt(row << 2) & 0xFFFF_FFFFL);
+                default: return base + data.getLong(row << 3);
+            }
+        }
+        
+        public long sum() {
+            long sum = 0;
+            for (int row = 0; row < size; row++) {
+                sum += get(row);
+            }
+            return sum;
+        }
+        
+        public String getName() { return name; }
+        public int size() { return size; }
+        /** Bytes per row on disk. */
+        public int getWidth() { return width; }
+    }
+}
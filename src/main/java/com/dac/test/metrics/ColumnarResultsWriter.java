@@ -0,0 +1,302 @@
+// File: src/main/java/com/dac/metrics/ColumnarResultsWriter.java
+package com.dac.metrics;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary columnar alternative to the per-run CSV files. The columns are the same as
+ * {@link AlgorithmMetrics#toCsvRow(int)}, with algorithm names stored as ids into a
+ * dictionary. Rows are held in memory as primitive columns and written by
+ * {@link #close()}. Read files with {@link ColumnarResultsReader}.
+ *
+ * <p>Layout, little-endian. Strings are an int byte length followed by UTF-8.
+ * <pre>
+ * int magic "DACR", int version
+ * int n, n x (string key, string value)       run metadata
+ * int n, n x string                           algorithm dictionary
+ * long rows
+ * int n, n x (string name, byte width, long base)
+ * n x column data, rows x width bytes each
+ * </pre>
+ * Each column stores value - base, where base is the column minimum. The width is
+ * the fewest of 1, 2, 4 or 8 bytes that holds the largest difference. Small
+ * counters such as GcCount take one byte per row, and a typical row takes about
+ * half the bytes of its CSV text.
+ */
+public class ColumnarResultsWriter implements Closeable {
+    static final int MAGIC = 0x52434144;   // "DACR" in little-endian byte order
+    static final int VERSION = 1;
+    static final String[] COLUMNS = CSVWriter.CSV_HEADER.split(",");
+    private static final int BUFFER_BYTES = 64 * 1024;
+    
+    private final Path file;
+    private final Map<String, String> metadata;
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private final long[][] columns = new long[COLUMNS.length][];
+    private int rows;
+    private boolean closed;
+    
+    /** Writes {@link #defaultMetadata()} into the header. */
+    public ColumnarResultsWriter(Path file) {
+        this(file, defaultMetadata());
+    }
+    
+    public ColumnarResultsWriter(Path file, Map<String, String> metadata) {
+        this.file = file;
+        this.metadata = new LinkedHashMap<>(metadata);
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = new long[1024];
+        }
+    }
+    
+    /**
+     * Describes the run: JVM, flags, host and git revision. The revision is the
+     * dac.git.revision system property if set, otherwise it is read from .git in the
+     * working directory.
+     */
+    public static Map<String, String> defaultMetadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("created", Instant.now().toString());
+        metadata.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"));
+        metadata.put("jvmFlags", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        metadata.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        metadata.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        metadata.put("host", hostName());
+        metadata.put("gitRevision", System.getProperty("dac.git.revision", gitRevision(Paths.get(".git"))));
+        return metadata;
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+    
+    static String gitRevision(Path gitDir) {
+        try {
+            String head = new String(Files.readAllBytes(gitDir.resolve("HEAD")), StandardCharsets.UTF_8).trim();
+            if (!head.startsWith("ref: ")) {
+                return head;   // Detached HEAD holds the hash itself
+            }
+            String ref = head.substring(5);
+            Path loose = gitDir.resolve(ref);
+            if (Files.exists(loose)) {
+                return new String(Files.readAllBytes(loose), StandardCharsets.UTF_8).trim();
+            }
+            for (String line : Files.readAllLines(gitDir.resolve("packed-refs"))) {
+                if (line.endsWith(" " + ref)) {
+                    return line.substring(0, line.indexOf(' '));
+                }
+            }
+        } catch (IOException e) {
+            // Not a git checkout
+        }
+        return "unknown";
+    }
+    
+    public void append(AlgorithmMetrics metrics, int inputSize) {
+        appendRow(metrics.getAlgorithmName(), inputSize, metrics.getExecutionTimeNs(), metrics.getComparisons(),
+                metrics.getAllocations(), metrics.getMaxDepth(), metrics.getAllocatedBytes(),
+                metrics.getCpuTimeNs(), metrics.getGcCount(), metrics.getGcTimeMs());
+    }
+    
+    /** Appends one row; values are the numeric columns in CSV order, after Algorithm. */
+    void appendRow(String algorithm, long... values) {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (values.length != COLUMNS.length - 1) {
+            throw new IllegalArgumentException("Expected " + (COLUMNS.length - 1) + " values, got " + values.length);
+        }
+        if (rows == columns[0].length) {
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], rows * 2);
+            }
+        }
+        Integer id = dictionary.get(algorithm);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(algorithm, id);
+        }
+        columns[0][rows] = id;
+        for (int c = 1; c < columns.length; c++) {
+            columns[c][rows] = values[c - 1];
+        }
+        rows++;
+    }
+    
+    public int getRowCount() {
+        return rows;
+    }
+    
+    // Marks the writer closed without writing, so close() leaves the file untouched
+    private void abandon() {
+        closed = true;
+    }
+    
+    /** Writes the file. Nothing is written before this call. */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        
+        long[] bases = new long[columns.length];
+        int[] widths = new int[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (int r = 0; r < rows; r++) {
+                min = Math.min(min, columns[c][r]);
+                max = Math.max(max, columns[c][r]);
+            }
+            bases[c] = rows == 0 ? 0 : min;
+            widths[c] = rows == 0 ? 1 : width(max - min);
+        }
+        
+        List<byte[]> strings = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(headerSize(strings)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION);
+        int s = 0;
+        header.putInt(metadata.size());
+        for (int i = 0; i < metadata.size() * 2; i++) {
+            putString(header, strings.get(s++));
+        }
+        header.putInt(dictionary.size());
+        for (int i = 0; i < dictionary.size(); i++) {
+            putString(header, strings.get(s++));
+        }
+        header.putLong(rows);
+        header.putInt(columns.length);
+        for (int c = 0; c < columns.length; c++) {
+            putString(header, strings.get(s++));
+            header.put((byte) widths[c]).putLong(bases[c]);
+        }
+        header.flip();
+        
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int c = 0; c < columns.length; c++) {
+                long[] column = columns[c];
+                long base = bases[c];
+                for (int r = 0; r < rows; r++) {
+                    if (buffer.remaining() < Long.BYTES) {
+                        buffer.flip();
+                        writeFully(channel, buffer);
+                        buffer.clear();
+                    }
+                    long delta = column[r] - base;
+                    switch (widths[c]) {
+                        case 1: buffer.put((byte) delta); break;
+                        case 2: buffer.putShort((short) delta); break;
+                        case 4: buffer.putInt((int) delta); break;
+                        default: buffer.putLong(delta); break;
+                    }
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+    }
+    
+    // Fills strings in header order and returns the header size in bytes
+    private int headerSize(List<byte[]> strings) {
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            strings.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            strings.add(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        for (String name : dictionary.keySet()) {
+            strings.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        for (String name : COLUMNS) {
+            strings.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        int size = 4 + 4 + 4 + 4 + 8 + 4 + COLUMNS.length * (1 + 8);
+        for (byte[] string : strings) {
+            size += 4 + string.length;
+        }
+        return size;
+    }
+    
+    // Differences are compared unsigned, so a span above Long.MAX_VALUE still takes 8 bytes
+    static int width(long span) {
+        if (Long.compareUnsigned(span, 0xFFL) <= 0) return 1;
+        if (Long.compareUnsigned(span, 0xFFFFL) <= 0) return 2;
+        if (Long.compareUnsigned(span, 0xFFFF_FFFFL) <= 0) return 4;
+        return 8;
+    }
+    
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    /**
+     * Converts a per-run CSV file in the {@link CSVWriter#appendMetrics} layout to the
+     * columnar format, storing metadata in the header. If any row is malformed, nothing
+     * is written and an existing file at out is left as it was.
+     */
+    public static void fromCsv(Path csv, Path out, Map<String, String> metadata) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             ColumnarResultsWriter writer = new ColumnarResultsWriter(out, metadata)) {
+            try {
+                String header = reader.readLine();
+                if (!CSVWriter.CSV_HEADER.equals(header)) {
+                    throw new IOException("Unexpected CSV header in " + csv + ": " + header);
+                }
+                long[] values = new long[COLUMNS.length - 1];
+                String line;
+                int lineNumber = 1;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty()) continue;
+                    String[] fields = line.split(",", -1);
+                    if (fields.length != COLUMNS.length) {
+                        throw new IOException(csv + ":" + lineNumber + ": expected " + COLUMNS.length
+                                + " fields, got " + fields.length);
+                    }
+                    try {
+                        for (int i = 1; i < fields.length; i++) {
+                            values[i - 1] = Long.parseLong(fields[i]);
+                        }
+                    } catch (NumberFormatException e) {
+                        throw new IOException(csv + ":" + lineNumber + ": " + e.getMessage(), e);
+                    }
+                    writer.appendRow(fields[0], values);
+                }
+            } catch (IOException | RuntimeException e) {
+                writer.abandon();
+                throw e;
+            }
+        }
+    }
+}
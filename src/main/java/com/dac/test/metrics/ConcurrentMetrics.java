@@ -0,0 +1,144 @@
+// File: src/main/java/com/dac/metrics/ConcurrentMetrics.java
+package com.dac.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics sink that many threads can share. Counters are {@link LongAdder}s,
+ * which stripe updates across cells, so parallel workers neither lose counts nor
+ * contend on one cache line. Recursion depth is tracked per thread, and
+ * {@link #getMaxDepth()} is the deepest depth any single thread reached.
+ *
+ * <p>A fork/join worker that runs a stolen task while it waits on a join keeps
+ * its current depth, so the reported max depth can exceed the depth of any one
+ * task. For exact per-task depth, give each task its own {@link AlgorithmMetrics}
+ * and merge them at the join, as ParallelClosestPair does.
+ */
+public class ConcurrentMetrics implements MetricsSink {
+    private final String algorithmName;
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final ThreadLocal<int[]> currentDepth = ThreadLocal.withInitial(() -> new int[1]);
+    private volatile long startTime;
+    private volatile long endTime;
+    
+    public ConcurrentMetrics(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+    
+    /** Clears the counters. Call it only when no thread is recording. */
+    public void reset() {
+        comparisons.reset();
+        swaps.reset();
+        allocations.reset();
+        bytesRead.reset();
+        bytesWritten.reset();
+        maxDepth.set(0);
+        startTime = 0;
+        endTime = 0;
+    }
+    
+    @Override
+    public void startTiming() {
+        startTime = System.nanoTime();
+    }
+    
+    @Override
+    public void endTiming() {
+        endTime = System.nanoTime();
+    }
+    
+    @Override
+    public void incrementComparisons() {
+        comparisons.increment();
+    }
+    
+    @Override
+    public void addComparisons(long count) {
+        comparisons.add(count);
+    }
+    
+    @Override
+    public void incrementSwaps() {
+        swaps.increment();
+    }
+    
+    @Override
+    public void incrementAllocations() {
+        allocations.increment();
+    }
+    
+    @Override
+    public void addAllocations(long count) {
+        allocations.add(count);
+    }
+    
+    @Override
+    public void addBytesRead(long count) {
+        bytesRead.add(count);
+    }
+    
+    @Override
+    public void addBytesWritten(long count) {
+        bytesWritten.add(count);
+    }
+    
+    @Override
+    public void enterRecursion() {
+        int depth = ++currentDepth.get()[0];
+        // Only a new maximum touches the shared field
+        if (depth > maxDepth.get()) {
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+    
+    @Override
+    public void exitRecursion() {
+        currentDepth.get()[0]--;
+    }
+    
+    @Override
+    public void merge(AlgorithmMetrics other, int depthOffset) {
+        comparisons.add(other.getComparisons());
+        swaps.add(other.getSwaps());
+        allocations.add(other.getAllocations());
+        bytesRead.add(other.getBytesRead());
+        bytesWritten.add(other.getBytesWritten());
+        maxDepth.accumulateAndGet(depthOffset + other.getMaxDepth(), Math::max);
+    }
+    
+    /** Copies the current totals into a single-threaded AlgorithmMetrics. */
+    public AlgorithmMetrics snapshot() {
+        AlgorithmMetrics copy = new AlgorithmMetrics(algorithmName);
+        copy.addComparisons(comparisons.sum());
+        copy.addSwaps(swaps.sum());
+        copy.addAllocations(allocations.sum());
+        copy.addBytesRead(bytesRead.sum());
+        copy.addBytesWritten(bytesWritten.sum());
+        copy.setTiming(startTime, endTime);
+        copy.recordDepth(maxDepth.get());
+        return copy;
+    }
+    
+    // Getters
+    public String getAlgorithmName() { return algorithmName; }
+    public long getComparisons() { return comparisons.sum(); }
+    public long getSwaps() { return swaps.sum(); }
+    public long getAllocations() { return allocations.sum(); }
+    public long getBytesRead() { return bytesRead.sum(); }
+    public long getBytesWritten() { return bytesWritten.sum(); }
+    public int getMaxDepth() { return maxDepth.get(); }
+    public int getCurrentDepth() { return currentDepth.get()[0]; }
+    public long getExecutionTimeNs() { return endTime - startTime; }
+    public double getExecutionTimeMs() { return (endTime - startTime) / 1_000_000.0; }
+    
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
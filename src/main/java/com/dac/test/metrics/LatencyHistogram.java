@@ -0,0 +1,147 @@
+// File: src/main/java/com/dac/metrics/LatencyHistogram.java
+package com.dac.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed latency recorder in the style of HdrHistogram. Values below 128
+ * are counted exactly. Each power-of-two range above that is split into 64
+ * linear sub-buckets, so any reported value is within 1/64 (about 1.6%) of the
+ * recorded one.
+ *
+ * <p>The bucket array covers the whole non-negative long range, so memory is
+ * fixed at about 29 KB. Recording is lock-free: one atomic increment plus a
+ * compare-and-set on the rare calls that set a new min or max.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;        // 128
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >>> 1;        // 64
+    private static final int BUCKET_COUNT = 64 - SUB_BUCKET_BITS;             // shifts 0..56
+    static final int INDEX_COUNT = SUB_BUCKET_COUNT + (BUCKET_COUNT - 1) * SUB_BUCKET_HALF;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(INDEX_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+    
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency must be non-negative: " + value);
+        }
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until this value is no longer a new maximum
+        }
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+            // Retry until this value is no longer a new minimum
+        }
+    }
+    
+    /** Adds every count from other into this histogram. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        totalCount.add(other.totalCount.sum());
+        totalValue.add(other.totalValue.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+        min.accumulateAndGet(other.min.get(), Math::min);
+    }
+    
+    public void reset() {
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+    
+    /**
+     * Smallest recorded value v such that at least percentile% of recordings are
+     * at most v, up to bucket resolution. Returns 0 when nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        long total = totalCount.sum();
+        if (total == 0) return 0;
+        
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.max(getMin(), Math.min(highestEquivalentValue(i), getMax()));
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Number of recordings at most value, up to bucket resolution: recordings in
+     * the same bucket as value are counted even if slightly larger.
+     */
+    public long getCountAtOrBelow(long value) {
+        if (value < 0) return 0;
+        int last = indexOf(value);
+        long count = 0;
+        for (int i = 0; i <= last; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+    
+    public long getP50() { return getValueAtPercentile(50.0); }
+    public long getP90() { return getValueAtPercentile(90.0); }
+    public long getP99() { return getValueAtPercentile(99.0); }
+    public long getP999() { return getValueAtPercentile(99.9); }
+    
+    public long getTotalCount() { return totalCount.sum(); }
+    public long getTotalValue() { return totalValue.sum(); }
+    public long getMax() { return max.get(); }
+    public long getMin() { return getTotalCount() == 0 ? 0 : min.get(); }
+    
+    public double getMean() {
+        long total = totalCount.sum();
+        return total == 0 ? 0.0 : (double) totalValue.sum() / total;
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top 7 significant bits; the leading one selects the upper half
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+    
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return subBucket << shift;
+    }
+    
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+}
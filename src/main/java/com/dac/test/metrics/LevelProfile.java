@@ -0,0 +1,88 @@
+// File: src/main/java/com/dac/metrics/LevelProfile.java
+package com.dac.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Per-recursion-level breakdown of calls, comparisons, swaps and elapsed time,
+ * fed by AlgorithmMetrics once {@link AlgorithmMetrics#enableLevelProfiling()}
+ * has been called. Level 1 is the outermost recursive call. Level 0 collects
+ * work done outside any recursive call, such as the initial sorts in ClosestPair.
+ *
+ * <p>Inclusive time at a level covers its calls and everything beneath them.
+ * Recursive calls nest strictly, so self time at level d is inclusive(d) minus
+ * inclusive(d + 1). Comparing self time and comparisons across levels checks
+ * a recurrence directly: a balanced T(n) = 2T(n/2) + O(n) should show roughly
+ * equal work per level.
+ */
+public class LevelProfile {
+    private long[] calls = new long[16];
+    private long[] comparisons = new long[16];
+    private long[] swaps = new long[16];
+    private long[] inclusiveNs = new long[16];
+    private long[] enteredAt = new long[16];
+    private int levels;
+    
+    void enter(int level) {
+        ensureLevel(level);
+        calls[level]++;
+        enteredAt[level] = System.nanoTime();
+    }
+    
+    void exit(int level) {
+        if (level > 0 && level < levels) {
+            inclusiveNs[level] += System.nanoTime() - enteredAt[level];
+        }
+    }
+    
+    void addComparisons(int level, long count) {
+        ensureLevel(level);
+        comparisons[level] += count;
+    }
+    
+    void addSwaps(int level, long count) {
+        ensureLevel(level);
+        swaps[level] += count;
+    }
+    
+    public void reset() {
+        Arrays.fill(calls, 0);
+        Arrays.fill(comparisons, 0);
+        Arrays.fill(swaps, 0);
+        Arrays.fill(inclusiveNs, 0);
+        levels = 0;
+    }
+    
+    /** Number of levels seen, including level 0. */
+    public int getLevels() { return levels; }
+    
+    public long getCalls(int level) { return level < levels ? calls[level] : 0; }
+    public long getComparisons(int level) { return level < levels ? comparisons[level] : 0; }
+    public long getSwaps(int level) { return level < levels ? swaps[level] : 0; }
+    public long getInclusiveTimeNs(int level) { return level < levels ? inclusiveNs[level] : 0; }
+    
+    public long getSelfTimeNs(int level) {
+        if (level == 0 || level >= levels) return 0;
+        return inclusiveNs[level] - getInclusiveTimeNs(level + 1);
+    }
+    
+    public String toCsvRow(String algorithmName, int inputSize, int level) {
+        return String.format("%s,%d,%d,%d,%d,%d,%d,%d", algorithmName, inputSize, level,
+                getCalls(level), getComparisons(level), getSwaps(level),
+                getInclusiveTimeNs(level), getSelfTimeNs(level));
+    }
+    
+    private void ensureLevel(int level) {
+        if (level >= calls.length) {
+            int size = Math.max(calls.length * 2, level + 1);
+            calls = Arrays.copyOf(calls, size);
+            comparisons = Arrays.copyOf(comparisons, size);
+            swaps = Arrays.copyOf(swaps, size);
+            inclusiveNs = Arrays.copyOf(inclusiveNs, size);
+            enteredAt = Arrays.copyOf(enteredAt, size);
+        }
+        if (level >= levels) {
+            levels = level + 1;
+        }
+    }
+}
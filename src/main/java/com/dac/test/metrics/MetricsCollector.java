@@ -3,14 +3,40 @@ package com.dac.metrics;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * Collects per-run metrics by algorithm. Averages come from O(1) running
+ * statistics, which cover every run. The history keeps only the most recent runs
+ * per algorithm ({@link #DEFAULT_HISTORY} unless configured), so memory stays
+ * constant during soak runs. Pass {@link #UNBOUNDED_HISTORY} to keep every run.
+ */
 public class MetricsCollector {
-    private final Map<String, List<AlgorithmMetrics>> metricsHistory;
+    public static final int DEFAULT_HISTORY = 1024;
+    public static final int UNBOUNDED_HISTORY = Integer.MAX_VALUE;
+    
+    private final int historyCapacity;
+    private final Map<String, AlgorithmStatistics> statistics;
     private final Map<String, AlgorithmMetrics> currentMetrics;
+    private final Map<String, LatencyHistogram> latencies;
+    private final Map<String, Map<Integer, LatencyHistogram>> latenciesBySize;
+    private final List<Consumer<String>> algorithmListeners = new CopyOnWriteArrayList<>();
     
     public MetricsCollector() {
-        this.metricsHistory = new ConcurrentHashMap<>();
+        this(DEFAULT_HISTORY);
+    }
+    
+    /** Keeps at most historyCapacity recent runs per algorithm; 0 keeps statistics only. */
+    public MetricsCollector(int historyCapacity) {
+        if (historyCapacity < 0) {
+            throw new IllegalArgumentException("History capacity must be non-negative: " + historyCapacity);
+        }
+        this.historyCapacity = historyCapacity;
+        this.statistics = new ConcurrentHashMap<>();
         this.currentMetrics = new ConcurrentHashMap<>();
+        this.latencies = new ConcurrentHashMap<>();
+        this.latenciesBySize = new ConcurrentHashMap<>();
     }
     
     public AlgorithmMetrics startCollection(String algorithmName) {
@@ -20,63 +46,144 @@ public class MetricsCollector {
     }
     
     public void endCollection(String algorithmName) {
+        endCollection(algorithmName, -1);
+    }
+    
+    /**
+     * Like {@link #endCollection(String)}, and also records the latency under inputSize
+     * and the run's comparisons per element. A negative inputSize records neither.
+     */
+    public void endCollection(String algorithmName, int inputSize) {
         AlgorithmMetrics metrics = currentMetrics.get(algorithmName);
-        if (metrics != null) {
-            metrics.endTiming();
-            metricsHistory.computeIfAbsent(algorithmName, k -> new ArrayList<>()).add(metrics);
+        if (metrics == null) return;
+        
+        metrics.endTiming();
+        long latencyNs = Math.max(0, metrics.getExecutionTimeNs());
+        statisticsFor(algorithmName).record(metrics, inputSize);
+        latencies.computeIfAbsent(algorithmName, k -> new LatencyHistogram()).record(latencyNs);
+        if (inputSize >= 0) {
+            latenciesBySize.computeIfAbsent(algorithmName, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(inputSize, k -> new LatencyHistogram())
+                    .record(latencyNs);
+        }
+    }
+    
+    private AlgorithmStatistics statisticsFor(String algorithmName) {
+        AlgorithmStatistics stats = statistics.get(algorithmName);
+        if (stats == null) {
+            AlgorithmStatistics created = new AlgorithmStatistics(algorithmName, historyCapacity);
+            stats = statistics.putIfAbsent(algorithmName, created);
+            if (stats == null) {
+                stats = created;
+                for (Consumer<String> listener : algorithmListeners) {
+                    listener.accept(algorithmName);
+                }
+            }
         }
+        return stats;
+    }
+    
+    /**
+     * Calls listener with the name of each algorithm when its first run is recorded,
+     * including again after the algorithm's history is cleared.
+     */
+    public void addAlgorithmListener(Consumer<String> listener) {
+        algorithmListeners.add(listener);
+    }
+    
+    public void removeAlgorithmListener(Consumer<String> listener) {
+        algorithmListeners.remove(listener);
     }
     
     public AlgorithmMetrics getCurrentMetrics(String algorithmName) {
         return currentMetrics.get(algorithmName);
     }
     
+    /** Retained runs for algorithmName, oldest first (the most recent runs when bounded). */
     public List<AlgorithmMetrics> getHistory(String algorithmName) {
-        return metricsHistory.getOrDefault(algorithmName, new ArrayList<>());
+        AlgorithmStatistics stats = statistics.get(algorithmName);
+        return stats == null ? new ArrayList<>() : stats.getRecent();
     }
     
     public Map<String, List<AlgorithmMetrics>> getAllHistory() {
-        return new HashMap<>(metricsHistory);
+        Map<String, List<AlgorithmMetrics>> history = new HashMap<>();
+        for (Map.Entry<String, AlgorithmStatistics> entry : statistics.entrySet()) {
+            history.put(entry.getKey(), entry.getValue().getRecent());
+        }
+        return history;
+    }
+    
+    public AlgorithmStatistics getStatistics(String algorithmName) {
+        return statistics.getOrDefault(algorithmName, new AlgorithmStatistics(algorithmName, 0));
+    }
+    
+    public Set<String> getAlgorithms() {
+        return new TreeSet<>(statistics.keySet());
+    }
+    
+    public int getHistoryCapacity() {
+        return historyCapacity;
     }
     
     public void clearHistory() {
-        metricsHistory.clear();
+        statistics.clear();
         currentMetrics.clear();
+        latencies.clear();
+        latenciesBySize.clear();
     }
     
     public void clearHistory(String algorithmName) {
-        metricsHistory.remove(algorithmName);
+        statistics.remove(algorithmName);
         currentMetrics.remove(algorithmName);
+        latencies.remove(algorithmName);
+        latenciesBySize.remove(algorithmName);
     }
     
     // Statistical analysis
     public double getAverageExecutionTime(String algorithmName) {
-        List<AlgorithmMetrics> history = getHistory(algorithmName);
-        if (history.isEmpty()) return 0.0;
-        
-        return history.stream()
-                .mapToLong(AlgorithmMetrics::getExecutionTimeNs)
-                .average()
-                .orElse(0.0);
+        return getStatistics(algorithmName).getMeanExecutionTimeNs();
     }
     
     public double getAverageComparisons(String algorithmName) {
-        List<AlgorithmMetrics> history = getHistory(algorithmName);
-        if (history.isEmpty()) return 0.0;
-        
-        return history.stream()
-                .mapToLong(AlgorithmMetrics::getComparisons)
-                .average()
-                .orElse(0.0);
+        return getStatistics(algorithmName).getMeanComparisons();
+    }
+    
+    public double getAverageComparisonsPerElement(String algorithmName) {
+        return getStatistics(algorithmName).getMeanComparisonsPerElement();
     }
     
     public double getAverageMaxDepth(String algorithmName) {
-        List<AlgorithmMetrics> history = getHistory(algorithmName);
-        if (history.isEmpty()) return 0.0;
-        
-        return history.stream()
-                .mapToInt(AlgorithmMetrics::getMaxDepth)
-                .average()
-                .orElse(0.0);
+        return getStatistics(algorithmName).getMeanMaxDepth();
+    }
+    
+    public double getExecutionTimeStdDev(String algorithmName) {
+        return getStatistics(algorithmName).getStdDevExecutionTimeNs();
+    }
+    
+    public long getRunCount(String algorithmName) {
+        return getStatistics(algorithmName).getRunCount();
+    }
+    
+    // Latency distribution (execution time in ns)
+    public LatencyHistogram getLatencyHistogram(String algorithmName) {
+        return latencies.getOrDefault(algorithmName, new LatencyHistogram());
+    }
+    
+    public LatencyHistogram getLatencyHistogram(String algorithmName, int inputSize) {
+        return latenciesBySize.getOrDefault(algorithmName, Collections.emptyMap())
+                .getOrDefault(inputSize, new LatencyHistogram());
+    }
+    
+    /** Input sizes recorded for algorithmName through endCollection(String, int), ascending. */
+    public SortedSet<Integer> getInputSizes(String algorithmName) {
+        return new TreeSet<>(latenciesBySize.getOrDefault(algorithmName, Collections.emptyMap()).keySet());
+    }
+    
+    public long getLatencyPercentile(String algorithmName, double percentile) {
+        return getLatencyHistogram(algorithmName).getValueAtPercentile(percentile);
+    }
+    
+    public long getLatencyPercentile(String algorithmName, int inputSize, double percentile) {
+        return getLatencyHistogram(algorithmName, inputSize).getValueAtPercentile(percentile);
     }
 }
@@ -0,0 +1,124 @@
+// File: src/main/java/com/dac/metrics/MetricsJmx.java
+package com.dac.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a {@link MetricsCollector} over JMX with one {@link AlgorithmStatsMXBean}
+ * per algorithm. A bean is registered as soon as the first run of its algorithm is
+ * recorded, so long runs can be watched from JConsole while they execute. A bean with
+ * the same name from an earlier collector is replaced.
+ */
+public final class MetricsJmx {
+    public static final String DOMAIN = "com.dac.metrics";
+    
+    private final MetricsCollector collector;
+    private final MBeanServer server;
+    private final Map<String, Stats> beans = new ConcurrentHashMap<>();
+    private final Consumer<String> listener = this::registerBean;
+    
+    private MetricsJmx(MetricsCollector collector, MBeanServer server) {
+        this.collector = collector;
+        this.server = server;
+    }
+    
+    /** Registers beans for collector on the platform MBean server. */
+    public static MetricsJmx register(MetricsCollector collector) {
+        return register(collector, ManagementFactory.getPlatformMBeanServer());
+    }
+    
+    public static MetricsJmx register(MetricsCollector collector, MBeanServer server) {
+        MetricsJmx jmx = new MetricsJmx(collector, server);
+        collector.addAlgorithmListener(jmx.listener);
+        for (String algorithm : collector.getAlgorithms()) {
+            jmx.registerBean(algorithm);
+        }
+        return jmx;
+    }
+    
+    public static ObjectName objectName(String algorithm) {
+        String name = algorithm.matches("[\\w.\\-]+") ? algorithm : ObjectName.quote(algorithm);
+        try {
+            return new ObjectName(DOMAIN + ":type=AlgorithmStats,name=" + name);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid algorithm name for JMX: " + algorithm, e);
+        }
+    }
+    
+    private void registerBean(String algorithm) {
+        beans.computeIfAbsent(algorithm, k -> {
+            Stats bean = new Stats(k);
+            ObjectName name = objectName(k);
+            try {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(bean, name);
+            } catch (JMException e) {
+                System.err.println("Failed to register MBean " + name + ": " + e.getMessage());
+            }
+            return bean;
+        });
+    }
+    
+    /** Stops tracking new algorithms and removes this collector's beans. */
+    public void unregister() {
+        collector.removeAlgorithmListener(listener);
+        for (String algorithm : beans.keySet()) {
+            try {
+                server.unregisterMBean(objectName(algorithm));
+            } catch (JMException e) {
+                // Already removed, for example replaced by a later collector
+            }
+        }
+        beans.clear();
+    }
+    
+    private final class Stats implements AlgorithmStatsMXBean {
+        private final String algorithm;
+        private volatile long sinceNs = System.nanoTime();
+        
+        Stats(String algorithm) {
+            this.algorithm = algorithm;
+        }
+        
+        @Override public String getAlgorithm() { return algorithm; }
+        @Override public long getRunCount() { return collector.getRunCount(algorithm); }
+        @Override public double getMeanLatencyNs() { return collector.getAverageExecutionTime(algorithm); }
+        @Override public double getStdDevLatencyNs() { return collector.getExecutionTimeStdDev(algorithm); }
+        @Override public long getP50LatencyNs() { return collector.getLatencyPercentile(algorithm, 50.0); }
+        @Override public long getP90LatencyNs() { return collector.getLatencyPercentile(algorithm, 90.0); }
+        @Override public long getP99LatencyNs() { return collector.getLatencyPercentile(algorithm, 99.0); }
+        @Override public long getP999LatencyNs() { return collector.getLatencyPercentile(algorithm, 99.9); }
+        @Override public long getMaxLatencyNs() { return collector.getLatencyHistogram(algorithm).getMax(); }
+        @Override public double getMeanComparisons() { return collector.getAverageComparisons(algorithm); }
+        @Override public double getComparisonsPerElement() { return collector.getAverageComparisonsPerElement(algorithm); }
+        @Override public double getMeanMaxDepth() { return collector.getAverageMaxDepth(algorithm); }
+        
+        @Override
+        public double getThroughputPerSecond() {
+            double seconds = (System.nanoTime() - sinceNs) / 1e9;
+            return seconds > 0 ? getRunCount() / seconds : 0.0;
+        }
+        
+        @Override
+        public void reset() {
+            collector.clearHistory(algorithm);
+            sinceNs = System.nanoTime();
+        }
+        
+        @Override
+        public void resetAll() {
+            collector.clearHistory();
+            for (Stats bean : beans.values()) {
+                bean.sinceNs = System.nanoTime();
+            }
+        }
+    }
+}
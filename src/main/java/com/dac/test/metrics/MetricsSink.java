@@ -0,0 +1,61 @@
+// File: src/main/java/com/dac/metrics/MetricsSink.java
+package com.dac.metrics;
+
+/**
+ * Recording side of the metrics API, as called from inside the algorithms.
+ * {@link AlgorithmMetrics} counts everything. {@link NoOpMetrics#INSTANCE}
+ * discards everything, so on uninstrumented runs the JIT can inline each call
+ * to an empty body and drop it.
+ */
+public interface MetricsSink {
+    void startTiming();
+    
+    void endTiming();
+    
+    void incrementComparisons();
+    
+    void addComparisons(long count);
+    
+    void incrementSwaps();
+    
+    void incrementAllocations();
+    
+    void addAllocations(long count);
+    
+    void addBytesRead(long count);
+    
+    void addBytesWritten(long count);
+    
+    void enterRecursion();
+    
+    /** Enters a recursive call on the index range [lo, hi]; the range is used by tracing. */
+    default void enterRecursion(int lo, int hi) {
+        enterRecursion();
+    }
+    
+    void exitRecursion();
+    
+    /**
+     * Folds counters collected by a sub-task into this sink. The sub-task's depths
+     * are taken relative to depthOffset.
+     */
+    void merge(AlgorithmMetrics other, int depthOffset);
+    
+    /**
+     * False if this sink discards everything, so callers can skip building per-task
+     * counters that would only be merged into it.
+     */
+    default boolean isRecording() {
+        return true;
+    }
+    
+    /** Comparisons so far, or 0 if this sink does not count them; read by {@link AlgorithmEvents}. */
+    default long getComparisons() {
+        return 0;
+    }
+    
+    /** Current recursion depth, or 0 if this sink does not track it; read by {@link AlgorithmEvents}. */
+    default int getCurrentDepth() {
+        return 0;
+    }
+}
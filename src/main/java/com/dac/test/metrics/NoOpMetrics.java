@@ -0,0 +1,31 @@
+// File: src/main/java/com/dac/metrics/NoOpMetrics.java
+package com.dac.metrics;
+
+/**
+ * Metrics sink that records nothing. Use {@link #INSTANCE}, or the overloads
+ * without a metrics argument, such as {@code MergeSort.sort(int[])}.
+ */
+public final class NoOpMetrics implements MetricsSink {
+    public static final NoOpMetrics INSTANCE = new NoOpMetrics();
+    
+    private NoOpMetrics() {
+    }
+    
+    @Override public void startTiming() { }
+    @Override public void endTiming() { }
+    @Override public void incrementComparisons() { }
+    @Override public void addComparisons(long count) { }
+    @Override public void incrementSwaps() { }
+    @Override public void incrementAllocations() { }
+    @Override public void addAllocations(long count) { }
+    @Override public void addBytesRead(long count) { }
+    @Override public void addBytesWritten(long count) { }
+    @Override public void enterRecursion() { }
+    @Override public void exitRecursion() { }
+    @Override public void merge(AlgorithmMetrics other, int depthOffset) { }
+    
+    @Override
+    public boolean isRecording() {
+        return false;
+    }
+}
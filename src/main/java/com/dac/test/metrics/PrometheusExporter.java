@@ -0,0 +1,137 @@
+// File: src/main/java/com/dac/metrics/PrometheusExporter.java
+package com.dac.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves a {@link MetricsCollector} at {@code http://127.0.0.1:<port>/metrics} in the
+ * Prometheus text exposition format (version 0.0.4). The endpoint exports:
+ * <ul>
+ *   <li>{@code dac_algorithm_runs_total} and {@code dac_algorithm_comparisons_total},
+ *       counters labelled by algorithm;</li>
+ *   <li>{@code dac_algorithm_execution_seconds}, a histogram labelled by algorithm and
+ *       input size, covering runs recorded with {@code endCollection(String, int)}.</li>
+ * </ul>
+ * Buckets are read from the collector's {@link LatencyHistogram}s at scrape time, so
+ * they inherit its 1.6% resolution. The server binds to loopback only and uses one
+ * handler thread.
+ */
+public class PrometheusExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    // 10 us to 10 s, 1-2.5-5 per decade
+    private static final long[] BUCKET_BOUNDS_NS = {
+        10_000L, 25_000L, 50_000L,
+        100_000L, 250_000L, 500_000L,
+        1_000_000L, 2_500_000L, 5_000_000L,
+        10_000_000L, 25_000_000L, 50_000_000L,
+        100_000_000L, 250_000_000L, 500_000_000L,
+        1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+        10_000_000_000L
+    };
+    
+    private final MetricsCollector collector;
+    private final HttpServer server;
+    
+    private PrometheusExporter(MetricsCollector collector, HttpServer server) {
+        this.collector = collector;
+        this.server = server;
+    }
+    
+    /** Starts serving collector on the loopback interface; port 0 picks a free port. */
+    public static PrometheusExporter start(MetricsCollector collector, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        PrometheusExporter exporter = new PrometheusExporter(collector, server);
+        server.createContext("/metrics", exporter::handle);
+        server.start();
+        return exporter;
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    public void stop() {
+        server.stop(0);
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape(collector).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /** Renders the current contents of collector in the text exposition format. */
+    public static String scrape(MetricsCollector collector) {
+        StringBuilder sb = new StringBuilder();
+        
+        header(sb, "dac_algorithm_runs_total", "counter", "Completed runs recorded by the metrics collector.");
+        for (String algorithm : collector.getAlgorithms()) {
+            sb.append("dac_algorithm_runs_total{algorithm=\"").append(escape(algorithm)).append("\"} ")
+              .append(collector.getRunCount(algorithm)).append('\n');
+        }
+        
+        header(sb, "dac_algorithm_comparisons_total", "counter", "Element comparisons across all recorded runs.");
+        for (String algorithm : collector.getAlgorithms()) {
+            sb.append("dac_algorithm_comparisons_total{algorithm=\"").append(escape(algorithm)).append("\"} ")
+              .append(collector.getStatistics(algorithm).getTotalComparisons()).append('\n');
+        }
+        
+        header(sb, "dac_algorithm_execution_seconds", "histogram", "Execution time by algorithm and input size.");
+        for (String algorithm : collector.getAlgorithms()) {
+            for (int size : collector.getInputSizes(algorithm)) {
+                LatencyHistogram histogram = collector.getLatencyHistogram(algorithm, size);
+                String labels = "algorithm=\"" + escape(algorithm) + "\",input_size=\"" + size + "\"";
+                for (long bound : BUCKET_BOUNDS_NS) {
+                    sb.append("dac_algorithm_execution_seconds_bucket{").append(labels)
+                      .append(",le=\"").append(seconds(bound)).append("\"} ")
+                      .append(histogram.getCountAtOrBelow(bound)).append('\n');
+                }
+                long count = histogram.getTotalCount();
+                sb.append("dac_algorithm_execution_seconds_bucket{").append(labels)
+                  .append(",le=\"+Inf\"} ").append(count).append('\n');
+                sb.append("dac_algorithm_execution_seconds_sum{").append(labels).append("} ")
+                  .append(seconds(histogram.getTotalValue())).append('\n');
+                sb.append("dac_algorithm_execution_seconds_count{").append(labels).append("} ")
+                  .append(count).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+    
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos).movePointLeft(9).stripTrailingZeros().toPlainString();
+    }
+    
+    // Label values escape backslash, double quote and newline
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,169 @@
+// File: src/main/java/com/dac/metrics/RecursionTracer.java
+package com.dac.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Records the recursion tree of one run as timed (lo, hi, depth) calls, fed by
+ * AlgorithmMetrics once {@link AlgorithmMetrics#enableTracing} has been called.
+ * The recording can be exported with {@link #writeChromeTrace} as a Chrome Trace
+ * Event file, which opens in Perfetto (ui.perfetto.dev) or chrome://tracing.
+ *
+ * <p>Completed calls go into a ring buffer of primitive arrays that is allocated
+ * up front. Once the buffer is full, the oldest calls are overwritten and counted
+ * as dropped. Per-depth bookkeeping grows only when a run goes deeper than any
+ * run before it, so recording does not allocate in steady state.
+ *
+ * <p>For very deep or very long runs, tracing can be limited to calls at most
+ * maxTracedDepth deep and to every sampleEvery-th call within that limit.
+ */
+public class RecursionTracer {
+    private final int capacity;
+    private final int maxTracedDepth;
+    private final int sampleEvery;
+    
+    // Ring buffer of completed calls
+    private final long[] startNs;
+    private final long[] durationNs;
+    private final int[] los;
+    private final int[] his;
+    private final int[] depths;
+    private long recorded;
+    
+    // Calls currently open, indexed by depth
+    private long[] openStart = new long[64];
+    private int[] openLo = new int[64];
+    private int[] openHi = new int[64];
+    private boolean[] openSampled = new boolean[64];
+    private long calls;
+    private long originNs;
+    
+    public RecursionTracer(int capacity) {
+        this(capacity, Integer.MAX_VALUE, 1);
+    }
+    
+    public RecursionTracer(int capacity, int maxTracedDepth, int sampleEvery) {
+        if (capacity < 1 || maxTracedDepth < 1 || sampleEvery < 1) {
+            throw new IllegalArgumentException("Capacity, depth limit and sampling interval must be positive");
+        }
+        this.capacity = capacity;
+        this.maxTracedDepth = maxTracedDepth;
+        this.sampleEvery = sampleEvery;
+        this.startNs = new long[capacity];
+        this.durationNs = new long[capacity];
+        this.los = new int[capacity];
+        this.his = new int[capacity];
+        this.depths = new int[capacity];
+        this.originNs = System.nanoTime();
+    }
+    
+    void enter(int depth, int lo, int hi) {
+        if (depth >= openSampled.length) {
+            grow(depth);
+        }
+        if (calls == 0 && recorded == 0) {
+            originNs = System.nanoTime();   // timestamps start at the first traced call
+        }
+        boolean sampled = depth <= maxTracedDepth && calls++ % sampleEvery == 0;
+        openSampled[depth] = sampled;
+        if (sampled) {
+            openLo[depth] = lo;
+            openHi[depth] = hi;
+            openStart[depth] = System.nanoTime();
+        }
+    }
+    
+    void exit(int depth) {
+        if (depth <= 0 || depth >= openSampled.length || !openSampled[depth]) {
+            return;
+        }
+        long end = System.nanoTime();
+        int slot = (int) (recorded % capacity);
+        startNs[slot] = openStart[depth];
+        durationNs[slot] = end - openStart[depth];
+        los[slot] = openLo[depth];
+        his[slot] = openHi[depth];
+        depths[slot] = depth;
+        recorded++;
+        openSampled[depth] = false;
+    }
+    
+    public void reset() {
+        recorded = 0;
+        calls = 0;
+        Arrays.fill(openSampled, false);
+        originNs = System.nanoTime();
+    }
+    
+    /** Completed calls currently held, oldest first in the export. */
+    public int getEventCount() {
+        return (int) Math.min(recorded, capacity);
+    }
+    
+    /** Calls overwritten because the buffer was full. */
+    public long getDroppedCount() {
+        return recorded - getEventCount();
+    }
+    
+    public int getCapacity() { return capacity; }
+    
+    /**
+     * Writes the held calls as Chrome Trace Event "complete" (ph = X) events. Each
+     * event carries its begin timestamp and duration in microseconds, plus lo, hi
+     * and depth as args.
+     */
+    public void writeChromeTrace(Path file, String name) throws IOException {
+        String escapedName = escape(name);
+        int count = getEventCount();
+        long first = recorded - count;
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"traceEvents\":[\n");
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((first + i) % capacity);
+                if (i > 0) writer.write(",\n");
+                String label = los[slot] >= 0
+                        ? escapedName + " [" + los[slot] + ", " + his[slot] + "]"
+                        : escapedName;
+                writer.write(String.format(Locale.ROOT,
+                        "{\"name\":\"%s\",\"cat\":\"recursion\",\"ph\":\"X\",\"ts\":%.3f,\"dur\":%.3f,"
+                                + "\"pid\":1,\"tid\":1,\"args\":{\"lo\":%d,\"hi\":%d,\"depth\":%d}}",
+                        label, (startNs[slot] - originNs) / 1000.0, durationNs[slot] / 1000.0,
+                        los[slot], his[slot], depths[slot]));
+            }
+            writer.write(String.format(Locale.ROOT,
+                    "\n],\"displayTimeUnit\":\"ns\",\"otherData\":{\"algorithm\":\"%s\",\"droppedEvents\":%d,"
+                            + "\"maxTracedDepth\":%d,\"sampleEvery\":%d}}\n",
+                    escapedName, getDroppedCount(), maxTracedDepth, sampleEvery));
+        }
+    }
+    
+    private void grow(int depth) {
+        int size = Math.max(openSampled.length * 2, depth + 1);
+        openStart = Arrays.copyOf(openStart, size);
+        openLo = Arrays.copyOf(openLo, size);
+        openHi = Arrays.copyOf(openHi, size);
+        openSampled = Arrays.copyOf(openSampled, size);
+    }
+    
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+// File: src/main/java/com/dac/metrics/ResourceProbe.java
+package com.dac.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * JVM counters that AlgorithmMetrics samples at start and end of a run.
+ * Each read returns -1 when the running JVM does not support it (allocated bytes
+ * need the HotSpot com.sun.management extension), and the delta is then reported
+ * as -1 too.
+ */
+final class ResourceProbe {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS = hotspotThreads();
+    private static final boolean CPU_TIME = enableCpuTime();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    
+    private ResourceProbe() {
+    }
+    
+    /** Bytes allocated so far by the current thread. */
+    static long threadAllocatedBytes() {
+        return HOTSPOT_THREADS == null ? -1 : HOTSPOT_THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    /** CPU time consumed so far by the current thread, in ns. */
+    static long threadCpuTimeNs() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+    
+    /** Collections so far across all collectors. */
+    static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            long count = gc.getCollectionCount();
+            if (count < 0) return -1;
+            total += count;
+        }
+        return total;
+    }
+    
+    /** Accumulated collection time so far across all collectors, in ms. */
+    static long gcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            long time = gc.getCollectionTime();
+            if (time < 0) return -1;
+            total += time;
+        }
+        return total;
+    }
+    
+    static long delta(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+    
+    private static com.sun.management.ThreadMXBean hotspotThreads() {
+        try {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) THREADS;
+                if (hotspot.isThreadAllocatedMemorySupported()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                    return hotspot;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Not a HotSpot JVM; allocated bytes stay unavailable
+        }
+        return null;
+    }
+    
+    private static boolean enableCpuTime() {
+        try {
+            if (THREADS.isCurrentThreadCpuTimeSupported()) {
+                if (!THREADS.isThreadCpuTimeEnabled()) {
+                    THREADS.setThreadCpuTimeEnabled(true);
+                }
+                return true;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Fall through: CPU time stays unavailable
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+// File: src/main/java/com/dac/metrics/RunningStatistics.java
+package com.dac.metrics;
+
+/**
+ * Streaming count, mean, variance, min and max in O(1) memory. Uses Welford's
+ * update, which stays numerically stable over long runs where a running
+ * sum of squares would not. Not thread-safe; AlgorithmStatistics guards access.
+ */
+public class RunningStatistics {
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /** Combines another sample set into this one (Chan et al. pairwise update). */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    public void reset() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+    
+    public long getCount() { return count; }
+    public double getMean() { return count == 0 ? 0.0 : mean; }
+    public double getMin() { return count == 0 ? 0.0 : min; }
+    public double getMax() { return count == 0 ? 0.0 : max; }
+    
+    /** Sample variance (n - 1 denominator); 0 with fewer than two samples. */
+    public double getVariance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+    
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
@@ -1,28 +1,30 @@
 // ArrayUtils.java - Utility functions
 package com.dac.util;
 
-import com.dac.metrics.AlgorithmMetrics;
+import com.dac.algorithms.Point;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
 import java.util.Random;
 
 public class ArrayUtils {
     private static final Random random = new Random();
     
-    public static void swap(int[] arr, int i, int j, AlgorithmMetrics metrics) {
-        if (metrics != null) metrics.incrementSwaps();
+    public static void swap(int[] arr, int i, int j, MetricsSink metrics) {
+        metrics.incrementSwaps();
         int temp = arr[i];
         arr[i] = arr[j];
         arr[j] = temp;
     }
     
-    public static boolean less(int a, int b, AlgorithmMetrics metrics) {
-        if (metrics != null) metrics.incrementComparisons();
+    public static boolean less(int a, int b, MetricsSink metrics) {
+        metrics.incrementComparisons();
         return a < b;
     }
     
     public static void shuffle(int[] arr) {
         for (int i = arr.length - 1; i > 0; i--) {
             int j = random.nextInt(i + 1);
-            swap(arr, i, j, null);
+            swap(arr, i, j, NoOpMetrics.INSTANCE);
         }
     }
     
@@ -50,6 +52,80 @@ public class ArrayUtils {
         return arr;
     }
     
+    // Already-sorted input: quadratic for a naive first-element pivot
+    public static int[] generateWorstCaseQuickSort(int n) {
+        return generateSortedArray(n);
+    }
+    
+    public static int[] generateDuplicateArray(int n, int distinctValues) {
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextInt(distinctValues);
+        }
+        return arr;
+    }
+    
+    public static Point[] generateRandomPoints(int n) {
+        return generateRandomPoints(n, 1000.0);
+    }
+    
+    public static Point[] generateRandomPoints(int n, double range) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new Point(random.nextDouble() * range, random.nextDouble() * range);
+        }
+        return points;
+    }
+    
+    // Points on the line y = x, consecutive points sqrt(2) apart
+    public static Point[] generateCollinearPoints(int n) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new Point(i, i);
+        }
+        return points;
+    }
+    
+    /**
+     * Stable sort of idx by keys[idx[i]], so callers can order points by a
+     * coordinate without boxing indices or moving the coordinate arrays.
+     */
+    public static void sortIndicesByKey(int[] idx, double[] keys) {
+        if (idx.length <= 1) return;
+        int[] aux = new int[idx.length];
+        sortIndicesByKey(idx, aux, keys, 0, idx.length - 1);
+    }
+    
+    // Sorts idx[lo..hi] using aux[lo..hi] as scratch; allocation-free for reused buffers
+    public static void sortIndicesByKey(int[] idx, int[] aux, double[] keys, int lo, int hi) {
+        if (hi <= lo + 16) {
+            for (int i = lo + 1; i <= hi; i++) {
+                int key = idx[i];
+                int j = i - 1;
+                while (j >= lo && keys[idx[j]] > keys[key]) {
+                    idx[j + 1] = idx[j];
+                    j--;
+                }
+                idx[j + 1] = key;
+            }
+            return;
+        }
+        
+        int mid = lo + (hi - lo) / 2;
+        sortIndicesByKey(idx, aux, keys, lo, mid);
+        sortIndicesByKey(idx, aux, keys, mid + 1, hi);
+        if (keys[idx[mid]] <= keys[idx[mid + 1]]) return;
+        
+        System.arraycopy(idx, lo, aux, lo, hi - lo + 1);
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) idx[k] = aux[j++];
+            else if (j > hi) idx[k] = aux[i++];
+            else if (keys[aux[j]] < keys[aux[i]]) idx[k] = aux[j++];
+            else idx[k] = aux[i++];
+        }
+    }
+    
     public static boolean isSorted(int[] arr) {
         for (int i = 1; i < arr.length; i++) {
             if (arr[i] < arr[i-1]) return false;
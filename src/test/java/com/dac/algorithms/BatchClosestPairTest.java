@@ -0,0 +1,79 @@
+// File: src/test/java/com/dac/algorithms/BatchClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchClosestPairTest {
+    private AlgorithmMetrics metrics;
+    private Random random;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("BatchClosestPair");
+        random = new Random(42);
+    }
+    
+    @Test
+    void testMatchesBruteForcePerProblem() {
+        // Enough problems to split into several blocks, with tiny and lattice tiles mixed in
+        int problems = 3 * BatchClosestPair.BLOCK_PROBLEMS + 17;
+        int[] offsets = new int[problems + 1];
+        for (int p = 0; p < problems; p++) {
+            offsets[p + 1] = offsets[p] + (p % 50 == 0 ? random.nextInt(2) : 2 + random.nextInt(120));
+        }
+        double[] xy = new double[2 * offsets[problems]];
+        for (int i = 0; i < xy.length; i++) {
+            xy[i] = i % 7 == 0 ? random.nextInt(5) : random.nextDouble() * 100.0;
+        }
+        int[] pairs = new int[2 * problems];
+        double[] distances = new double[problems];
+        
+        BatchClosestPair.findClosestPairs(xy, offsets, pairs, distances, metrics, new ForkJoinPool(4));
+        
+        for (int p = 0; p < problems; p++) {
+            int lo = offsets[p], hi = offsets[p + 1];
+            if (hi - lo < 2) {
+                assertEquals(-1, pairs[2 * p]);
+                assertEquals(Double.POSITIVE_INFINITY, distances[p]);
+                continue;
+            }
+            double expected = Double.POSITIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                for (int j = i + 1; j < hi; j++) {
+                    expected = Math.min(expected, distance(xy, i, j));
+                }
+            }
+            assertEquals(expected, distances[p], 0.0, "Problem " + p);
+            
+            int a = pairs[2 * p], b = pairs[2 * p + 1];
+            assertTrue(a >= lo && a < hi && b >= lo && b < hi && a != b, "Problem " + p);
+            assertEquals(expected, distance(xy, a, b), 0.0);
+        }
+        assertTrue(metrics.getComparisons() > 0);
+    }
+    
+    @Test
+    void testInvalidInput() {
+        int[] pairs = new int[4];
+        double[] distances = new double[2];
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchClosestPair.findClosestPairs(new double[5], new int[]{0, 2}, pairs, distances, metrics));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchClosestPair.findClosestPairs(new double[8], new int[]{0, 3, 2}, pairs, distances, metrics));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchClosestPair.findClosestPairs(new double[8], new int[]{0, 2, 5}, pairs, distances, metrics));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchClosestPair.findClosestPairs(new double[8], new int[]{0, 2, 4}, new int[3], distances, metrics));
+    }
+    
+    private static double distance(double[] xy, int i, int j) {
+        double dx = xy[2 * i] - xy[2 * j];
+        double dy = xy[2 * i + 1] - xy[2 * j + 1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
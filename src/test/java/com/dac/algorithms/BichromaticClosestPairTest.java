@@ -0,0 +1,83 @@
+// File: src/test/java/com/dac/algorithms/BichromaticClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BichromaticClosestPairTest {
+    private AlgorithmMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("BichromaticClosestPair");
+    }
+    
+    @Test
+    void testCorrectness() {
+        for (int trial = 0; trial < 50; trial++) {
+            Point[] a = ArrayUtils.generateRandomPoints(1 + trial * 3);
+            Point[] b = ArrayUtils.generateRandomPoints(1 + (50 - trial) * 3);
+            assertMatchesBruteForce(a, b);
+        }
+    }
+    
+    @Test
+    void testIgnoresSameSetPairs() {
+        // Each set has a much closer internal pair than any cross pair
+        Point[] a = {new Point(0, 0), new Point(0, -0.01)};
+        Point[] b = {new Point(10, 0), new Point(10, 0.01), new Point(3, 4)};
+        
+        PointPair result = BichromaticClosestPair.findClosestPair(a, b, metrics);
+        
+        assertEquals(5.0, result.getDistance(), 1e-9);
+        assertEquals(new Point(0, 0), result.p1);
+        assertEquals(new Point(3, 4), result.p2);
+    }
+    
+    @Test
+    void testSeparatedAndOverlappingSets() {
+        Point[] a = ArrayUtils.generateRandomPoints(500, 100.0);
+        Point[] b = new Point[300];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = new Point(500 + i, 50);
+        }
+        assertMatchesBruteForce(a, b);
+        
+        Point[] shared = {new Point(1, 1), new Point(2, 2)};
+        assertEquals(0.0, BichromaticClosestPair.findClosestPair(shared, shared.clone(), metrics).getDistance(), 0.0);
+    }
+    
+    @Test
+    void testSeparatedClustersStayNearLinear() {
+        // Two 5000-point clusters 100 apart; every cross pair is close to the best distance
+        int n = 5000;
+        Point[] a = ArrayUtils.generateRandomPoints(n, 100.0);
+        Point[] b = ArrayUtils.generateRandomPoints(n, 100.0);
+        for (int i = 0; i < n; i++) {
+            b[i] = new Point(b[i].x + 200, b[i].y);
+        }
+        
+        assertMatchesBruteForce(a, b);
+        long comparisons = metrics.getComparisons();
+        // Most queries are rejected by the tree's bounding box without a single distance
+        assertTrue(comparisons < a.length + b.length,
+                comparisons + " comparisons for " + a.length + " x " + b.length + " points");
+    }
+    
+    private void assertMatchesBruteForce(Point[] a, Point[] b) {
+        double expected = Double.POSITIVE_INFINITY;
+        for (Point p : a) {
+            for (Point q : b) {
+                expected = Math.min(expected, p.distanceTo(q));
+            }
+        }
+        
+        metrics.reset();
+        PointPair result = BichromaticClosestPair.findClosestPair(a, b, metrics);
+        assertEquals(expected, result.getDistance(), 1e-9);
+        assertTrue(metrics.getComparisons() <= (long) a.length * b.length);
+    }
+}
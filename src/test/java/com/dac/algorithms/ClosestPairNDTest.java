@@ -0,0 +1,117 @@
+// File: src/test/java/com/dac/algorithms/ClosestPairNDTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClosestPairNDTest {
+    private AlgorithmMetrics metrics;
+    private Random random;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("ClosestPairND");
+        random = new Random(42);
+    }
+    
+    @Test
+    void testCorrectnessAcrossDimensions() {
+        for (int dim = 1; dim <= 8; dim++) {
+            for (int trial = 0; trial < 10; trial++) {
+                double[] coords = randomCoords(2 + trial * 25, dim, 1000.0);
+                assertMatchesBruteForce(coords, dim);
+            }
+        }
+    }
+    
+    @Test
+    void testDuplicatesAndLattice() {
+        for (int dim : new int[]{2, 3, 4}) {
+            double[] coords = new double[300 * dim];
+            for (int i = 0; i < coords.length; i++) {
+                coords[i] = random.nextInt(4);
+            }
+            assertMatchesBruteForce(coords, dim);
+        }
+    }
+    
+    @Test
+    void testPairJustUnderCellSide() {
+        // The GridClosestPairTest input with z = 0: with a cell side of exactly the
+        // first distance, points 2 and 3 could land two cells apart
+        double[] coords = {
+            0, 0, 0,
+            0, 6.97685949679374, 0,
+            55.81487597434991, 500, 0,
+            62.791735471143646, 500, 0
+        };
+        for (int run = 0; run < 200; run++) {
+            IndexPair result = ClosestPairND.findClosestPair(coords, 3, metrics);
+            assertEquals(6.976859496793736, result.distance, 0.0);
+            assertEquals(5, result.first + result.second);
+        }
+    }
+    
+    @Test
+    void testLarge3DCloud() {
+        double[] coords = randomCoords(200_000, 3, 1.0);
+        
+        IndexPair result = ClosestPairND.findClosestPair(coords, 3, metrics);
+        
+        assertTrue(result.distance > 0);
+        assertEquals(result.distance, Math.sqrt(ClosestPairND.distanceSq(coords, result.first * 3, result.second * 3, 3)), 1e-12);
+        assertTrue(metrics.getExecutionTimeMs() < 5000, "3D grid should be near-linear");
+    }
+    
+    @Test
+    void testHighDimensionalScaling() {
+        // The grid's work per point should not grow with n; the old slab sweep rose
+        // from about 300 to 1700 comparisons per point between 5k and 80k points
+        for (int n : new int[]{5_000, 40_000}) {
+            double[] coords = randomCoords(n, 8, 1.0);
+            metrics.reset();
+            IndexPair result = ClosestPairND.findClosestPair(coords, 8, metrics);
+            
+            assertEquals(result.distance, Math.sqrt(ClosestPairND.distanceSq(coords, result.first * 8, result.second * 8, 8)), 1e-12);
+            assertTrue(metrics.getComparisons() < 100L * n, metrics.getComparisons() + " comparisons for " + n + " points");
+        }
+        
+        for (int dim : new int[]{12, 16}) {
+            assertMatchesBruteForce(randomCoords(400, dim, 1.0), dim);
+        }
+    }
+    
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> ClosestPairND.findClosestPair(new double[5], 2, metrics));
+        assertThrows(IllegalArgumentException.class, () -> ClosestPairND.findClosestPair(new double[3], 3, metrics));
+        assertThrows(IllegalArgumentException.class, () -> ClosestPairND.findClosestPair(new double[4], 0, metrics));
+    }
+    
+    private double[] randomCoords(int n, int dim, double range) {
+        double[] coords = new double[n * dim];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = random.nextDouble() * range;
+        }
+        return coords;
+    }
+    
+    private void assertMatchesBruteForce(double[] coords, int dim) {
+        int n = coords.length / dim;
+        double expected = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                expected = Math.min(expected, ClosestPairND.distanceSq(coords, i * dim, j * dim, dim));
+            }
+        }
+        
+        metrics.reset();
+        IndexPair result = ClosestPairND.findClosestPair(coords, dim, metrics);
+        
+        assertEquals(Math.sqrt(expected), result.distance, 1e-9, "Dimension " + dim);
+        assertNotEquals(result.first, result.second);
+    }
+}
@@ -8,12 +8,10 @@ import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ClosestPairTest {
-    private ClosestPair cp;
     private AlgorithmMetrics metrics;
     
     @BeforeEach
     void setUp() {
-        cp = new ClosestPair();
         metrics = new AlgorithmMetrics("ClosestPair");
     }
     
@@ -24,8 +22,8 @@ public class ClosestPairTest {
             Point[] points = ArrayUtils.generateRandomPoints(20);
             metrics.reset();
             
-            double fastResult = cp.findClosestDistance(points, metrics);
-            double bruteResult = cp.bruteForce(points);
+            double fastResult = closestDistance(points, metrics);
+            double bruteResult = bruteForceDistance(points);
             
             assertEquals(bruteResult, fastResult, 1e-9, 
                     String.format("Trial %d: Fast=%.9f, Brute=%.9f", trial, fastResult, bruteResult));
@@ -36,7 +34,7 @@ public class ClosestPairTest {
     void testSpecialCases() {
         // Two points
         Point[] two = {new Point(0, 0), new Point(3, 4)};
-        assertEquals(5.0, cp.findClosestDistance(two, metrics), 1e-9);
+        assertEquals(5.0, closestDistance(two, metrics), 1e-9);
         
         // Three points forming a triangle
         Point[] triangle = {
@@ -44,12 +42,12 @@ public class ClosestPairTest {
             new Point(1, 0), 
             new Point(0.5, Math.sqrt(3)/2)
         };
-        assertEquals(1.0, cp.findClosestDistance(triangle, metrics), 1e-9);
+        assertEquals(1.0, closestDistance(triangle, metrics), 1e-9);
         
         // Collinear points
         Point[] collinear = ArrayUtils.generateCollinearPoints(10);
         double expected = Math.sqrt(2); // Distance between consecutive points on y=x line
-        assertEquals(expected, cp.findClosestDistance(collinear, metrics), 1e-9);
+        assertEquals(expected, closestDistance(collinear, metrics), 1e-9);
         
         // Points with same coordinates
         Point[] duplicate = {
@@ -58,7 +56,7 @@ public class ClosestPairTest {
             new Point(1, 1), // Duplicate
             new Point(3, 3)
         };
-        assertEquals(0.0, cp.findClosestDistance(duplicate, metrics), 1e-9);
+        assertEquals(0.0, closestDistance(duplicate, metrics), 1e-9);
     }
     
     @Test
@@ -70,7 +68,7 @@ public class ClosestPairTest {
             new Point(1, 1)
         };
         
-        PointPair result = cp.findClosestPair(points, metrics);
+        PointPair result = ClosestPair.findClosestPair(points, metrics);
         assertNotNull(result);
         assertEquals(1.0, result.getDistance(), 1e-9);
         
@@ -97,7 +95,7 @@ public class ClosestPairTest {
             Point[] points = ArrayUtils.generateRandomPoints(size);
             
             long startTime = System.nanoTime();
-            double result = cp.findClosestDistance(points, metrics);
+            double result = closestDistance(points, metrics);
             long endTime = System.nanoTime();
             
             assertTrue(result > 0, "Should find a valid distance");
@@ -120,12 +118,12 @@ public class ClosestPairTest {
         
         // Random uniform distribution
         Point[] uniform = ArrayUtils.generateRandomPoints(size);
-        double uniformResult = cp.findClosestDistance(uniform, metrics);
+        double uniformResult = closestDistance(uniform, metrics);
         assertTrue(uniformResult > 0);
         
         // Points in a small area (should have closer pairs)
         Point[] clustered = ArrayUtils.generateRandomPoints(size, 10.0);
-        double clusteredResult = cp.findClosestDistance(clustered, metrics);
+        double clusteredResult = closestDistance(clustered, metrics);
         assertTrue(clusteredResult > 0);
         
         // Generally, clustered points should have smaller minimum distances
@@ -144,40 +142,58 @@ public class ClosestPairTest {
             new Point(11, 0)
         };
         
-        double result = cp.findClosestDistance(points, metrics);
+        double result = closestDistance(points, metrics);
         assertEquals(0.2, result, 1e-9); // Distance between (4.9,0) and (5.1,0)
     }
     
     @Test
     void testComparisonWithBruteForce() {
         // Compare performance: O(n log n) vs O(n²)
-        int[] sizes = {100, 500, 1000};
+        int[] sizes = {100, 500, 1000, 5000, 10000};
+        
+        // Warm up both paths so the timings below compare compiled code
+        for (int i = 0; i < 20; i++) {
+            Point[] warmUp = ArrayUtils.generateRandomPoints(1000);
+            closestDistance(warmUp, metrics);
+            bruteForceDistance(warmUp);
+        }
         
         for (int size : sizes) {
             Point[] points = ArrayUtils.generateRandomPoints(size);
             
-            // Fast algorithm
-            metrics.reset();
-            long fastStart = System.nanoTime();
-            double fastResult = cp.findClosestDistance(points, metrics);
-            long fastEnd = System.nanoTime();
+            // Best of several runs, so a GC pause in one run does not decide the comparison
+            double fastResult = 0, bruteResult = 0;
+            long fastNs = Long.MAX_VALUE, bruteNs = Long.MAX_VALUE;
+            for (int run = 0; run < 5; run++) {
+                metrics.reset();
+                long fastStart = System.nanoTime();
+                fastResult = closestDistance(points, metrics);
+                fastNs = Math.min(fastNs, System.nanoTime() - fastStart);
+                
+                long bruteStart = System.nanoTime();
+                bruteResult = bruteForceDistance(points);
+                bruteNs = Math.min(bruteNs, System.nanoTime() - bruteStart);
+            }
             
             // Brute force (only for smaller sizes)
-            if (size <= 1000) {
-                long bruteStart = System.nanoTime();
-                double bruteResult = cp.bruteForce(points);
-                long bruteEnd = System.nanoTime();
-                
+            if (size <= 10000) {
                 assertEquals(bruteResult, fastResult, 1e-9, "Results should match");
                 
-                double fastTime = (fastEnd - fastStart) / 1_000_000.0;
-                double bruteTime = (bruteEnd - bruteStart) / 1_000_000.0;
+                double fastTime = fastNs / 1_000_000.0;
+                double bruteTime = bruteNs / 1_000_000.0;
                 
                 System.out.printf("Size %d: Fast %.2fms, Brute %.2fms, Speedup %.2fx%n", 
                         size, fastTime, bruteTime, bruteTime / fastTime);
                 
-                // For larger sizes, fast should be significantly faster
+                // Distance evaluations drop below n(n-1)/2 early
                 if (size >= 500) {
+                    assertTrue(metrics.getComparisons() < (long) size * (size - 1) / 8,
+                            "Size " + size + ": " + metrics.getComparisons() + " comparisons");
+                }
+                // The squared-distance brute force costs a few ns per pair, so the two
+                // presorts only pay off in wall time beyond a few thousand points;
+                // at 10000 the margin survives a loaded machine
+                if (size >= 10000) {
                     assertTrue(fastTime < bruteTime, "Fast algorithm should be faster for large inputs");
                 }
             }
@@ -188,7 +204,7 @@ public class ClosestPairTest {
     void testMetricsCollection() {
         Point[] points = ArrayUtils.generateRandomPoints(1000);
         
-        double result = cp.findClosestDistance(points, metrics);
+        double result = closestDistance(points, metrics);
         
         // Verify metrics were collected
         assertTrue(metrics.getExecutionTimeNs() > 0, "Execution time should be recorded");
@@ -200,4 +216,116 @@ public class ClosestPairTest {
         assertTrue(result > 0, "Should find a positive distance");
         assertTrue(result < 1000 * Math.sqrt(2), "Distance should be reasonable for 1000x1000 area");
     }
+    
+    @Test
+    void testInPlaceMatchesBruteForce() {
+        for (int trial = 0; trial < 50; trial++) {
+            Point[] points = ClosestPair.generateRandomPoints(2 + trial * 7);
+            
+            double expected = ClosestPair.bruteForceClosestPair(points, new AlgorithmMetrics("Brute")).distance;
+            metrics.reset();
+            PointPair result = ClosestPair.findClosestPairInPlace(points, metrics);
+            
+            assertEquals(expected, result.getDistance(), 1e-9, "Trial " + trial);
+        }
+        
+        // Many points sharing the same x-coordinate
+        Point[] column = new Point[64];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = new Point(i % 2, (i * 37) % 64);
+        }
+        double expected = ClosestPair.bruteForceClosestPair(column, new AlgorithmMetrics("Brute")).distance;
+        assertEquals(expected, ClosestPair.findClosestPairInPlace(column, metrics).getDistance(), 1e-9);
+    }
+    
+    @Test
+    void testInPlaceAllocationsAreLinear() {
+        int size = 4096;
+        Point[] points = ClosestPair.generateRandomPoints(size);
+        
+        metrics.reset();
+        ClosestPair.findClosestPairInPlace(points, metrics);
+        
+        assertEquals(2L * size, metrics.getAllocations(), "Only the x-sorted copy and scratch buffer");
+    }
+    
+    @Test
+    void testKClosestPairsMatchBruteForce() {
+        for (int trial = 0; trial < 20; trial++) {
+            Point[] points = ClosestPair.generateRandomPoints(20 + trial * 10);
+            double[] expected = allPairDistances(points);
+            int k = 1 + trial * 7;
+            
+            PairBuffer result = ClosestPair.findKClosestPairs(points, k, metrics);
+            
+            assertEquals(Math.min(k, expected.length), result.size());
+            for (int i = 0; i < result.size(); i++) {
+                assertEquals(expected[i], result.getDistance(i), 1e-9, "Trial " + trial + ", rank " + i);
+                assertEquals(result.getDistance(i),
+                        points[result.getFirst(i)].distanceTo(points[result.getSecond(i)]), 1e-9);
+            }
+        }
+        
+        // k larger than the number of pairs returns every pair
+        Point[] four = {new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(1, 1)};
+        assertEquals(6, ClosestPair.findKClosestPairs(four, 100, metrics).size());
+    }
+    
+    @Test
+    void testPairsWithinMatchBruteForce() {
+        Point[] points = ClosestPair.generateRandomPoints(400);
+        double[] distances = allPairDistances(points);
+        
+        for (double r : new double[]{0.0, 5.0, 25.0, 120.0}) {
+            long expected = java.util.Arrays.stream(distances).filter(d -> d <= r).count();
+            PairBuffer result = ClosestPair.findPairsWithin(points, r, metrics);
+            
+            assertEquals(expected, result.size(), "Radius " + r);
+            for (int i = 0; i < result.size(); i++) {
+                assertTrue(result.getFirst(i) < result.getSecond(i));
+                assertTrue(result.getDistance(i) <= r);
+            }
+        }
+        
+        Point[] duplicate = {new Point(1, 1), new Point(2, 2), new Point(1, 1)};
+        assertEquals(1, ClosestPair.findPairsWithin(duplicate, 0.0, metrics).size());
+    }
+    
+    @Test
+    void testPairsWithinKeepsPairsAtExactlyR() {
+        Point p = new Point(0, 0);
+        Point q = new Point(2, 3);
+        double r = p.distanceTo(q);
+        assertTrue(r * r < p.distanceSquaredTo(q), "Rounding in r * r is what this case covers");
+        assertEquals(1, ClosestPair.findPairsWithin(new Point[]{p, q}, r, metrics).size());
+        
+        java.util.Random random = new java.util.Random(42);
+        for (int trial = 0; trial < 10_000; trial++) {
+            Point a = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            Point b = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            double d = a.distanceTo(b);
+            assertEquals(1, ClosestPair.findPairsWithin(new Point[]{a, b}, d, metrics).size(),
+                    "Pair " + a + " " + b + " at distance " + d);
+        }
+    }
+    
+    private static double closestDistance(Point[] points, AlgorithmMetrics metrics) {
+        return ClosestPair.findClosestPair(points, metrics).getDistance();
+    }
+    
+    private static double bruteForceDistance(Point[] points) {
+        return ClosestPair.bruteForceClosestPair(points, new AlgorithmMetrics("Brute")).getDistance();
+    }
+    
+    private static double[] allPairDistances(Point[] points) {
+        double[] distances = new double[points.length * (points.length - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < points.length; i++) {
+            for (int j = i + 1; j < points.length; j++) {
+                distances[k++] = points[i].distanceTo(points[j]);
+            }
+        }
+        java.util.Arrays.sort(distances);
+        return distances;
+    }
 }
@@ -45,3 +45,26 @@ public class DeterministicSelectTest {
     
     @Test
     void testEdgeCases() {
+        // Single element
+        assertEquals(42, selector.select(new int[]{42}, 0, metrics));
+        
+        // All duplicates
+        int[] same = new int[100];
+        java.util.Arrays.fill(same, 7);
+        assertEquals(7, selector.select(same, 50, metrics));
+        
+        // Sorted and reverse-sorted inputs
+        int[] sorted = ArrayUtils.generateSortedArray(200);
+        int[] expected = sorted.clone();
+        java.util.Arrays.sort(expected);
+        assertEquals(expected[100], selector.select(sorted.clone(), 100, metrics));
+        int[] reversed = ArrayUtils.generateReverseSortedArray(200);
+        expected = reversed.clone();
+        java.util.Arrays.sort(expected);
+        assertEquals(expected[100], selector.select(reversed, 100, metrics));
+        
+        // Out-of-range k
+        assertThrows(IllegalArgumentException.class, () -> selector.select(new int[]{1, 2}, 2, metrics));
+        assertThrows(IllegalArgumentException.class, () -> selector.select(new int[]{1, 2}, -1, metrics));
+    }
+}
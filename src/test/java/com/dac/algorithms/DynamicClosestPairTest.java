@@ -0,0 +1,90 @@
+// File: src/test/java/com/dac/algorithms/DynamicClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicClosestPairTest {
+    
+    @Test
+    void testChurnMatchesBruteForce() {
+        Random random = new Random(42);
+        DynamicClosestPair dynamic = new DynamicClosestPair();
+        List<Point> current = new ArrayList<>();
+        
+        for (int op = 0; op < 2000; op++) {
+            if (current.size() < 3 || random.nextInt(3) > 0) {
+                Point p = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+                dynamic.insert(p);
+                current.add(p);
+            } else {
+                Point p = current.remove(random.nextInt(current.size()));
+                assertTrue(dynamic.remove(p));
+            }
+            
+            if (op % 10 == 0) {
+                assertEquals(current.size(), dynamic.size());
+                if (current.size() < 2) {
+                    assertNull(dynamic.closest());
+                    continue;
+                }
+                double expected = ClosestPair.bruteForceClosestPair(
+                        current.toArray(new Point[0]), new AlgorithmMetrics("Brute")).distance;
+                assertEquals(expected, dynamic.closest().getDistance(), 1e-9, "Operation " + op);
+            }
+        }
+    }
+    
+    @Test
+    void testRemovingClosestPair() {
+        Point a = new Point(0, 0), b = new Point(0.1, 0);
+        Point[] initial = {a, b, new Point(5, 5), new Point(5, 6), new Point(20, 20)};
+        DynamicClosestPair dynamic = new DynamicClosestPair(initial, new AlgorithmMetrics("Dynamic"));
+        
+        assertEquals(0.1, dynamic.closest().getDistance(), 1e-9);
+        assertTrue(dynamic.remove(a));
+        assertEquals(1.0, dynamic.closest().getDistance(), 1e-9);
+    }
+    
+    @Test
+    void testClosestPairJustUnderCellSide() {
+        // a-b sets the cell side to 2 |ab| = side. After a leaves, c-d is closest at
+        // just under side, with e-f a few ulps behind. With cells of exactly side,
+        // rounding put c and d two cells apart, and e-f was trusted instead.
+        double side = 6.97685949679374;
+        Point a = new Point(0, side / 2), b = new Point(0, 0);
+        Point c = new Point(55.81487597434991, 500), d = new Point(62.791735471143646, 500);
+        Point e = new Point(1000, 0), f = new Point(1000, 6.976859496793738);
+        DynamicClosestPair dynamic = new DynamicClosestPair(new Point[] {a, b, c, d, e, f});
+        assertEquals(side / 2, dynamic.closest().getDistance(), 0.0);
+        
+        for (int round = 0; round < 3; round++) {
+            assertTrue(dynamic.remove(a));
+            assertEquals(6.976859496793736, dynamic.closest().getDistance(), 0.0, "Round " + round);
+            dynamic.insert(a);
+            assertEquals(side / 2, dynamic.closest().getDistance(), 0.0);
+        }
+    }
+    
+    @Test
+    void testDuplicatesAndMissingPoints() {
+        DynamicClosestPair dynamic = new DynamicClosestPair();
+        assertNull(dynamic.closest());
+        
+        dynamic.insert(new Point(1, 1));
+        assertNull(dynamic.closest());
+        
+        dynamic.insert(new Point(1, 1));
+        dynamic.insert(new Point(3, 3));
+        assertEquals(0.0, dynamic.closest().getDistance(), 0.0);
+        
+        assertTrue(dynamic.remove(new Point(1, 1)));
+        assertEquals(Math.sqrt(8), dynamic.closest().getDistance(), 1e-9);
+        assertFalse(dynamic.remove(new Point(7, 7)));
+        assertTrue(dynamic.contains(new Point(1, 1)));
+    }
+}
@@ -0,0 +1,111 @@
+// File: src/test/java/com/dac/algorithms/ExternalClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalClosestPairTest {
+    private AlgorithmMetrics metrics;
+    
+    @TempDir
+    Path tempDir;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("ExternalClosestPair");
+    }
+    
+    @Test
+    void testMatchesInMemoryAcrossManySlabs() throws IOException {
+        // A 64-point budget forces runs, a multi-way merge and many slab boundaries
+        long budget = 64L * ExternalClosestPair.RESIDENT_BYTES_PER_CHUNK_POINT;
+        for (int trial = 0; trial < 20; trial++) {
+            Point[] points = ArrayUtils.generateRandomPoints(100 + trial * 97);
+            assertMatchesInMemory(points, budget);
+        }
+    }
+    
+    @Test
+    void testFitsInOneChunk() throws IOException {
+        Point[] points = ArrayUtils.generateRandomPoints(500);
+        assertMatchesInMemory(points, 1L << 20);
+    }
+    
+    @Test
+    void testRecordsIo() throws IOException {
+        int n = 2000;
+        Path file = tempDir.resolve("points.bin");
+        ExternalClosestPair.writePoints(file, ArrayUtils.generateRandomPoints(n));
+        
+        // 16 runs of 128 points, all merged in one pass
+        long budget = 128L * ExternalClosestPair.RESIDENT_BYTES_PER_CHUNK_POINT;
+        assertEquals(16, ExternalClosestPair.mergeFanIn(budget, 16));
+        
+        Path work = Files.createDirectory(tempDir.resolve("work"));
+        ExternalClosestPair.findClosestPair(file, budget, work, metrics);
+        
+        // Runs and the merged file are each written once; the input is read once
+        // and the runs and the merged file are each read back once
+        assertEquals(2L * n * ExternalClosestPair.POINT_BYTES, metrics.getBytesWritten());
+        assertEquals(3L * n * ExternalClosestPair.POINT_BYTES, metrics.getBytesRead());
+        try (Stream<Path> remaining = Files.list(work)) {
+            assertEquals(0, remaining.count(), "temporary files should be removed");
+        }
+    }
+    
+    @Test
+    void testManyRunsMergeInBoundedPasses() throws IOException {
+        // 313 runs of 64 points against a fan-in of 23: 313 -> 14 -> 1 in two passes
+        int n = 20_000;
+        long budget = 64L * ExternalClosestPair.RESIDENT_BYTES_PER_CHUNK_POINT;
+        int fanIn = ExternalClosestPair.mergeFanIn(budget, 313);
+        assertEquals(23, fanIn);
+        assertTrue((fanIn + 1L) * ExternalClosestPair.mergeBufferBytes(budget, fanIn) <= budget / 2);
+        
+        Point[] points = ArrayUtils.generateRandomPoints(n);
+        Path file = tempDir.resolve("points.bin");
+        ExternalClosestPair.writePoints(file, points);
+        Path work = Files.createDirectory(tempDir.resolve("work"));
+        
+        PointPair expected = GridClosestPair.findClosestPair(points.clone(), new AlgorithmMetrics("Grid"));
+        PointPair actual = ExternalClosestPair.findClosestPair(file, budget, work, metrics);
+        assertEquals(expected.getDistance(), actual.getDistance(), 0.0);
+        
+        // Runs plus two merge passes written; input, two passes and the slabs read
+        assertEquals(3L * n * ExternalClosestPair.POINT_BYTES, metrics.getBytesWritten());
+        assertEquals(4L * n * ExternalClosestPair.POINT_BYTES, metrics.getBytesRead());
+        try (Stream<Path> remaining = Files.list(work)) {
+            assertEquals(0, remaining.count(), "temporary files should be removed");
+        }
+    }
+    
+    @Test
+    void testRejectsMalformedInput() throws IOException {
+        Path file = tempDir.resolve("truncated.bin");
+        Files.write(file, new byte[ExternalClosestPair.POINT_BYTES + 3]);
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalClosestPair.findClosestPair(file, 1L << 20, metrics));
+        
+        Path points = tempDir.resolve("points.bin");
+        ExternalClosestPair.writePoints(points, ArrayUtils.generateRandomPoints(10));
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalClosestPair.findClosestPair(points, 100, metrics));
+    }
+    
+    private void assertMatchesInMemory(Point[] points, long budget) throws IOException {
+        Path file = tempDir.resolve("points.bin");
+        ExternalClosestPair.writePoints(file, points);
+        
+        PointPair expected = GridClosestPair.findClosestPair(points.clone(), new AlgorithmMetrics("Grid"));
+        PointPair actual = ExternalClosestPair.findClosestPair(file, budget, metrics);
+        assertEquals(expected.getDistance(), actual.getDistance(), 0.0);
+    }
+}
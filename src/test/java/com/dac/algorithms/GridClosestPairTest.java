@@ -0,0 +1,82 @@
+// File: src/test/java/com/dac/algorithms/GridClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridClosestPairTest {
+    private AlgorithmMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("GridClosestPair");
+    }
+    
+    @Test
+    void testCorrectness() {
+        for (int trial = 0; trial < 50; trial++) {
+            Point[] points = ArrayUtils.generateRandomPoints(2 + trial * 13);
+            assertMatchesBruteForce(points);
+        }
+    }
+    
+    @Test
+    void testDistributions() {
+        assertMatchesBruteForce(ArrayUtils.generateRandomPoints(800, 1e-6));
+        assertMatchesBruteForce(ArrayUtils.generateRandomPoints(800, 1e9));
+        assertMatchesBruteForce(ArrayUtils.generateCollinearPoints(800));
+        
+        // Integer lattice: many ties and many points per cell
+        Point[] lattice = new Point[900];
+        for (int i = 0; i < lattice.length; i++) {
+            lattice[i] = new Point(i % 30, i / 30);
+        }
+        assertMatchesBruteForce(lattice);
+    }
+    
+    @Test
+    void testDuplicates() {
+        Point[] duplicate = {
+            new Point(1, 1),
+            new Point(2, 2),
+            new Point(1, 1),
+            new Point(3, 3)
+        };
+        assertEquals(0.0, GridClosestPair.findClosestPair(duplicate, metrics).getDistance(), 0.0);
+    }
+    
+    @Test
+    void testPairJustUnderCellSide() {
+        // Rounding in x / d put (55.8, 500) and (62.8, 500) two cells apart when the
+        // side was exactly the first distance, hiding the closer pair
+        Point[] points = {
+            new Point(0, 0),
+            new Point(0, 6.97685949679374),
+            new Point(55.81487597434991, 500),
+            new Point(62.791735471143646, 500)
+        };
+        for (int run = 0; run < 200; run++) {
+            assertEquals(6.976859496793736, GridClosestPair.findClosestPair(points, metrics).getDistance(), 0.0);
+        }
+    }
+    
+    @Test
+    void testAgreesWithDivideAndConquer() {
+        Point[] points = ArrayUtils.generateRandomPoints(100_000);
+        
+        double expected = ClosestPair.findClosestPairInPlace(points, new AlgorithmMetrics("ClosestPair")).getDistance();
+        assertEquals(expected, GridClosestPair.findClosestPair(points, metrics).getDistance(), 0.0);
+    }
+    
+    private void assertMatchesBruteForce(Point[] points) {
+        double expected = ClosestPair.bruteForceClosestPair(points, new AlgorithmMetrics("Brute")).distance;
+        metrics.reset();
+        PointPair result = GridClosestPair.findClosestPair(points, metrics);
+        
+        assertEquals(expected, result.getDistance(), 1e-12);
+        assertEquals(expected, result.p1.distanceTo(result.p2), 1e-12);
+    }
+}
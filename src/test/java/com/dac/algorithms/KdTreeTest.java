@@ -0,0 +1,98 @@
+// File: src/test/java/com/dac/algorithms/KdTreeTest.java
+package com.dac.algorithms;
+
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KdTreeTest {
+    private final Random random = new Random(42);
+    
+    @Test
+    void testNearestAndKNearest() {
+        Point[] points = ArrayUtils.generateRandomPoints(2000, 100.0);
+        KdTree tree = new KdTree(points);
+        
+        for (int trial = 0; trial < 200; trial++) {
+            Point q = new Point(random.nextDouble() * 120 - 10, random.nextDouble() * 120 - 10);
+            double[] expected = sortedDistances(points, q);
+            
+            assertEquals(expected[0], points[tree.nearest(q)].distanceTo(q), 0.0);
+            
+            int[] knn = tree.kNearest(q, 15);
+            assertEquals(15, knn.length);
+            for (int i = 0; i < knn.length; i++) {
+                assertEquals(expected[i], points[knn[i]].distanceTo(q), 0.0, "Rank " + i);
+            }
+        }
+    }
+    
+    @Test
+    void testRangeAndRadiusQueries() {
+        Point[] points = ArrayUtils.generateRandomPoints(2000, 100.0);
+        KdTree tree = new KdTree(points);
+        
+        for (int trial = 0; trial < 100; trial++) {
+            double minX = random.nextDouble() * 100, minY = random.nextDouble() * 100;
+            double maxX = minX + random.nextDouble() * 30, maxY = minY + random.nextDouble() * 30;
+            long expected = Arrays.stream(points)
+                    .filter(p -> p.x >= minX && p.x <= maxX && p.y >= minY && p.y <= maxY).count();
+            assertEquals(expected, tree.rangeQuery(minX, minY, maxX, maxY).length);
+            
+            Point q = new Point(minX, minY);
+            double r = random.nextDouble() * 15;
+            long inCircle = Arrays.stream(points).filter(p -> p.distanceTo(q) <= r).count();
+            assertEquals(inCircle, tree.withinRadius(q.x, q.y, r).length);
+        }
+    }
+    
+    @Test
+    void testRadiusKeepsPointsAtExactlyR() {
+        Point p = new Point(2, 3);
+        double r = p.distanceTo(new Point(0, 0));
+        assertTrue(r * r < p.distanceSquaredTo(new Point(0, 0)), "Rounding in r * r is what this case covers");
+        assertArrayEquals(new int[]{0}, new KdTree(new Point[]{p}).withinRadius(0, 0, r));
+        
+        for (int trial = 0; trial < 10_000; trial++) {
+            Point a = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            Point q = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+            double d = a.distanceTo(q);
+            assertEquals(1, new KdTree(new Point[]{a}).withinRadius(q.x, q.y, d).length,
+                    "Point " + a + " query " + q + " at distance " + d);
+        }
+    }
+    
+    @Test
+    void testDuplicatesAndSmallTrees() {
+        Point[] lattice = new Point[200];
+        for (int i = 0; i < lattice.length; i++) {
+            lattice[i] = new Point(i % 3, i % 5);
+        }
+        KdTree tree = new KdTree(lattice);
+        assertEquals(0.0, lattice[tree.nearest(2, 4)].distanceTo(new Point(2, 4)), 0.0);
+        assertEquals(200, tree.rangeQuery(0, 0, 2, 4).length);
+        
+        assertEquals(-1, new KdTree(new Point[0]).nearest(0, 0));
+        assertArrayEquals(new int[]{0}, new KdTree(new Point[]{new Point(1, 1)}).kNearest(0, 0, 3));
+    }
+    
+    @Test
+    void testBulkQueriesMatchSingleQueries() {
+        Point[] points = ArrayUtils.generateRandomPoints(10_000);
+        Point[] queries = ArrayUtils.generateRandomPoints(5_000);
+        KdTree tree = new KdTree(points);
+        
+        int[] bulk = tree.nearestAll(queries);
+        for (int i = 0; i < queries.length; i++) {
+            assertEquals(tree.nearest(queries[i]), bulk[i]);
+        }
+    }
+    
+    private static double[] sortedDistances(Point[] points, Point q) {
+        return Arrays.stream(points).sorted(Comparator.comparingDouble(p -> p.distanceTo(q)))
+                .mapToDouble(p -> p.distanceTo(q)).toArray();
+    }
+}
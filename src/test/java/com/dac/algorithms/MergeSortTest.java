@@ -1,4 +1,4 @@
-/ File: src/test/java/com/dac/algorithms/MergeSortTest.java
+// File: src/test/java/com/dac/algorithms/MergeSortTest.java
 package com.dac.algorithms;
 
 import com.dac.metrics.AlgorithmMetrics;
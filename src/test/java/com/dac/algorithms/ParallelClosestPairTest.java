@@ -0,0 +1,60 @@
+// File: src/test/java/com/dac/algorithms/ParallelClosestPairTest.java
+package com.dac.algorithms;
+
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.ConcurrentMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelClosestPairTest {
+    private AlgorithmMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("ParallelClosestPair");
+    }
+    
+    @Test
+    void testSmallInputsMatchBruteForce() {
+        for (int trial = 0; trial < 30; trial++) {
+            Point[] points = ClosestPair.generateRandomPoints(2 + trial * 11);
+            
+            double expected = ClosestPair.bruteForceClosestPair(points, new AlgorithmMetrics("Brute")).distance;
+            metrics.reset();
+            
+            assertEquals(expected, ParallelClosestPair.findClosestPair(points, metrics).getDistance(), 1e-9);
+        }
+    }
+    
+    @Test
+    void testForkedInputsMatchSerial() {
+        // Large enough to fork several levels above the sequential cutoff
+        int size = ParallelClosestPair.SEQUENTIAL_CUTOFF * 8;
+        Point[] points = ClosestPair.generateRandomPoints(size);
+        
+        AlgorithmMetrics serialMetrics = new AlgorithmMetrics("ClosestPair");
+        PointPair serial = ClosestPair.findClosestPairInPlace(points, serialMetrics);
+        PointPair parallel = ParallelClosestPair.findClosestPair(points, metrics);
+        
+        assertEquals(serial.getDistance(), parallel.getDistance(), 0.0);
+        assertEquals(serialMetrics.getMaxDepth(), metrics.getMaxDepth(), "Depth merged across tasks");
+        assertTrue(metrics.getComparisons() > 0, "Comparisons merged across tasks");
+        assertEquals(0, metrics.getCurrentDepth());
+    }
+    
+    @Test
+    void testOtherSinks() {
+        Point[] points = ClosestPair.generateRandomPoints(ParallelClosestPair.SEQUENTIAL_CUTOFF * 4);
+        PointPair counted = ParallelClosestPair.findClosestPair(points, metrics);
+        
+        // No sink: no per-task counters, same answer
+        assertEquals(counted.getDistance(), ParallelClosestPair.findClosestPair(points).getDistance(), 0.0);
+        
+        // A shared sink receives the task counters merged at each join
+        ConcurrentMetrics shared = new ConcurrentMetrics("ParallelClosestPair");
+        ParallelClosestPair.findClosestPair(points, shared);
+        assertEquals(metrics.getComparisons(), shared.getComparisons());
+        assertEquals(metrics.getMaxDepth(), shared.getMaxDepth());
+    }
+}
@@ -0,0 +1,145 @@
+// File: src/test/java/com/dac/analysis/ComplexityAnalyzerTest.java
+package com.dac.analysis;
+
+import com.dac.algorithms.DeterministicSelect;
+import com.dac.algorithms.MergeSort;
+import com.dac.metrics.AlgorithmMetrics;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComplexityAnalyzerTest {
+    private static final double[] SIZES = {100, 500, 1000, 2000, 5000, 10000};
+    
+    private static double[] values(ComplexityClass model, double c) {
+        double[] values = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            values[i] = c * model.apply(SIZES[i]);
+        }
+        return values;
+    }
+    
+    @Test
+    void testExactModelIsBestFit() {
+        for (ComplexityClass model : ComplexityClass.values()) {
+            ComplexityReport report = ComplexityAnalyzer.analyze("synthetic", "comparisons", SIZES,
+                    values(model, 3.0), model, ComplexityAnalyzer.COUNT_TOLERANCE);
+            assertEquals(model, report.getBestFit().getModel());
+            assertEquals(3.0, report.getBestFit().getCoefficient(), 1e-9);
+            assertEquals(0.0, report.getBestFit().getRmsError(), 1e-12);
+            assertEquals(ComplexityClass.values().length, report.getFits().size());
+            assertFalse(report.isDeparture());
+            assertNull(report.getWarning());
+        }
+    }
+    
+    @Test
+    void testPowerLawRecoversExponent() {
+        double[] values = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            values[i] = 2.0 * Math.pow(SIZES[i], 1.5);
+        }
+        ComplexityFit fit = ComplexityAnalyzer.fitPowerLaw(SIZES, values);
+        assertEquals(1.5, fit.getExponent(), 1e-9);
+        assertEquals(2.0, fit.getCoefficient(), 1e-6);
+        assertEquals("n^1.50", fit.getLabel());
+        assertNull(fit.getModel());
+    }
+    
+    @Test
+    void testEffectiveExponents() {
+        assertEquals(1.0, ComplexityClass.LINEAR.effectiveExponent(SIZES), 1e-12);
+        assertEquals(2.0, ComplexityClass.QUADRATIC.effectiveExponent(SIZES), 1e-12);
+        double nLogN = ComplexityClass.N_LOG_N.effectiveExponent(SIZES);
+        assertTrue(nLogN > 1.1 && nLogN < 1.2, "n log n exponent " + nLogN);
+    }
+    
+    @Test
+    void testQuadraticGrowthIsDeparture() {
+        // What QuickSort would do with a bad pivot on every call
+        ComplexityReport report = ComplexityAnalyzer.analyze("quicksort", "comparisons", SIZES,
+                values(ComplexityClass.QUADRATIC, 0.5), ComplexityClass.N_LOG_N, ComplexityAnalyzer.COUNT_TOLERANCE);
+        assertTrue(report.isDeparture());
+        assertEquals(ComplexityClass.QUADRATIC, report.getBestFit().getModel());
+        String warning = report.getWarning();
+        assertNotNull(warning);
+        assertTrue(warning.contains("n^2.00") && warning.contains("n log n"), warning);
+    }
+    
+    @Test
+    void testSlowerGrowthIsNotDeparture() {
+        ComplexityReport report = ComplexityAnalyzer.analyze("select", "time", SIZES,
+                values(ComplexityClass.LINEAR, 10), ComplexityClass.N_LOG_N, ComplexityAnalyzer.TIME_TOLERANCE);
+        assertFalse(report.isDeparture());
+        assertEquals(ComplexityClass.LINEAR, report.getBestFit().getModel());
+    }
+    
+    @Test
+    void testResidualsShowOutlier() {
+        double[] values = values(ComplexityClass.LINEAR, 4);
+        values[SIZES.length - 1] *= 1.5;   // A cliff at the largest size
+        ComplexityFit fit = ComplexityAnalyzer.fit(ComplexityClass.LINEAR, SIZES, values);
+        double[] residuals = fit.getResiduals();
+        assertTrue(residuals[SIZES.length - 1] > 0.2, "residual " + residuals[SIZES.length - 1]);
+        assertTrue(residuals[0] < 0);
+    }
+    
+    @Test
+    void testNonPositiveValuesAreDropped() {
+        double[] values = values(ComplexityClass.LINEAR, 1);
+        values[0] = 0;
+        ComplexityReport report = ComplexityAnalyzer.analyze("x", "time", SIZES, values, null,
+                ComplexityAnalyzer.TIME_TOLERANCE);
+        assertEquals(SIZES.length - 1, report.getSizes().length);
+        assertTrue(Double.isNaN(report.getExpectedExponent()));
+        assertFalse(report.isDeparture());
+        
+        assertThrows(IllegalArgumentException.class, () -> ComplexityAnalyzer.analyze("x", "time",
+                new double[] {100, 200, 400}, new double[] {1, 0, 0}, null, ComplexityAnalyzer.TIME_TOLERANCE));
+        assertThrows(IllegalArgumentException.class, () -> ComplexityAnalyzer.analyze("x", "time",
+                new double[] {100, 200}, new double[] {1, 2, 3}, null, ComplexityAnalyzer.TIME_TOLERANCE));
+    }
+    
+    // Seeded so the counts are repeatable: select's comparisons vary enough with the
+    // input that an unlucky draw at a small size could tilt the fitted exponent
+    private static int[] randomArray(Random random, int n) {
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = random.nextInt(n * 10);
+        }
+        return arr;
+    }
+    
+    @Test
+    void testMeasuredMergeSortAndSelectComparisons() {
+        Random random = new Random(42);
+        ScalingSweep mergeSort = new ScalingSweep("mergesort", ComplexityClass.N_LOG_N);
+        ScalingSweep select = new ScalingSweep("select", ComplexityClass.LINEAR);
+        for (double size : SIZES) {
+            int n = (int) size;
+            for (int run = 0; run < 3; run++) {
+                AlgorithmMetrics metrics = new AlgorithmMetrics("mergesort");
+                MergeSort.sort(randomArray(random, n), metrics);
+                mergeSort.record(n, metrics);
+                
+                metrics = new AlgorithmMetrics("select");
+                DeterministicSelect.select(randomArray(random, n), n / 2, metrics);
+                select.record(n, metrics);
+            }
+        }
+        
+        List<ComplexityReport> reports = mergeSort.analyze();
+        assertEquals(2, reports.size());
+        ComplexityReport comparisons = reports.get(1);
+        assertEquals("comparisons", comparisons.getMetric());
+        assertEquals(ComplexityClass.N_LOG_N, comparisons.getBestFit().getModel(), comparisons.toString());
+        assertFalse(comparisons.isDeparture(), comparisons.toString());
+        
+        // Small-group insertion sorts lift the low end, so the exponent is near 1 rather than exactly 1
+        comparisons = select.analyze().get(1);
+        assertEquals(1.0, comparisons.getPowerLaw().getExponent(), ComplexityAnalyzer.COUNT_TOLERANCE,
+                comparisons.toString());
+        assertFalse(comparisons.isDeparture(), comparisons.toString());
+    }
+}
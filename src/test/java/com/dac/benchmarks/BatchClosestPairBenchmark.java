@@ -0,0 +1,83 @@
+// File: src/test/java/com/dac/benchmarks/BatchClosestPairBenchmark.java
+package com.dac.benchmarks;
+
+import com.dac.algorithms.BatchClosestPair;
+import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.Point;
+import com.dac.metrics.AlgorithmMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiles per second: each operation solves TILES independent 50-500 point problems,
+ * either through the packed batch API or through one findClosestPair call per tile.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class BatchClosestPairBenchmark {
+    private static final int TILES = 10_000;
+    
+    private double[] xy;
+    private int[] offsets;
+    private Point[][] tiles;
+    private int[] pairs;
+    private double[] distances;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        offsets = new int[TILES + 1];
+        for (int t = 0; t < TILES; t++) {
+            offsets[t + 1] = offsets[t] + 50 + random.nextInt(451);
+        }
+        xy = new double[2 * offsets[TILES]];
+        for (int i = 0; i < xy.length; i++) {
+            xy[i] = random.nextDouble() * 1000.0;
+        }
+        
+        tiles = new Point[TILES][];
+        for (int t = 0; t < TILES; t++) {
+            tiles[t] = new Point[offsets[t + 1] - offsets[t]];
+            for (int i = 0; i < tiles[t].length; i++) {
+                int point = offsets[t] + i;
+                tiles[t][i] = new Point(xy[2 * point], xy[2 * point + 1]);
+            }
+        }
+        pairs = new int[2 * TILES];
+        distances = new double[TILES];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public double[] benchmarkBatch() {
+        BatchClosestPair.findClosestPairs(xy, offsets, pairs, distances, new AlgorithmMetrics("BatchClosestPair"));
+        return distances;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public double benchmarkPerCall() {
+        double sum = 0;
+        for (Point[] tile : tiles) {
+            sum += ClosestPair.findClosestPair(tile, new AlgorithmMetrics("ClosestPair")).getDistance();
+        }
+        return sum;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(BatchClosestPairBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -2,13 +2,19 @@
 package com.dac.benchmarks;
 
 import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.GridClosestPair;
 import com.dac.algorithms.Point;
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.metrics.MetricsSink;
+import com.dac.metrics.NoOpMetrics;
 import com.dac.util.ArrayUtils;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.concurrent.TimeUnit;
 
 @BenchmarkMode(Mode.AverageTime)
@@ -26,33 +32,29 @@ public class ClosestPairBenchmark {
     private Point[] clusteredPoints;
     private Point[] collinearPoints;
     
-    private ClosestPair closestPair;
-    
     @Setup
     public void setup() {
         randomPoints = ArrayUtils.generateRandomPoints(size, 1000.0);
         clusteredPoints = ArrayUtils.generateRandomPoints(size, 100.0); // More clustered
         collinearPoints = ArrayUtils.generateCollinearPoints(size);
-        
-        closestPair = new ClosestPair();
     }
     
     @Benchmark
     public double benchmarkClosestPairRandom() {
         Point[] points = randomPoints.clone();
-        return closestPair.findClosestDistance(points);
+        return ClosestPair.findClosestPair(points).getDistance();
     }
     
     @Benchmark
     public double benchmarkClosestPairClustered() {
         Point[] points = clusteredPoints.clone();
-        return closestPair.findClosestDistance(points);
+        return ClosestPair.findClosestPair(points).getDistance();
     }
     
     @Benchmark
     public double benchmarkClosestPairCollinear() {
         Point[] points = collinearPoints.clone();
-        return closestPair.findClosestDistance(points);
+        return ClosestPair.findClosestPair(points).getDistance();
     }
     
     @Benchmark
@@ -60,7 +62,7 @@ public class ClosestPairBenchmark {
     @OutputTimeUnit(TimeUnit.MILLISECONDS)
     public double benchmarkClosestPairWithPair() {
         Point[] points = randomPoints.clone();
-        return closestPair.findClosestPair(points).getDistance();
+        return ClosestPair.findClosestPair(points).getDistance();
     }
     
     // Compare with brute force for small sizes only
@@ -68,7 +70,7 @@ public class ClosestPairBenchmark {
     public double benchmarkBruteForceSmall() {
         if (size <= 2000) { // Only run brute force for small sizes
             Point[] points = randomPoints.clone();
-            return closestPair.bruteForce(points);
+            return ClosestPair.bruteForceClosestPair(points, NoOpMetrics.INSTANCE).getDistance();
         }
         return 0.0; // Skip for large sizes
     }
@@ -77,13 +79,153 @@ public class ClosestPairBenchmark {
     @Benchmark
     public double benchmarkLargeCoordinates() {
         Point[] points = ArrayUtils.generateRandomPoints(size, 100000.0);
-        return closestPair.findClosestDistance(points);
+        return ClosestPair.findClosestPair(points).getDistance();
     }
     
     @Benchmark
     public double benchmarkSmallCoordinates() {
         Point[] points = ArrayUtils.generateRandomPoints(size, 10.0);
-        return closestPair.findClosestDistance(points);
+        return ClosestPair.findClosestPair(points).getDistance();
+    }
+    
+    // Squared-distance engines
+    @Benchmark
+    public double benchmarkFindClosestPair() {
+        return ClosestPair.findClosestPair(randomPoints, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkFindClosestPairInPlace() {
+        return ClosestPair.findClosestPairInPlace(randomPoints, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    // Before/after for squared distances: the same recursion paying a sqrt per candidate
+    @Benchmark
+    public double benchmarkFindClosestPairSqrt() {
+        return SqrtClosestPair.findClosestPair(randomPoints, new AlgorithmMetrics("ClosestPair"));
+    }
+    
+    // Sort-based divide and conquer vs randomized grid hashing, per distribution
+    @Benchmark
+    public double benchmarkDivideAndConquerRandom() {
+        return ClosestPair.findClosestPairInPlace(randomPoints, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkGridRandom() {
+        return GridClosestPair.findClosestPair(randomPoints, new AlgorithmMetrics("GridClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkDivideAndConquerClustered() {
+        return ClosestPair.findClosestPairInPlace(clusteredPoints, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkGridClustered() {
+        return GridClosestPair.findClosestPair(clusteredPoints, new AlgorithmMetrics("GridClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkDivideAndConquerCollinear() {
+        return ClosestPair.findClosestPairInPlace(collinearPoints, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkGridCollinear() {
+        return GridClosestPair.findClosestPair(collinearPoints, new AlgorithmMetrics("GridClosestPair")).getDistance();
+    }
+    
+    /**
+     * ClosestPair.findClosestPair as it was before squared-distance comparisons. The
+     * base case and the strip take a square root per candidate, and every improvement
+     * builds a pair that takes another. The "before" side of benchmarkFindClosestPair.
+     */
+    static final class SqrtClosestPair {
+        private static final class Pair {
+            final Point p1, p2;
+            final double distance;
+            
+            Pair(Point p1, Point p2) {
+                this.p1 = p1;
+                this.p2 = p2;
+                this.distance = p1.distanceTo(p2);
+            }
+        }
+        
+        static double findClosestPair(Point[] points, MetricsSink metrics) {
+            metrics.startTiming();
+            Point[] px = points.clone();
+            Arrays.sort(px, Comparator.comparingDouble(p -> p.x));
+            Point[] py = points.clone();
+            Arrays.sort(py, Comparator.comparingDouble(p -> p.y));
+            double result = closestPairRec(px, py, 0, points.length - 1, metrics).distance;
+            metrics.endTiming();
+            return result;
+        }
+        
+        private static Pair closestPairRec(Point[] px, Point[] py, int lo, int hi, MetricsSink metrics) {
+            int n = hi - lo + 1;
+            if (n <= 3) {
+                return bruteForce(px, lo, hi, metrics);
+            }
+            
+            int mid = lo + (hi - lo) / 2;
+            Point midPoint = px[mid];
+            Point[] pyl = new Point[mid - lo + 1];
+            Point[] pyr = new Point[hi - mid];
+            int li = 0, ri = 0;
+            for (Point p : py) {
+                if (p.x <= midPoint.x && li < pyl.length) {
+                    pyl[li++] = p;
+                } else if (ri < pyr.length) {
+                    pyr[ri++] = p;
+                }
+            }
+            
+            Pair left = closestPairRec(px, pyl, lo, mid, metrics);
+            Pair right = closestPairRec(px, pyr, mid + 1, hi, metrics);
+            Pair best = left.distance <= right.distance ? left : right;
+            double minDist = best.distance;
+            
+            Point[] strip = new Point[n];
+            int size = 0;
+            for (Point p : py) {
+                if (Math.abs(p.x - midPoint.x) < minDist) {
+                    strip[size++] = p;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size && j < i + 8; j++) {
+                    if (strip[j].y - strip[i].y >= minDist) {
+                        break;
+                    }
+                    metrics.incrementComparisons();
+                    double dist = strip[i].distanceTo(strip[j]);
+                    if (dist < minDist) {
+                        minDist = dist;
+                        best = new Pair(strip[i], strip[j]);
+                    }
+                }
+            }
+            return best;
+        }
+        
+        private static Pair bruteForce(Point[] points, int lo, int hi, MetricsSink metrics) {
+            double minDist = Double.POSITIVE_INFINITY;
+            Pair closest = null;
+            for (int i = lo; i <= hi; i++) {
+                for (int j = i + 1; j <= hi; j++) {
+                    metrics.incrementComparisons();
+                    double dist = points[i].distanceTo(points[j]);
+                    if (dist < minDist) {
+                        minDist = dist;
+                        closest = new Pair(points[i], points[j]);
+                    }
+                }
+            }
+            return closest;
+        }
     }
     
     public static void main(String[] args) throws Exception {
@@ -0,0 +1,79 @@
+// File: src/test/java/com/dac/benchmarks/DynamicClosestPairBenchmark.java
+package com.dac.benchmarks;
+
+import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.DynamicClosestPair;
+import com.dac.algorithms.GridClosestPair;
+import com.dac.algorithms.Point;
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Churn: each operation moves one random point and asks for the closest pair.
+ * Compares incremental maintenance against recomputing from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class DynamicClosestPairBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    private int size;
+    
+    private Point[] points;
+    private DynamicClosestPair dynamic;
+    private Random random;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        points = ArrayUtils.generateRandomPoints(size, 1000.0);
+        dynamic = new DynamicClosestPair(points, new AlgorithmMetrics("DynamicClosestPair"));
+        random = new Random(42);
+    }
+    
+    // Replaces a random point and returns its index
+    private int move() {
+        int i = random.nextInt(size);
+        points[i] = new Point(random.nextDouble() * 1000.0, random.nextDouble() * 1000.0);
+        return i;
+    }
+    
+    @Benchmark
+    public double benchmarkDynamicMove() {
+        int i = random.nextInt(size);
+        dynamic.remove(points[i]);
+        points[i] = new Point(random.nextDouble() * 1000.0, random.nextDouble() * 1000.0);
+        dynamic.insert(points[i]);
+        return dynamic.closest().getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkRecomputeDivideAndConquer() {
+        move();
+        return ClosestPair.findClosestPairInPlace(points, new AlgorithmMetrics("ClosestPair")).getDistance();
+    }
+    
+    @Benchmark
+    public double benchmarkRecomputeGrid() {
+        move();
+        return GridClosestPair.findClosestPair(points, new AlgorithmMetrics("GridClosestPair")).getDistance();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(DynamicClosestPairBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
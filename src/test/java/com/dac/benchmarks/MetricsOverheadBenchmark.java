@@ -0,0 +1,99 @@
+// File: src/test/java/com/dac/benchmarks/MetricsOverheadBenchmark.java
+package com.dac.benchmarks;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.metrics.AlgorithmMetrics;
+import com.dac.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of instrumentation. MergeSort is run with a counting AlgorithmMetrics and
+ * with NoOpMetrics, and is compared against a hand-written copy with no metrics
+ * calls at all. The no-op and hand-written runs should match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class MetricsOverheadBenchmark {
+    private static final int INSERTION_SORT_CUTOFF = 16;
+    
+    @Param({"1000", "100000"})
+    private int size;
+    
+    private int[] randomArray;
+    
+    @Setup
+    public void setup() {
+        randomArray = ArrayUtils.generateRandomArray(size);
+    }
+    
+    @Benchmark
+    public int[] benchmarkInstrumented() {
+        int[] arr = randomArray.clone();
+        MergeSort.sort(arr, new AlgorithmMetrics("MergeSort"));
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] benchmarkNoOp() {
+        int[] arr = randomArray.clone();
+        MergeSort.sort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] benchmarkHandWritten() {
+        int[] arr = randomArray.clone();
+        int[] aux = new int[arr.length];
+        baselineSort(arr, aux, 0, arr.length - 1);
+        return arr;
+    }
+    
+    // MergeSort with every metrics call removed
+    private static void baselineSort(int[] arr, int[] aux, int lo, int hi) {
+        if (hi <= lo + INSERTION_SORT_CUTOFF) {
+            for (int i = lo + 1; i <= hi; i++) {
+                int key = arr[i];
+                int j = i - 1;
+                while (j >= lo && key < arr[j]) {
+                    arr[j + 1] = arr[j];
+                    j--;
+                }
+                arr[j + 1] = key;
+            }
+            return;
+        }
+        
+        int mid = lo + (hi - lo) / 2;
+        baselineSort(arr, aux, lo, mid);
+        baselineSort(arr, aux, mid + 1, hi);
+        if (arr[mid + 1] >= arr[mid]) {
+            return;
+        }
+        
+        System.arraycopy(arr, lo, aux, lo, hi - lo + 1);
+        int i = lo, j = mid + 1;
+        for (int k = lo; k <= hi; k++) {
+            if (i > mid) arr[k] = aux[j++];
+            else if (j > hi) arr[k] = aux[i++];
+            else if (aux[j] < aux[i]) arr[k] = aux[j++];
+            else arr[k] = aux[i++];
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(MetricsOverheadBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,164 @@
+// File: src/test/java/com/dac/cli/CompareResultsTest.java
+package com.dac.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompareResultsTest {
+    private static final String HEADER =
+            "Algorithm,InputSize,Time_ns,Comparisons,Allocations,MaxDepth,AllocatedBytes,CpuTime_ns,GcCount,GcTime_ms";
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path csv(String name, long meanNs, double noise, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int i = 0; i < 15; i++) {
+            lines.add("mergesort,1000," + (long) (meanNs * (1 + noise * random.nextGaussian())) + ",0,0,0,0,0,0,0");
+            lines.add("quicksort,1000," + (long) (200_000 * (1 + 0.02 * random.nextGaussian())) + ",0,0,0,0,0,0,0");
+        }
+        Path file = tempDir.resolve(name);
+        Files.write(file, lines);
+        return file;
+    }
+    
+    private static int run(String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return CompareResults.run(args, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    }
+    
+    @Test
+    void testMannWhitneyExactMatchesTables() {
+        // Completely separated groups of 5: P(U = 0) = 1 / C(10, 5) = 1/252, two-sided 2/252
+        double[] a = {1, 2, 3, 4, 5};
+        double[] b = {6, 7, 8, 9, 10};
+        assertEquals(2.0 / 252, CompareResults.mannWhitneyPValue(a, b), 1e-12);
+        assertEquals(2.0 / 252, CompareResults.mannWhitneyPValue(b, a), 1e-12);
+        
+        // U = 3 for groups of 3: 7 of the 20 arrangements have U <= 3
+        assertEquals(0.7, CompareResults.mannWhitneyPValue(new double[] {1, 3, 5}, new double[] {2, 4, 6}), 1e-12);
+    }
+    
+    @Test
+    void testMannWhitneyNormalApproximationWithTies() {
+        double[] a = new double[30];
+        double[] b = new double[30];
+        for (int i = 0; i < 30; i++) {
+            a[i] = i % 5;         // Heavy ties force the normal approximation
+            b[i] = i % 5 + 2;
+        }
+        assertTrue(CompareResults.mannWhitneyPValue(a, b) < 1e-4);
+        assertEquals(1.0, CompareResults.mannWhitneyPValue(a, a.clone()), 1e-9);
+    }
+    
+    @Test
+    void testErfc() {
+        assertEquals(1.0, CompareResults.erfc(0), 1e-7);
+        assertEquals(0.157299207, CompareResults.erfc(1), 1e-7);
+        assertEquals(1.842700793, CompareResults.erfc(-1), 1e-7);
+        assertEquals(0.004677735, CompareResults.erfc(2), 1e-7);
+    }
+    
+    @Test
+    void testBootstrapIntervalCoversRatio() {
+        Random random = new Random(1);
+        double[] base = new double[40];
+        double[] candidate = new double[40];
+        for (int i = 0; i < base.length; i++) {
+            base[i] = 100 + random.nextGaussian();
+            candidate[i] = 120 + 1.2 * random.nextGaussian();
+        }
+        double[] ci = CompareResults.bootstrapRatioInterval(base, candidate, 2000, 0.95, new Random(2));
+        assertTrue(ci[0] < 1.2 && 1.2 < ci[1], "interval [" + ci[0] + ", " + ci[1] + "]");
+        assertTrue(ci[0] > 1.1, "interval should exclude no change");
+    }
+    
+    @Test
+    void testDetectsRegressionInCsv() throws IOException {
+        Path baseline = csv("baseline.csv", 100_000, 0.02, 1);
+        Path slower = csv("slower.csv", 130_000, 0.02, 2);
+        Path same = csv("same.csv", 100_000, 0.02, 3);
+        
+        assertEquals(CompareResults.EXIT_REGRESSION, run(baseline.toString(), slower.toString()));
+        assertEquals(CompareResults.EXIT_OK, run(baseline.toString(), same.toString()));
+        // Faster is an improvement, not a regression
+        assertEquals(CompareResults.EXIT_OK, run(slower.toString(), baseline.toString()));
+        // A 30% slowdown is below a 50% threshold
+        assertEquals(CompareResults.EXIT_OK, run("--threshold", "50", baseline.toString(), slower.toString()));
+    }
+    
+    @Test
+    void testVerdicts() throws IOException {
+        Map<CompareResults.Key, CompareResults.Samples> base = CompareResults.load(csv("a.csv", 100_000, 0.02, 1));
+        Map<CompareResults.Key, CompareResults.Samples> slow = CompareResults.load(csv("b.csv", 130_000, 0.02, 2));
+        CompareResults.Key key = new CompareResults.Key("mergesort", 1000, "");
+        assertEquals(15, base.get(key).values.size());
+        
+        CompareResults.Comparison regression = CompareResults.compare(key, base.get(key), slow.get(key),
+                0.05, 0.05, new Random(0));
+        assertEquals(CompareResults.Verdict.REGRESSION, regression.verdict);
+        assertEquals(0.3, regression.change(), 0.05);
+        assertTrue(regression.pValue < 1e-4);
+        
+        CompareResults.Comparison improvement = CompareResults.compare(key, slow.get(key), base.get(key),
+                0.05, 0.05, new Random(0));
+        assertEquals(CompareResults.Verdict.IMPROVEMENT, improvement.verdict);
+        
+        CompareResults.Samples few = new CompareResults.Samples("ns", false);
+        few.values.add(1.0);
+        few.values.add(2.0);
+        assertEquals(CompareResults.Verdict.INSUFFICIENT,
+                CompareResults.compare(key, base.get(key), few, 0.05, 0.05, new Random(0)).verdict);
+    }
+    
+    @Test
+    void testJmhThroughputDropIsRegression() throws IOException {
+        String template = "[{\"benchmark\":\"com.dac.benchmarks.SortingBenchmark.mergeSort\",\"mode\":\"thrpt\","
+                + "\"params\":{\"size\":\"1000\",\"type\":\"RANDOM\"},\"primaryMetric\":{\"score\":%s,"
+                + "\"scoreUnit\":\"ops/ms\",\"rawData\":[[%s],[%s]]}}]";
+        Path baseline = tempDir.resolve("base.json");
+        Path candidate = tempDir.resolve("cand.json");
+        Files.write(baseline, String.format(template, "10.0", "10.1,9.9,10.0,10.2", "9.8,10.0,10.1,9.9")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(candidate, String.format(template, "7.0", "7.1,6.9,7.0,7.2", "6.8,7.0,7.1,6.9")
+                .getBytes(StandardCharsets.UTF_8));
+        
+        Map<CompareResults.Key, CompareResults.Samples> loaded = CompareResults.load(baseline);
+        CompareResults.Key key = new CompareResults.Key("SortingBenchmark.mergeSort", 1000, "type=RANDOM");
+        CompareResults.Samples samples = loaded.get(key);
+        assertNotNull(samples, "keys: " + loaded.keySet());
+        assertTrue(samples.higherIsBetter);
+        assertEquals("ops/s", samples.unit);
+        assertEquals(8, samples.values.size());
+        assertEquals(10_100.0, samples.values.get(0), 1e-6);
+        
+        assertEquals(CompareResults.EXIT_REGRESSION, run(baseline.toString(), candidate.toString()));
+        assertEquals(CompareResults.EXIT_OK, run(candidate.toString(), baseline.toString()));
+    }
+    
+    @Test
+    void testBadInputExitsWithError() throws IOException {
+        Path bad = tempDir.resolve("bad.csv");
+        Files.write(bad, List.of("Name,Value", "x,1"));
+        assertEquals(CompareResults.EXIT_ERROR, run(bad.toString(), bad.toString()));
+        assertEquals(CompareResults.EXIT_ERROR, run("only-one.csv"));
+        assertEquals(CompareResults.EXIT_ERROR, run(tempDir.resolve("missing.csv").toString(), bad.toString()));
+        
+        Path json = tempDir.resolve("bad.json");
+        Files.write(json, "[{\"benchmark\": }]".getBytes(StandardCharsets.UTF_8));
+        assertEquals(CompareResults.EXIT_ERROR, run(json.toString(), json.toString()));
+    }
+}
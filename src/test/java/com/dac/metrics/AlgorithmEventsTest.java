@@ -0,0 +1,114 @@
+// File: src/test/java/com/dac/metrics/AlgorithmEventsTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.DeterministicSelect;
+import com.dac.algorithms.MergeSort;
+import com.dac.algorithms.QuickSort;
+import com.dac.util.ArrayUtils;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmEventsTest {
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testPhasesAreRecordedWithSettingsFile() throws Exception {
+        Configuration config;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/algorithm-phases.jfc"), StandardCharsets.UTF_8)) {
+            config = Configuration.create(reader);
+        }
+        
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        Path file = tempDir.resolve("phases.jfr");
+        try (Recording recording = new Recording(config)) {
+            // Record every phase, not only the slow ones
+            for (String phase : new String[] {"Partition", "Merge", "StripScan", "SelectPivot"}) {
+                recording.enable("com.dac." + phase).withoutThreshold();
+            }
+            recording.start();
+            MergeSort.sort(ArrayUtils.generateRandomArray(1 << 10), metrics);
+            QuickSort.sort(ArrayUtils.generateRandomArray(1000));
+            DeterministicSelect.select(ArrayUtils.generateRandomArray(1000), 500);
+            ClosestPair.findClosestPair(ArrayUtils.generateRandomPoints(1000));
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<String, Integer> counts = new HashMap<>();
+        RecordedEvent mergeSortRun = null;
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            counts.merge(name, 1, Integer::sum);
+            if (name.equals("com.dac.Invocation") && event.getString("algorithm").equals("MergeSort")) {
+                mergeSortRun = event;
+            }
+        }
+        
+        assertEquals(4, (int) counts.get("com.dac.Invocation"));
+        assertEquals(1, (int) counts.get("com.dac.Presort"));
+        assertTrue(counts.get("com.dac.Merge") > 0);
+        assertTrue(counts.get("com.dac.Partition") > 0);
+        assertTrue(counts.get("com.dac.StripScan") > 0);
+        assertTrue(counts.get("com.dac.SelectPivot") > 0);
+        
+        assertNotNull(mergeSortRun);
+        assertEquals(1 << 10, mergeSortRun.getInt("inputSize"));
+        assertEquals(metrics.getComparisons(), mergeSortRun.getLong("comparisons"));
+        
+        // Merges run inside the recursion, so they carry a depth from the metrics
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("com.dac.Merge")) {
+                assertTrue(event.getInt("depth") >= 1);
+            }
+        }
+    }
+    
+    @Test
+    void testPerLevelEventsOnlyAllocatedWhileEnabled() {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        assertNull(AlgorithmEvents.startMerge(metrics, 16));
+        assertNull(AlgorithmEvents.startStripScan(metrics, 16));
+        AlgorithmEvents.finish(null, metrics);
+        
+        try (Recording recording = new Recording()) {
+            recording.enable("com.dac.Merge").withoutThreshold();
+            recording.start();
+            AlgorithmEvents.Merge event = AlgorithmEvents.startMerge(metrics, 16);
+            assertNotNull(event);
+            AlgorithmEvents.finish(event, metrics);
+            assertNull(AlgorithmEvents.startStripScan(metrics, 16));
+        }
+        assertNull(AlgorithmEvents.startMerge(metrics, 16));
+    }
+    
+    @Test
+    void testDisabledByDefault() throws Exception {
+        Path file = tempDir.resolve("default.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            MergeSort.sort(ArrayUtils.generateRandomArray(1000), new AlgorithmMetrics("MergeSort"));
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            assertFalse(event.getEventType().getName().startsWith("com.dac."));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// File: src/test/java/com/dac/metrics/AlgorithmMetricsTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.Point;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AlgorithmMetricsTest {
+    private AlgorithmMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new AlgorithmMetrics("ClosestPair");
+    }
+    
+    @Test
+    void testAllocatedBytesIncludeHiddenObjects() {
+        Point[] points = ArrayUtils.generateRandomPoints(50_000);
+        ClosestPair.findClosestPair(points, metrics);
+        assumeTrue(metrics.getAllocatedBytes() >= 0, "Allocated bytes need a HotSpot JVM");
+        
+        // The two up-front clones of 50k references alone take at least 400 KB
+        assertTrue(metrics.getAllocatedBytes() > 2L * points.length * 4,
+                "Allocated " + metrics.getAllocatedBytes() + " bytes");
+    }
+    
+    @Test
+    void testCpuTimeTracksWork() {
+        metrics.startTiming();
+        long sink = 0;
+        for (int i = 0; i < 50_000_000; i++) {
+            sink += i ^ (sink >>> 3);
+        }
+        metrics.endTiming();
+        assumeTrue(metrics.getCpuTimeNs() >= 0, "Thread CPU time not supported");
+        
+        assertTrue(sink != 1);
+        assertTrue(metrics.getCpuTimeNs() > 0);
+        assertTrue(metrics.getCpuTimeNs() <= metrics.getExecutionTimeNs() + 20_000_000L,
+                "A single thread cannot use more CPU than wall time");
+    }
+    
+    @Test
+    void testGcDeltas() {
+        metrics.startTiming();
+        System.gc();
+        metrics.endTiming();
+        assumeTrue(metrics.getGcCount() >= 1, "Explicit GC disabled in this JVM");
+        
+        assertTrue(metrics.getGcTimeMs() >= 0);
+    }
+    
+    @Test
+    void testCsvRowCarriesResourceColumns() {
+        metrics.startTiming();
+        metrics.endTiming();
+        String[] fields = metrics.toCsvRow(10).split(",");
+        assertEquals(10, fields.length);
+        assertEquals(String.valueOf(metrics.getAllocatedBytes()), fields[6]);
+        assertEquals(String.valueOf(metrics.getCpuTimeNs()), fields[7]);
+        
+        metrics.reset();
+        assertEquals(0, metrics.getAllocatedBytes());
+        assertEquals(0, metrics.getCpuTimeNs());
+    }
+}
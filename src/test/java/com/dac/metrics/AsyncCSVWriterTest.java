@@ -0,0 +1,122 @@
+// File: src/test/java/com/dac/metrics/AsyncCSVWriterTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncCSVWriterTest {
+    private static final String HEADER = "Algorithm,InputSize,Time_ns";
+    
+    @TempDir
+    Path tempDir;
+    
+    private static AlgorithmMetrics metrics(String name, long i) {
+        AlgorithmMetrics metrics = new AlgorithmMetrics(name);
+        metrics.setTiming(1_000, 1_000 + i * 977);
+        metrics.addComparisons(i * 1_000_003L);
+        metrics.addAllocations(i % 7);
+        metrics.recordDepth((int) (i % 40));
+        return metrics;
+    }
+    
+    @Test
+    void testRowsMatchToCsvRow() throws IOException {
+        Path file = tempDir.resolve("rows.csv");
+        int rows = 20_000;
+        AsyncCSVWriter writer = new AsyncCSVWriter(file, HEADER, 64);
+        for (int i = 0; i < rows; i++) {
+            writer.append(metrics(i % 2 == 0 ? "mergesort" : "quicksort", i), i * 10);
+        }
+        writer.close();
+        
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(rows + 1, lines.size());
+        assertEquals(HEADER, lines.get(0));
+        for (int i = 0; i < rows; i++) {
+            String expected = metrics(i % 2 == 0 ? "mergesort" : "quicksort", i).toCsvRow(i * 10);
+            assertEquals(expected, lines.get(i + 1));
+        }
+        assertEquals(rows, writer.getRowsWritten());
+        // Rows are written in batches, not one write per row
+        assertTrue(writer.getFlushCount() < rows / 10, "Flushes: " + writer.getFlushCount());
+    }
+    
+    @Test
+    void testMeasuredRunRoundTrip() throws IOException {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        MergeSort.sort(ArrayUtils.generateRandomArray(5000), metrics);
+        
+        Path file = tempDir.resolve("run.csv");
+        try (AsyncCSVWriter writer = new AsyncCSVWriter(file, HEADER)) {
+            writer.append(metrics, 5000);
+        }
+        assertEquals(metrics.toCsvRow(5000), Files.readAllLines(file).get(1));
+    }
+    
+    @Test
+    void testAppendsToExistingFileWithoutRepeatingHeader() throws IOException {
+        Path file = tempDir.resolve("nested/dir/append.csv");
+        try (AsyncCSVWriter writer = new AsyncCSVWriter(file, HEADER)) {
+            writer.append(metrics("select", 1), 100);
+        }
+        try (AsyncCSVWriter writer = new AsyncCSVWriter(file, HEADER)) {
+            writer.append(metrics("select", 2), 200);
+        }
+        
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(HEADER, lines.get(0));
+        assertTrue(lines.get(2).startsWith("select,200,"));
+    }
+    
+    @Test
+    void testAppendsRacingCloseAreAllWritten() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Path file = tempDir.resolve("race" + round + ".csv");
+            // A tiny queue keeps producers blocked on a full queue while close() runs
+            AsyncCSVWriter writer = new AsyncCSVWriter(file, HEADER, 2);
+            AtomicLong appended = new AtomicLong();
+            Thread[] producers = new Thread[4];
+            for (int t = 0; t < producers.length; t++) {
+                producers[t] = new Thread(() -> {
+                    AlgorithmMetrics metrics = metrics("race", 1);
+                    try {
+                        while (true) {
+                            writer.append(metrics, 1);
+                            appended.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        // Closed
+                    }
+                });
+                producers[t].start();
+            }
+            Thread.sleep(2);
+            writer.close();
+            for (Thread producer : producers) {
+                producer.join(10_000);
+                assertFalse(producer.isAlive(), "Producer stuck after close");
+            }
+            
+            assertEquals(appended.get() + 1, Files.readAllLines(file).size(), "Round " + round);
+        }
+    }
+    
+    @Test
+    void testAppendAfterCloseFails() throws IOException {
+        AsyncCSVWriter writer = new AsyncCSVWriter(tempDir.resolve("closed.csv"), HEADER);
+        writer.close();
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.append(metrics("x", 1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncCSVWriter(tempDir.resolve("bad.csv"), HEADER, 0));
+    }
+}
@@ -0,0 +1,171 @@
+// File: src/test/java/com/dac/metrics/ColumnarResultsTest.java
+package com.dac.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarResultsTest {
+    private static final String[] ALGORITHMS = {"mergesort", "quicksort", "select", "closest"};
+    
+    @TempDir
+    Path tempDir;
+    
+    // Realistic magnitudes: ms-scale times, n log n comparisons, rare GCs, -1 for unsupported
+    private static List<String> csvRows(int rows, long seed) {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>();
+        lines.add(CSVWriter.CSV_HEADER);
+        for (int i = 0; i < rows; i++) {
+            int n = 100 << random.nextInt(8);
+            lines.add(String.join(",", ALGORITHMS[i % ALGORITHMS.length], String.valueOf(n),
+                    String.valueOf(50_000 + random.nextInt(40_000_000)),
+                    String.valueOf((long) (n * (Math.log(n) / Math.log(2)) * (0.8 + random.nextDouble() * 0.4))),
+                    String.valueOf(n), String.valueOf(5 + random.nextInt(20)),
+                    String.valueOf(random.nextInt(10) == 0 ? -1 : n * 8L + random.nextInt(4096)),
+                    String.valueOf(40_000 + random.nextInt(40_000_000)),
+                    String.valueOf(random.nextInt(50) == 0 ? 1 : 0),
+                    String.valueOf(random.nextInt(50) == 0 ? random.nextInt(30) : 0)));
+        }
+        return lines;
+    }
+    
+    @Test
+    void testCsvRoundTripIsExactAndSmaller() throws IOException {
+        Path csv = tempDir.resolve("runs.csv");
+        Path binary = tempDir.resolve("runs.dacr");
+        Path back = tempDir.resolve("back.csv");
+        List<String> lines = csvRows(50_000, 7);
+        Files.write(csv, lines);
+        
+        ColumnarResultsWriter.fromCsv(csv, binary, Collections.singletonMap("source", "test"));
+        ColumnarResultsReader reader = ColumnarResultsReader.open(binary);
+        reader.writeCsv(back);
+        
+        assertEquals(lines, Files.readAllLines(back));
+        assertEquals(50_000, reader.getRowCount());
+        assertEquals(Arrays.asList(ALGORITHMS), reader.getAlgorithms());
+        assertEquals(Arrays.asList(ColumnarResultsWriter.COLUMNS), reader.getColumnNames());
+        assertEquals("test", reader.getMetadata().get("source"));
+        assertEquals(1, reader.getColumn("GcCount").getWidth());
+        assertEquals(1, reader.getColumn("Algorithm").getWidth());
+        assertTrue(Files.size(binary) * 2 < Files.size(csv),
+                "Binary " + Files.size(binary) + " bytes vs CSV " + Files.size(csv));
+    }
+    
+    @Test
+    void testColumnsMatchAppendedMetrics() throws IOException {
+        Path file = tempDir.resolve("metrics.dacr");
+        List<AlgorithmMetrics> runs = new ArrayList<>();
+        try (ColumnarResultsWriter writer = new ColumnarResultsWriter(file)) {
+            for (int i = 0; i < 3000; i++) {
+                AlgorithmMetrics metrics = new AlgorithmMetrics(ALGORITHMS[i % 3]);
+                metrics.setTiming(0, 1_000L * i);
+                metrics.addComparisons(i * 31L);
+                metrics.recordDepth(i % 17);
+                writer.append(metrics, i);
+                runs.add(metrics);
+            }
+        }
+        
+        ColumnarResultsReader reader = ColumnarResultsReader.open(file);
+        ColumnarResultsReader.Column time = reader.getColumn("Time_ns");
+        ColumnarResultsReader.Column comparisons = reader.getColumn("Comparisons");
+        ColumnarResultsReader.Column depth = reader.getColumn("MaxDepth");
+        ColumnarResultsReader.Column size = reader.getColumn("InputSize");
+        long expectedComparisons = 0;
+        for (int row = 0; row < runs.size(); row++) {
+            AlgorithmMetrics metrics = runs.get(row);
+            assertEquals(metrics.getAlgorithmName(), reader.getAlgorithm(row));
+            assertEquals(row, size.get(row));
+            assertEquals(metrics.getExecutionTimeNs(), time.get(row));
+            assertEquals(metrics.getMaxDepth(), depth.get(row));
+            expectedComparisons += metrics.getComparisons();
+        }
+        assertEquals(expectedComparisons, comparisons.sum());
+        
+        Map<String, String> metadata = reader.getMetadata();
+        for (String key : new String[] {"created", "jvm", "jvmFlags", "host", "gitRevision"}) {
+            assertTrue(metadata.containsKey(key), "Missing metadata " + key);
+        }
+    }
+    
+    @Test
+    void testExtremeValuesUseFullWidth() throws IOException {
+        Path file = tempDir.resolve("extreme.dacr");
+        try (ColumnarResultsWriter writer = new ColumnarResultsWriter(file, Collections.emptyMap())) {
+            writer.appendRow("a", 0, Long.MIN_VALUE, 0, 0, 0, -1, 0, 0, 0);
+            writer.appendRow("a", 0, Long.MAX_VALUE, 0, 0, 0, 70_000, 0, 0, 0);
+        }
+        ColumnarResultsReader reader = ColumnarResultsReader.open(file);
+        assertEquals(8, reader.getColumn("Time_ns").getWidth());
+        assertEquals(Long.MIN_VALUE, reader.getColumn("Time_ns").get(0));
+        assertEquals(Long.MAX_VALUE, reader.getColumn("Time_ns").get(1));
+        assertEquals(4, reader.getColumn("AllocatedBytes").getWidth());
+        assertEquals(-1, reader.getColumn("AllocatedBytes").get(0));
+        assertEquals(1, reader.getColumn("InputSize").getWidth());
+    }
+    
+    @Test
+    void testEmptyFileAndInvalidInput() throws IOException {
+        Path empty = tempDir.resolve("empty.dacr");
+        new ColumnarResultsWriter(empty, Collections.emptyMap()).close();
+        assertEquals(0, ColumnarResultsReader.open(empty).getRowCount());
+        
+        Path notColumnar = tempDir.resolve("not.dacr");
+        Files.write(notColumnar, "Algorithm,InputSize\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> ColumnarResultsReader.open(notColumnar));
+        
+        Path truncated = tempDir.resolve("truncated.dacr");
+        byte[] full = Files.readAllBytes(empty);
+        Files.write(truncated, Arrays.copyOf(full, full.length - 20));
+        assertThrows(IOException.class, () -> ColumnarResultsReader.open(truncated));
+        
+        Path badCsv = tempDir.resolve("bad.csv");
+        Files.write(badCsv, Arrays.asList("Algorithm,Time_ms", "x,1"));
+        assertThrows(IOException.class,
+                () -> ColumnarResultsWriter.fromCsv(badCsv, tempDir.resolve("bad.dacr"), Collections.emptyMap()));
+    }
+    
+    @Test
+    void testMalformedRowWritesNothing() throws IOException {
+        Path csv = tempDir.resolve("runs.csv");
+        List<String> lines = csvRows(100, 11);
+        lines.add(60, "mergesort,1000,not-a-number,0,0,0,0,0,0,0");
+        Files.write(csv, lines);
+        
+        Path missing = tempDir.resolve("missing.dacr");
+        assertThrows(IOException.class, () -> ColumnarResultsWriter.fromCsv(csv, missing, Collections.emptyMap()));
+        assertFalse(Files.exists(missing));
+        
+        // An earlier good conversion stays readable
+        Path existing = tempDir.resolve("existing.dacr");
+        Files.write(csv, csvRows(10, 3));
+        ColumnarResultsWriter.fromCsv(csv, existing, Collections.emptyMap());
+        byte[] before = Files.readAllBytes(existing);
+        Files.write(csv, lines);
+        assertThrows(IOException.class, () -> ColumnarResultsWriter.fromCsv(csv, existing, Collections.emptyMap()));
+        assertTrue(Arrays.equals(before, Files.readAllBytes(existing)));
+        assertEquals(10, ColumnarResultsReader.open(existing).getRowCount());
+    }
+    
+    @Test
+    void testGitRevisionFromPackedRefs() throws IOException {
+        Path git = Files.createDirectories(tempDir.resolve(".git"));
+        Files.write(git.resolve("HEAD"), "ref: refs/heads/main\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(git.resolve("packed-refs"), Arrays.asList("# pack-refs with: peeled",
+                "0123456789abcdef0123456789abcdef01234567 refs/heads/main"));
+        assertEquals("0123456789abcdef0123456789abcdef01234567", ColumnarResultsWriter.gitRevision(git));
+        assertEquals("unknown", ColumnarResultsWriter.gitRevision(tempDir.resolve("missing")));
+    }
+}
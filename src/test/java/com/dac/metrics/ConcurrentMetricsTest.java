@@ -0,0 +1,242 @@
+// File: src/test/java/com/dac/metrics/ConcurrentMetricsTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMetricsTest {
+    private static final int THREADS = 8;
+    
+    private ConcurrentMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new ConcurrentMetrics("MergeSort");
+    }
+    
+    @Test
+    void testExactCountsUnderParallelSort() throws Exception {
+        int[][] inputs = new int[64][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = ArrayUtils.generateRandomArray(5_000 + i * 100);
+        }
+        
+        // Sequential reference: MergeSort is deterministic, so the totals must match exactly
+        AlgorithmMetrics expected = new AlgorithmMetrics("MergeSort");
+        int expectedDepth = 0;
+        for (int[] input : inputs) {
+            AlgorithmMetrics single = new AlgorithmMetrics("MergeSort");
+            MergeSort.sort(input.clone(), single);
+            expected.merge(single, 0);
+            expectedDepth = Math.max(expectedDepth, single.getMaxDepth());
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        try {
+            pool.submit(() -> IntStream.range(0, inputs.length).parallel()
+                    .forEach(i -> MergeSort.sort(inputs[i], metrics))).get();
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertEquals(expected.getComparisons(), metrics.getComparisons());
+        assertEquals(expected.getSwaps(), metrics.getSwaps());
+        assertEquals(expected.getAllocations(), metrics.getAllocations());
+        assertEquals(expectedDepth, metrics.getMaxDepth());
+        for (int[] sorted : inputs) {
+            for (int i = 1; i < sorted.length; i++) {
+                assertTrue(sorted[i - 1] <= sorted[i]);
+            }
+        }
+    }
+    
+    @Test
+    void testExactCountsWithinOneForkJoinSort() throws Exception {
+        int[] input = ArrayUtils.generateRandomArray(1 << 17);
+        
+        // A one-worker pool runs the same tasks without any stealing
+        AlgorithmMetrics expected = new AlgorithmMetrics("ForkJoinMergeSort");
+        ForkJoinPool serial = new ForkJoinPool(1);
+        try {
+            serial.invoke(new ForkJoinMergeSort(input.clone(), expected));
+        } finally {
+            serial.shutdown();
+        }
+        
+        int[] sorted = input.clone();
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        try {
+            pool.invoke(new ForkJoinMergeSort(sorted, metrics));
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertTrue(expected.getComparisons() > 0);
+        assertEquals(expected.getComparisons(), metrics.getComparisons());
+        assertEquals(expected.getAllocations(), metrics.getAllocations());
+        // Leaves of 2^12 split down to single elements: 13 levels
+        assertEquals(13, expected.getMaxDepth());
+        assertEquals(expected.getMaxDepth(), metrics.getMaxDepth());
+        assertEquals(0, metrics.getCurrentDepth());
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1] <= sorted[i]);
+        }
+    }
+    
+    /**
+     * Merge sort whose halves above LEAF are forked tasks, all recording into one
+     * sink. Depth is only entered inside leaves, which never join, so a worker
+     * helping with a stolen task always starts from depth 0.
+     */
+    private static final class ForkJoinMergeSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF = 1 << 12;
+        
+        private final int[] a, aux;
+        private final int lo, hi;
+        private final transient MetricsSink sink;
+        
+        ForkJoinMergeSort(int[] a, MetricsSink sink) {
+            this(a, new int[a.length], 0, a.length - 1, sink);
+            sink.addAllocations(a.length);
+        }
+        
+        private ForkJoinMergeSort(int[] a, int[] aux, int lo, int hi, MetricsSink sink) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.sink = sink;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo + 1 <= LEAF) {
+                sortLeaf(lo, hi);
+                return;
+            }
+            int mid = lo + (hi - lo) / 2;
+            invokeAll(new ForkJoinMergeSort(a, aux, lo, mid, sink),
+                    new ForkJoinMergeSort(a, aux, mid + 1, hi, sink));
+            merge(lo, mid, hi);
+        }
+        
+        private void sortLeaf(int from, int to) {
+            sink.enterRecursion();
+            if (from < to) {
+                int mid = from + (to - from) / 2;
+                sortLeaf(from, mid);
+                sortLeaf(mid + 1, to);
+                merge(from, mid, to);
+            }
+            sink.exitRecursion();
+        }
+        
+        private void merge(int from, int mid, int to) {
+            System.arraycopy(a, from, aux, from, to - from + 1);
+            int i = from, j = mid + 1;
+            for (int k = from; k <= to; k++) {
+                if (i > mid) {
+                    a[k] = aux[j++];
+                } else if (j > to) {
+                    a[k] = aux[i++];
+                } else if (ArrayUtils.less(aux[j], aux[i], sink)) {
+                    a[k] = aux[j++];
+                } else {
+                    a[k] = aux[i++];
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testExactCountsUnderContention() throws InterruptedException {
+        int perThread = 200_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    metrics.incrementComparisons();
+                    metrics.incrementSwaps();
+                    metrics.addAllocations(2);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals((long) THREADS * perThread, metrics.getComparisons());
+        assertEquals((long) THREADS * perThread, metrics.getSwaps());
+        assertEquals(2L * THREADS * perThread, metrics.getAllocations());
+    }
+    
+    @Test
+    void testDepthIsPerThread() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                for (int d = 0; d < 5; d++) metrics.enterRecursion();
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int d = 0; d < 5; d++) metrics.exitRecursion();
+            });
+            threads[t].start();
+        }
+        
+        // All threads are 5 deep at once; a shared counter would report 40
+        entered.await();
+        assertEquals(5, metrics.getMaxDepth());
+        assertEquals(0, metrics.getCurrentDepth());
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(5, metrics.getMaxDepth());
+    }
+    
+    @Test
+    void testSnapshotAndReset() {
+        metrics.startTiming();
+        metrics.addComparisons(7);
+        metrics.incrementSwaps();
+        metrics.addBytesRead(16);
+        metrics.enterRecursion();
+        metrics.exitRecursion();
+        metrics.endTiming();
+        
+        AlgorithmMetrics snapshot = metrics.snapshot();
+        assertEquals("MergeSort", snapshot.getAlgorithmName());
+        assertEquals(7, snapshot.getComparisons());
+        assertEquals(1, snapshot.getSwaps());
+        assertEquals(16, snapshot.getBytesRead());
+        assertEquals(1, snapshot.getMaxDepth());
+        assertEquals(metrics.getExecutionTimeNs(), snapshot.getExecutionTimeNs());
+        
+        metrics.reset();
+        assertEquals(0, metrics.getComparisons());
+        assertEquals(0, metrics.getMaxDepth());
+    }
+}
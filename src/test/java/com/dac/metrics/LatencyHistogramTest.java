@@ -0,0 +1,98 @@
+// File: src/test/java/com/dac/metrics/LatencyHistogramTest.java
+package com.dac.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+    
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+    
+    @Test
+    void testBucketsCoverRangeWithBoundedError() {
+        Random random = new Random(42);
+        int previous = -1;
+        for (long v = 0; v < 100_000; v++) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(index >= previous, "Index must not decrease");
+            previous = index;
+            assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= v);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= v);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextLong() & Long.MAX_VALUE;
+            int index = LatencyHistogram.indexOf(v);
+            long lo = LatencyHistogram.lowestEquivalentValue(index);
+            long hi = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(lo <= v && v <= hi);
+            assertTrue((hi - lo) <= lo / 64, "Bucket width within 1/64 of value");
+        }
+        assertEquals(LatencyHistogram.INDEX_COUNT - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+    
+    @Test
+    void testPercentilesMatchSortedSample() {
+        Random random = new Random(7);
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish latencies between 1 µs and several ms
+            values[i] = (long) (1_000 * Math.exp(random.nextGaussian() * 1.5 + 3));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        
+        for (double p : new double[]{50.0, 90.0, 99.0, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100.0 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(p);
+            assertEquals(exact, reported, exact / 64.0 + 1, "P" + p);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values.length, histogram.getTotalCount());
+        assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100.0));
+    }
+    
+    @Test
+    void testConcurrentRecordingLosesNothing() {
+        IntStream.range(0, 400_000).parallel().forEach(i -> histogram.record(i % 1000));
+        
+        assertEquals(400_000, histogram.getTotalCount());
+        assertEquals(999, histogram.getMax());
+        assertEquals(0, histogram.getMin());
+        assertEquals(499, histogram.getP50());
+    }
+    
+    @Test
+    void testCollectorTracksPercentilesPerSize() {
+        MetricsCollector collector = new MetricsCollector();
+        for (int size : new int[]{100, 1000}) {
+            for (int run = 0; run < 20; run++) {
+                AlgorithmMetrics metrics = collector.startCollection("sort");
+                metrics.startTiming();
+                collector.endCollection("sort", size);
+            }
+        }
+        
+        assertEquals(40, collector.getLatencyHistogram("sort").getTotalCount());
+        assertEquals(20, collector.getLatencyHistogram("sort", 100).getTotalCount());
+        assertEquals(Arrays.asList(100, 1000), Arrays.asList(collector.getInputSizes("sort").toArray()));
+        assertTrue(collector.getLatencyPercentile("sort", 99.0) >= collector.getLatencyPercentile("sort", 50.0));
+        assertEquals(0, collector.getLatencyHistogram("missing").getTotalCount());
+    }
+    
+    @Test
+    void testEmptyAndInvalid() {
+        assertEquals(0, histogram.getP99());
+        assertEquals(0, histogram.getMin());
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+}
@@ -0,0 +1,72 @@
+// File: src/test/java/com/dac/metrics/LevelProfileTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.ClosestPair;
+import com.dac.algorithms.DeterministicSelect;
+import com.dac.algorithms.MergeSort;
+import com.dac.algorithms.QuickSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelProfileTest {
+    
+    @Test
+    void testMergeSortLevelsDoubleAndSumToTotals() {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        LevelProfile profile = metrics.enableLevelProfiling();
+        MergeSort.sort(ArrayUtils.generateRandomArray(1 << 14), metrics);
+        
+        assertEquals(metrics.getMaxDepth() + 1, profile.getLevels());
+        for (int level = 1; level < profile.getLevels(); level++) {
+            assertEquals(1L << (level - 1), profile.getCalls(level), "Calls at level " + level);
+            assertTrue(profile.getInclusiveTimeNs(level) >= profile.getInclusiveTimeNs(level + 1));
+        }
+        assertTotalsMatch(metrics, profile);
+    }
+    
+    @Test
+    void testEveryAlgorithmReconciles() {
+        AlgorithmMetrics quick = new AlgorithmMetrics("QuickSort");
+        quick.enableLevelProfiling();
+        QuickSort.sort(ArrayUtils.generateRandomArray(20_000), quick);
+        assertTotalsMatch(quick, quick.getLevelProfile());
+        
+        AlgorithmMetrics select = new AlgorithmMetrics("DeterministicSelect");
+        select.enableLevelProfiling();
+        DeterministicSelect.select(ArrayUtils.generateRandomArray(20_000), 10_000, select);
+        assertTotalsMatch(select, select.getLevelProfile());
+        
+        AlgorithmMetrics closest = new AlgorithmMetrics("ClosestPair");
+        closest.enableLevelProfiling();
+        ClosestPair.findClosestPair(ArrayUtils.generateRandomPoints(20_000), closest);
+        assertTotalsMatch(closest, closest.getLevelProfile());
+    }
+    
+    @Test
+    void testDisabledByDefaultAndResettable() {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        assertNull(metrics.getLevelProfile());
+        
+        LevelProfile profile = metrics.enableLevelProfiling();
+        MergeSort.sort(ArrayUtils.generateRandomArray(1000), metrics);
+        assertTrue(profile.getLevels() > 1);
+        
+        metrics.reset();
+        assertSame(profile, metrics.getLevelProfile());
+        assertEquals(0, profile.getLevels());
+        assertEquals(0, profile.getCalls(1));
+    }
+    
+    private static void assertTotalsMatch(AlgorithmMetrics metrics, LevelProfile profile) {
+        long comparisons = 0, swaps = 0;
+        for (int level = 0; level < profile.getLevels(); level++) {
+            comparisons += profile.getComparisons(level);
+            swaps += profile.getSwaps(level);
+            assertTrue(profile.getSelfTimeNs(level) >= 0, "Self time at level " + level);
+        }
+        assertEquals(metrics.getComparisons(), comparisons, metrics.getAlgorithmName() + " comparisons");
+        assertEquals(metrics.getSwaps(), swaps, metrics.getAlgorithmName() + " swaps");
+        assertEquals(0, metrics.getCurrentDepth(), "Balanced enter/exit");
+    }
+}
@@ -0,0 +1,86 @@
+// File: src/test/java/com/dac/metrics/MetricsCollectorTest.java
+package com.dac.metrics;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsCollectorTest {
+    
+    @Test
+    void testRunningStatisticsMatchTwoPass() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        RunningStatistics stats = new RunningStatistics();
+        for (int i = 0; i < values.length; i++) {
+            // Large offset: a naive sum-of-squares variance loses all precision here
+            values[i] = 1e9 + random.nextGaussian() * 3;
+            stats.add(values[i]);
+        }
+        
+        double mean = 0;
+        for (double v : values) mean += v;
+        mean /= values.length;
+        double variance = 0;
+        for (double v : values) variance += (v - mean) * (v - mean);
+        variance /= values.length - 1;
+        
+        assertEquals(values.length, stats.getCount());
+        assertEquals(mean, stats.getMean(), 1e-4);
+        assertEquals(variance, stats.getVariance(), variance * 1e-6);
+        
+        RunningStatistics left = new RunningStatistics(), right = new RunningStatistics();
+        for (int i = 0; i < values.length; i++) {
+            (i < 3000 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+        assertEquals(stats.getMean(), left.getMean(), 1e-4);
+        assertEquals(stats.getVariance(), left.getVariance(), variance * 1e-6);
+        assertEquals(stats.getMin(), left.getMin(), 0.0);
+        assertEquals(stats.getMax(), left.getMax(), 0.0);
+    }
+    
+    @Test
+    void testBoundedHistoryKeepsRecentRunsAndFullStatistics() {
+        MetricsCollector collector = new MetricsCollector(5);
+        for (int run = 1; run <= 100; run++) {
+            AlgorithmMetrics metrics = collector.startCollection("sort");
+            metrics.addComparisons(run);
+            collector.endCollection("sort");
+        }
+        
+        List<AlgorithmMetrics> history = collector.getHistory("sort");
+        assertEquals(5, history.size());
+        assertEquals(96, history.get(0).getComparisons());
+        assertEquals(100, history.get(4).getComparisons());
+        
+        // Statistics still cover every run, not just the retained ones
+        assertEquals(100, collector.getRunCount("sort"));
+        assertEquals(50.5, collector.getAverageComparisons("sort"), 1e-9);
+        assertEquals(100, collector.getLatencyHistogram("sort").getTotalCount());
+    }
+    
+    @Test
+    void testDefaultCollectorIsBounded() {
+        MetricsCollector collector = new MetricsCollector();
+        MetricsCollector unbounded = new MetricsCollector(MetricsCollector.UNBOUNDED_HISTORY);
+        int runs = MetricsCollector.DEFAULT_HISTORY + 500;
+        for (int run = 0; run < runs; run++) {
+            collector.startCollection("select").addComparisons(2);
+            collector.endCollection("select");
+            unbounded.startCollection("select").addComparisons(2);
+            unbounded.endCollection("select");
+        }
+        
+        assertEquals(MetricsCollector.DEFAULT_HISTORY, collector.getHistory("select").size());
+        assertEquals(runs, collector.getRunCount("select"));
+        assertEquals(runs, unbounded.getHistory("select").size());
+        assertEquals(2.0, collector.getAverageComparisons("select"), 0.0);
+        assertEquals(0.0, collector.getAverageComparisons("missing"), 0.0);
+        
+        collector.clearHistory("select");
+        assertEquals(0, collector.getRunCount("select"));
+        assertTrue(collector.getHistory("select").isEmpty());
+    }
+}
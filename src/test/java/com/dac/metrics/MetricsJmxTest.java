@@ -0,0 +1,100 @@
+// File: src/test/java/com/dac/metrics/MetricsJmxTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsJmxTest {
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private MetricsCollector collector;
+    private MetricsJmx jmx;
+    
+    @BeforeEach
+    void setUp() {
+        collector = new MetricsCollector();
+        jmx = MetricsJmx.register(collector, server);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jmx.unregister();
+    }
+    
+    private void runMergeSort(String name, int size) {
+        AlgorithmMetrics metrics = collector.startCollection(name);
+        MergeSort.sort(ArrayUtils.generateRandomArray(size), metrics);
+        collector.endCollection(name, size);
+    }
+    
+    @Test
+    void testBeanRegisteredOnFirstRun() throws Exception {
+        ObjectName name = MetricsJmx.objectName("jmx_mergesort");
+        assertFalse(server.isRegistered(name));
+        
+        for (int i = 0; i < 5; i++) {
+            runMergeSort("jmx_mergesort", 1000);
+        }
+        
+        assertTrue(server.isRegistered(name));
+        assertEquals(5L, server.getAttribute(name, "RunCount"));
+        assertEquals("jmx_mergesort", server.getAttribute(name, "Algorithm"));
+        
+        AlgorithmStatsMXBean proxy = JMX.newMXBeanProxy(server, name, AlgorithmStatsMXBean.class);
+        assertTrue(proxy.getMeanLatencyNs() > 0);
+        assertTrue(proxy.getP50LatencyNs() <= proxy.getP99LatencyNs());
+        assertTrue(proxy.getP99LatencyNs() <= proxy.getMaxLatencyNs());
+        assertTrue(proxy.getThroughputPerSecond() > 0);
+        // About log2 n (~10) per element at n = 1000, plus the insertion sort cutoff
+        assertTrue(proxy.getComparisonsPerElement() > 5 && proxy.getComparisonsPerElement() < 20,
+                "Comparisons per element " + proxy.getComparisonsPerElement());
+        assertEquals(collector.getAverageComparisons("jmx_mergesort"), proxy.getMeanComparisons(), 0.0);
+    }
+    
+    @Test
+    void testResetOperations() throws Exception {
+        runMergeSort("jmx_a", 500);
+        runMergeSort("jmx_b", 500);
+        ObjectName a = MetricsJmx.objectName("jmx_a");
+        ObjectName b = MetricsJmx.objectName("jmx_b");
+        
+        server.invoke(a, "reset", null, null);
+        assertEquals(0L, server.getAttribute(a, "RunCount"));
+        assertEquals(1L, server.getAttribute(b, "RunCount"));
+        
+        // The bean stays registered and keeps counting after a reset
+        runMergeSort("jmx_a", 500);
+        assertEquals(1L, server.getAttribute(a, "RunCount"));
+        
+        server.invoke(b, "resetAll", null, null);
+        assertEquals(0L, collector.getRunCount("jmx_a"));
+        assertEquals(0L, collector.getRunCount("jmx_b"));
+    }
+    
+    @Test
+    void testUnregisterRemovesBeans() {
+        runMergeSort("jmx_unregister", 100);
+        ObjectName name = MetricsJmx.objectName("jmx_unregister");
+        assertTrue(server.isRegistered(name));
+        
+        jmx.unregister();
+        assertFalse(server.isRegistered(name));
+        
+        // No longer listening for new algorithms
+        runMergeSort("jmx_after", 100);
+        assertFalse(server.isRegistered(MetricsJmx.objectName("jmx_after")));
+    }
+    
+    @Test
+    void testUnusualNamesAreQuoted() {
+        ObjectName name = MetricsJmx.objectName("closest, n=1e6");
+        assertEquals("closest, n=1e6", ObjectName.unquote(name.getKeyProperty("name")));
+    }
+}
@@ -0,0 +1,131 @@
+// File: src/test/java/com/dac/metrics/PrometheusExporterTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrometheusExporterTest {
+    private static final Pattern SAMPLE = Pattern.compile(
+            "[a-zA-Z_:][a-zA-Z0-9_:]*(\\{[a-zA-Z_][a-zA-Z0-9_]*=\"(\\\\.|[^\"\\\\])*\"(,[a-zA-Z_][a-zA-Z0-9_]*=\"(\\\\.|[^\"\\\\])*\")*\\})? -?[0-9.eE+-]+");
+    
+    private MetricsCollector collector;
+    private PrometheusExporter exporter;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        collector = new MetricsCollector();
+        exporter = PrometheusExporter.start(collector, 0);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        exporter.stop();
+    }
+    
+    private long runMergeSort(int size, int runs) {
+        long comparisons = 0;
+        for (int i = 0; i < runs; i++) {
+            AlgorithmMetrics metrics = collector.startCollection("mergesort");
+            MergeSort.sort(ArrayUtils.generateRandomArray(size), metrics);
+            collector.endCollection("mergesort", size);
+            comparisons += metrics.getComparisons();
+        }
+        return comparisons;
+    }
+    
+    private String scrape() throws IOException {
+        URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, connection.getContentType());
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, n);
+                }
+                return new String(out.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+    
+    private static List<String> samples(String body, String prefix) {
+        List<String> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith(prefix)) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+    
+    private static long value(String line) {
+        return Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+    }
+    
+    @Test
+    void testScrapeReportsCountersAndHistograms() throws IOException {
+        long comparisons = runMergeSort(1000, 8) + runMergeSort(20_000, 2);
+        String body = scrape();
+        
+        for (String line : body.split("\n")) {
+            assertTrue(line.startsWith("# HELP ") || line.startsWith("# TYPE ") || SAMPLE.matcher(line).matches(),
+                    "Invalid exposition line: " + line);
+        }
+        assertTrue(body.contains("# TYPE dac_algorithm_execution_seconds histogram\n"));
+        assertTrue(body.contains("dac_algorithm_runs_total{algorithm=\"mergesort\"} 10\n"));
+        assertTrue(body.contains("dac_algorithm_comparisons_total{algorithm=\"mergesort\"} " + comparisons + "\n"));
+        
+        List<String> buckets = samples(body,
+                "dac_algorithm_execution_seconds_bucket{algorithm=\"mergesort\",input_size=\"1000\"");
+        assertEquals(20, buckets.size());
+        assertTrue(buckets.get(0).contains("le=\"0.00001\""));
+        assertTrue(buckets.get(19).contains("le=\"+Inf\""));
+        for (int i = 1; i < buckets.size(); i++) {
+            assertTrue(value(buckets.get(i)) >= value(buckets.get(i - 1)), "Buckets must be cumulative");
+        }
+        assertEquals(8, value(buckets.get(19)));
+        assertTrue(body.contains(
+                "dac_algorithm_execution_seconds_count{algorithm=\"mergesort\",input_size=\"20000\"} 2\n"));
+    }
+    
+    @Test
+    void testScrapeSeesLiveUpdates() throws IOException {
+        assertFalse(scrape().contains("dac_algorithm_runs_total{"));
+        runMergeSort(100, 3);
+        assertTrue(scrape().contains("dac_algorithm_runs_total{algorithm=\"mergesort\"} 3\n"));
+        runMergeSort(100, 2);
+        assertTrue(scrape().contains("dac_algorithm_runs_total{algorithm=\"mergesort\"} 5\n"));
+    }
+    
+    @Test
+    void testRejectsNonGetRequests() throws IOException {
+        URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+        connection.disconnect();
+    }
+    
+    @Test
+    void testLabelValuesAreEscaped() {
+        assertEquals("a\\\"b\\\\c\\nd", PrometheusExporter.escape("a\"b\\c\nd"));
+    }
+}
@@ -0,0 +1,89 @@
+// File: src/test/java/com/dac/metrics/RecursionTracerTest.java
+package com.dac.metrics;
+
+import com.dac.algorithms.MergeSort;
+import com.dac.util.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecursionTracerTest {
+    private static final Pattern EVENT = Pattern.compile(
+            "\"ph\":\"X\",\"ts\":([0-9.]+),\"dur\":([0-9.]+).*?\"lo\":(-?\\d+),\"hi\":(-?\\d+),\"depth\":(\\d+)");
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testRecordsEveryCallWithRanges() throws IOException {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        RecursionTracer tracer = metrics.enableTracing(new RecursionTracer(1 << 12));
+        int n = 1 << 10;
+        MergeSort.sort(ArrayUtils.generateRandomArray(n), metrics);
+        
+        // Cutoff 16 on 1024 elements: a full binary tree of 2^7 - 1 calls
+        assertEquals(127, tracer.getEventCount());
+        assertEquals(0, tracer.getDroppedCount());
+        
+        Path file = tempDir.resolve("trace.json");
+        tracer.writeChromeTrace(file, "MergeSort");
+        String json = new String(Files.readAllBytes(file));
+        assertTrue(json.startsWith("{\"traceEvents\":["));
+        assertTrue(json.contains("\"name\":\"MergeSort [0, 1023]\""));
+        
+        Matcher m = EVENT.matcher(json);
+        int events = 0;
+        long rootSpan = -1;
+        while (m.find()) {
+            events++;
+            int lo = Integer.parseInt(m.group(3)), hi = Integer.parseInt(m.group(4));
+            int depth = Integer.parseInt(m.group(5));
+            assertEquals(n >> (depth - 1), hi - lo + 1, "Range size halves with depth");
+            if (depth == 1) rootSpan = hi - lo + 1;
+        }
+        assertEquals(127, events);
+        assertEquals(n, rootSpan);
+    }
+    
+    @Test
+    void testRingBufferKeepsNewestCalls() throws IOException {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        RecursionTracer tracer = metrics.enableTracing(new RecursionTracer(10));
+        MergeSort.sort(ArrayUtils.generateRandomArray(1 << 10), metrics);
+        
+        assertEquals(10, tracer.getEventCount());
+        assertEquals(117, tracer.getDroppedCount());
+        
+        // The root completes last, so it survives the overwrite
+        Path file = tempDir.resolve("ring.json");
+        tracer.writeChromeTrace(file, "MergeSort");
+        String json = new String(Files.readAllBytes(file));
+        assertTrue(json.contains("\"lo\":0,\"hi\":1023,\"depth\":1"));
+        assertTrue(json.contains("\"droppedEvents\":117"));
+    }
+    
+    @Test
+    void testDepthLimitAndSampling() {
+        AlgorithmMetrics metrics = new AlgorithmMetrics("MergeSort");
+        RecursionTracer shallow = metrics.enableTracing(new RecursionTracer(1 << 12, 3, 1));
+        MergeSort.sort(ArrayUtils.generateRandomArray(1 << 10), metrics);
+        assertEquals(1 + 2 + 4, shallow.getEventCount());
+        
+        metrics.reset();
+        RecursionTracer sampled = metrics.enableTracing(new RecursionTracer(1 << 12, Integer.MAX_VALUE, 10));
+        MergeSort.sort(ArrayUtils.generateRandomArray(1 << 10), metrics);
+        assertEquals(13, sampled.getEventCount());
+    }
+    
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new RecursionTracer(0));
+        assertThrows(IllegalArgumentException.class, () -> new RecursionTracer(10, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RecursionTracer(10, 5, 0));
+    }
+}